@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1Telegram.TelegramState;
+import org.openhab.binding.dsmr.internal.device.p1telegram.P1TelegramParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark parsing P1 telegrams, as done by the DSMR device for the data received from the meter.
+ *
+ * Each operation parses one telegram with a parser that is kept between the operations, like the device keeps its
+ * parser. The telegrams are the ones of the binding tests. <code>legacy</code> is the previous implementation, which
+ * collected the data in strings and looked up the OBIS Identifiers in hash maps.
+ *
+ * @author agent - Initial contribution
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class P1TelegramParserBenchmark {
+
+    private static final String TELEGRAM_PATH = "/org/openhab/binding/dsmr/internal/";
+    private static final String TELEGRAM_EXT = ".telegram";
+
+    /** Name of the test telegram to parse */
+    @Param({ "dsmr_40", "dsmr_50", "Landis_Gyr_ZCF110", "Sagemcom_XS210" })
+    public String telegramName;
+
+    private byte[] telegram;
+    private P1Telegram lastTelegram;
+    private P1TelegramParser parser;
+    private LegacyP1TelegramParser legacyParser;
+
+    @Setup
+    public void setUp() throws IOException {
+        telegram = readTelegram(telegramName);
+        parser = new P1TelegramParser(t -> lastTelegram = t);
+        legacyParser = new LegacyP1TelegramParser(t -> lastTelegram = t);
+
+        // Both parsers must read the telegram, otherwise there is nothing to compare
+        if (current() == 0 || legacy() == 0) {
+            throw new IllegalStateException("Telegram " + telegramName + " could not be parsed");
+        }
+    }
+
+    @Benchmark
+    public int legacy() {
+        legacyParser.parseData(telegram, 0, telegram.length);
+        return cosemObjectCount();
+    }
+
+    @Benchmark
+    public int current() {
+        parser.parseData(telegram, 0, telegram.length);
+        return cosemObjectCount();
+    }
+
+    private int cosemObjectCount() {
+        P1Telegram telegram = lastTelegram;
+        lastTelegram = null;
+        return telegram == null || telegram.getTelegramState() != TelegramState.OK ? 0
+                : telegram.getCosemObjects().size();
+    }
+
+    private static byte[] readTelegram(String telegramName) throws IOException {
+        try (InputStream is = P1TelegramParserBenchmark.class
+                .getResourceAsStream(TELEGRAM_PATH + telegramName + TELEGRAM_EXT)) {
+            if (is == null) {
+                throw new IOException("Telegram " + telegramName + " not found");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int count;
+            while ((count = is.read(buffer)) > 0) {
+                out.write(buffer, 0, count);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Test class for {@link CosemObjectFactory}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CosemObjectFactoryTest {
+
+    private static final String GAS_VALUES = "(101209112500W)(12785.123*m3)";
+
+    private CosemObjectFactory factory;
+
+    @Before
+    public void setUp() {
+        factory = new CosemObjectFactory();
+    }
+
+    /**
+     * Test if OBIS Identifiers with a fixed channel are found.
+     */
+    @Test
+    public void testFixedIdentifier() {
+        CosemObject cosemObject = factory.getCosemObject("1-0:1.8.1", "(123456.789*kWh)");
+
+        assertNotNull("Cosem Object should be found", cosemObject);
+        assertEquals("Expected type", CosemObjectType.EMETER_DELIVERY_TARIFF1, cosemObject.getType());
+        assertEquals("Expected OBIS Identifier", new OBISIdentifier(1, 0, 1, 8, 1, null),
+                cosemObject.getObisIdentifier());
+        assertEquals("Expected number of values", 1, cosemObject.getCosemValues().size());
+    }
+
+    /**
+     * Test if OBIS Identifiers with a wildcard channel are found for each channel.
+     */
+    @Test
+    public void testWildcardIdentifier() {
+        for (int channel = 1; channel <= 4; channel++) {
+            CosemObject cosemObject = factory.getCosemObject("0-" + channel + ":24.2.1", GAS_VALUES);
+
+            assertNotNull("Cosem Object should be found", cosemObject);
+            assertEquals("Expected type", CosemObjectType.M3METER_VALUE, cosemObject.getType());
+            assertEquals("Expected channel", Integer.valueOf(channel), cosemObject.getObisIdentifier().getGroupB());
+        }
+    }
+
+    /**
+     * Test if the optional groups of OBIS Identifiers are parsed.
+     */
+    @Test
+    public void testOptionalGroups() {
+        CosemObject cosemObject = factory.getCosemObject("1-0:31.7.0*255", "(002*A)");
+
+        assertNotNull("Cosem Object with group F should be found", cosemObject);
+        assertEquals("Expected type", CosemObjectType.EMETER_INSTANT_CURRENT_L1, cosemObject.getType());
+        assertEquals("Expected group F", Integer.valueOf(255), cosemObject.getObisIdentifier().getGroupF());
+
+        cosemObject = factory.getCosemObject("0-1:24.2", GAS_VALUES);
+        assertNull("Cosem Object without group E should not be found", cosemObject);
+    }
+
+    /**
+     * Test if invalid OBIS Identifiers and values are rejected.
+     */
+    @Test
+    public void testInvalid() {
+        assertNull("Identifier without group D", factory.getCosemObject("1-0:1", "(123456.789*kWh)"));
+        assertNull("Identifier with a line break", factory.getCosemObject("1-0:32.36\n0", "(00003)"));
+        assertNull("Identifier with a too large group", factory.getCosemObject("1-0:1.8.12345678901", "(1*kWh)"));
+        assertNull("Identifier with a letter", factory.getCosemObject("1-0:1.8.X", "(123456.789*kWh)"));
+        assertNull("Value with wrong unit", factory.getCosemObject("1-0:1.8.1", "(123456.789*kW)"));
+        assertNull("Wrong number of values", factory.getCosemObject("1-0:1.8.1", "(1*kWh)(2*kWh)"));
+    }
+}
@@ -9,7 +9,9 @@
 package org.openhab.binding.dsmr.internal.device.cosem;
 
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.regex.Matcher;
@@ -110,15 +112,33 @@ public class CosemObject {
         logger.trace("Parsing CosemValue string {}", cosemValueString);
 
         Matcher cosemValueMatcher = COSEM_VALUES_PATTERN.matcher(cosemValueString);
-        int nrOfCosemValues = countCosemValues(cosemValueMatcher);
+        List<String> cosemValueList = new ArrayList<>();
+
+        while (cosemValueMatcher.find()) {
+            cosemValueList.add(cosemValueMatcher.group(2));
+        }
+        parseCosemValues(cosemValueList);
+    }
+
+    /**
+     * Parses the COSEM String values to COSEM objects values.
+     * <p>
+     * When the parser has problems it throws an {@link ParseException}. The
+     * already parsed values will still be available. It is up to the caller how
+     * to handle a partially parsed message.
+     *
+     * @param cosemValueList the COSEM String values, without the enclosing parenthesis
+     * @throws ParseException if parsing fails
+     */
+    public void parseCosemValues(List<String> cosemValueList) throws ParseException {
+        int nrOfCosemValues = cosemValueList.size();
 
         if (type.supportsNrOfValues(nrOfCosemValues)) {
             logger.trace("Received items: {} is supported", nrOfCosemValues);
 
-            int cosemValueItr = 0;
-            while (cosemValueMatcher.find()) {
+            for (int cosemValueItr = 0; cosemValueItr < nrOfCosemValues; cosemValueItr++) {
                 Entry<String, CosemValueDescriptor<?>> valueDescriptorEntry = type.getDescriptor(cosemValueItr);
-                State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueMatcher.group(2));
+                State cosemValue = valueDescriptorEntry.getValue().getStateValue(cosemValueList.get(cosemValueItr));
 
                 if (cosemValue != null) {
                     if (!cosemValues.containsKey(valueDescriptorEntry.getKey())) {
@@ -128,21 +148,9 @@ public class CosemObject {
                                 cosemValue);
                     }
                 }
-                cosemValueItr++;
             }
         } else {
             throw new ParseException(type + " does not support " + nrOfCosemValues + " items", 0);
         }
     }
-
-    private int countCosemValues(Matcher cosemValueMatcher) {
-        int nrOfCosemValues = 0;
-
-        while (cosemValueMatcher.find()) {
-            nrOfCosemValues++;
-        }
-        // We need the matcher again, reset to initial state
-        cosemValueMatcher.reset();
-        return nrOfCosemValues;
-    }
 }
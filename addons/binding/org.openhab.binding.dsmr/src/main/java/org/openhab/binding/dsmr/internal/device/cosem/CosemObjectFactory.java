@@ -8,69 +8,47 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.nio.charset.StandardCharsets;
 import java.text.ParseException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Factory for constructing Cosem Objects from Strings
+ * Factory for constructing Cosem Objects from the received OBIS identifier and values.
+ *
+ * The identifier and values are parsed directly from the received bytes. The Cosem Object type is looked up in a
+ * {@link OBISLookupTrie} of all types. Like the P1 telegram parser using it, a factory is not thread safe.
  *
  * @author M. Volaart - Initial contribution
+ * @author agent - Parse identifier and values from bytes, lookup types in a trie
  */
 public class CosemObjectFactory {
     private final Logger logger = LoggerFactory.getLogger(CosemObjectFactory.class);
 
     /**
-     * Lookup cache for fixed OBIS Identifiers
-     */
-    private final Map<OBISIdentifier, CosemObjectType> obisLookupTableFixed;
-
-    /**
-     * Lookup cache for dynamic OBIS Identifiers
+     * Lookup of all Cosem Object types.
+     *
+     * Types with a fixed OBISIdentifier are found directly. Types with a wildcard OBISIdentifier (i.e. groupB == null)
+     * are tried in order, and the first type that can parse the values is remembered for the received channel (if the
+     * device is changed, this must be cleared by removing the corresponding DSMRDevice Thing from the configuration).
      */
-    private final HashMap<OBISIdentifier, CosemObjectType> obisLookupTableDynamic;
+    private final OBISLookupTrie lookupTrie = new OBISLookupTrie();
 
-    /**
-     * Lookup cache for wild card Cosem Object types
-     */
-    private final List<CosemObjectType> obisWildcardCosemTypeList;
+    /* Groups of the OBIS Identifier currently parsed */
+    private int groupA;
+    private int groupB;
+    private int groupC;
+    private int groupD;
+    private int groupE;
+    private Integer groupF;
 
     /**
-     * Creates a new CosemObjectFactory
+     * Values of the Cosem Object currently parsed
      */
-    public CosemObjectFactory() {
-        /*
-         * Fill lookup tables. There are 3 entities:
-         * - obisLookupTableFixed. This lookup table contains all CosemObjectType with a fixed OBISIdentifier
-         * (i.e. groupA != null && groupB != null && groupC != null).
-         * - obisLookupTableDynamic. This lookup table contains all CosemObjectType with a wildcard OBISIdentifier
-         * (i.e. groupA == null || groupB == null || groupC == null). This lookuptable will be filled
-         * dynamically with unique wildcard OBISIdentifiers when values are received and matches a particular real
-         * device (if the device is changed, this lookupTable must be cleared by removing the corresponding DSMRDevice
-         * Thing from the configuration.
-         * - obisWildCardCosemTypeList. This is the list of all wild card Cosem Object types. Multiple Cosem Object
-         * Types can have the same wild card OBISIdentifer.
-         *
-         * To facilitate autodiscovery the list has all supported CosemObjectTypes. To improve performance once the
-         * correct OBISIdentifier is discovered for a certain OBISMsgType this is added to the obisLookupTableDynamic.
-         */
-        obisLookupTableFixed = new HashMap<>();
-        obisLookupTableDynamic = new HashMap<>();
-        obisWildcardCosemTypeList = new ArrayList<>();
-
-        for (CosemObjectType msgType : CosemObjectType.values()) {
-            if (msgType.obisId.reducedOBISIdentifierIsWildCard()) {
-                obisWildcardCosemTypeList.add(msgType);
-            } else {
-                obisLookupTableFixed.put(msgType.obisId, msgType);
-            }
-        }
-    }
+    private final List<String> cosemValues = new ArrayList<>();
 
     /**
      * Return Cosem Object from specified string or null if string couldn't be
@@ -81,70 +59,185 @@ public class CosemObjectFactory {
      * @return CosemObject or null if parsing failed
      */
     public CosemObject getCosemObject(String obisIdString, String cosemStringValues) {
-        OBISIdentifier obisId;
-        OBISIdentifier reducedObisId;
+        byte[] obisId = obisIdString.getBytes(StandardCharsets.ISO_8859_1);
+        byte[] values = cosemStringValues.getBytes(StandardCharsets.ISO_8859_1);
 
-        try {
-            obisId = new OBISIdentifier(obisIdString);
-            reducedObisId = obisId.getReducedOBISIdentifier();
-        } catch (ParseException pe) {
-            logger.debug("Received invalid OBIS identifier: {}", obisIdString);
+        return getCosemObject(obisId, obisId.length, values, values.length);
+    }
+
+    /**
+     * Return Cosem Object from the specified bytes or null if the bytes couldn't be
+     * parsed correctly or no corresponding Cosem Object was found
+     *
+     * @param obisId bytes containing the OBIS message identifier
+     * @param obisIdLength number of bytes of the OBIS message identifier
+     * @param values bytes containing the Cosem values, each enclosed in parenthesis
+     * @param valuesLength number of bytes of the Cosem values
+     * @return CosemObject or null if parsing failed
+     */
+    public CosemObject getCosemObject(byte[] obisId, int obisIdLength, byte[] values, int valuesLength) {
+        if (!parseOBISIdentifier(obisId, obisIdLength)) {
+            logger.debug("Received invalid OBIS identifier: {}",
+                    new String(obisId, 0, obisIdLength, StandardCharsets.ISO_8859_1));
             return null;
         }
-
-        logger.trace("Received obisIdString {}, obisId: {}, values: {}", obisIdString, obisId, cosemStringValues);
+        parseCosemValues(values, valuesLength);
 
         CosemObject cosemObject = null;
+        OBISLookupTrie.Leaf leaf = lookupTrie.get(groupA, groupC, groupD, groupE);
 
-        if (obisLookupTableFixed.containsKey(reducedObisId)) {
-            cosemObject = getCosemObjectInternal(obisLookupTableFixed.get(reducedObisId), obisId, cosemStringValues);
-            logger.trace("Found obisId {} in the fixed lookup table", reducedObisId);
-        } else if (obisLookupTableDynamic.containsKey(reducedObisId)) {
-            logger.trace("Found obisId {} in the dynamic lookup table", reducedObisId);
-            cosemObject = getCosemObjectInternal(obisLookupTableDynamic.get(reducedObisId), obisId, cosemStringValues);
-        } else {
-            for (CosemObjectType obisMsgType : obisWildcardCosemTypeList) {
-                if (obisMsgType.obisId.equalsWildCard(reducedObisId)) {
-                    cosemObject = getCosemObjectInternal(obisMsgType, obisId, cosemStringValues);
+        if (leaf != null) {
+            OBISIdentifier obisIdentifier = leaf.getIdentifier(groupB, groupF);
+            CosemObjectType fixedType = groupB == OBISLookupTrie.NO_CHANNEL ? null : leaf.fixedTypes.get(groupB);
+            CosemObjectType resolvedType = leaf.resolvedTypes.get(groupB);
+
+            logger.trace("Received obisId: {}, values: {}", obisIdentifier, cosemValues);
+
+            if (fixedType != null) {
+                logger.trace("Found obisId {} in the fixed lookup table", obisIdentifier);
+                cosemObject = getCosemObjectInternal(fixedType, obisIdentifier);
+            } else if (resolvedType != null) {
+                logger.trace("Found obisId {} in the dynamic lookup table", obisIdentifier);
+                cosemObject = getCosemObjectInternal(resolvedType, obisIdentifier);
+            } else {
+                for (CosemObjectType obisMsgType : leaf.wildcardTypes) {
+                    cosemObject = getCosemObjectInternal(obisMsgType, obisIdentifier);
                     if (cosemObject != null) {
-                        logger.trace("Searched reducedObisId {} in the wild card type list, result: {}", reducedObisId,
+                        logger.trace("Searched obisId {} in the wild card type list, result: {}", obisIdentifier,
                                 cosemObject);
-                        obisLookupTableDynamic.put(reducedObisId, obisMsgType);
+                        leaf.resolvedTypes.put(groupB, obisMsgType);
                         break;
                     }
                 }
             }
         }
 
-        if (cosemObject == null) {
-            logger.debug("Received unknown Cosem Object(OBIS id: {})", obisId);
+        if (cosemObject == null && logger.isDebugEnabled()) {
+            logger.debug("Received unknown Cosem Object(OBIS id: {})",
+                    new String(obisId, 0, obisIdLength, StandardCharsets.ISO_8859_1));
         }
 
         return cosemObject;
     }
 
     /**
-     * Constructs a CosemObject from the given type, OBISIdentifier and the values
+     * Constructs a CosemObject from the given type, OBISIdentifier and the current values
      *
      * @param cosemObjectType the type of the CosemObject
      * @param obisIdentifier the actual OBISIdentifier how this cosemObjectType is identified
-     * @param cosemStringValues the values of the CosemObject
      *
      * @return a CosemObject or null if parsing failed
      */
-    private CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier,
-            String cosemStringValues) {
+    private CosemObject getCosemObjectInternal(CosemObjectType cosemObjectType, OBISIdentifier obisIdentifier) {
         CosemObject obj = new CosemObject(cosemObjectType, obisIdentifier);
 
         try {
             logger.trace("Parse values for Cosem Object type: {}", cosemObjectType);
-            obj.parseCosemValues(cosemStringValues);
+            obj.parseCosemValues(cosemValues);
 
             return obj;
         } catch (ParseException pe) {
-            logger.debug("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType, cosemStringValues,
-                    pe);
+            logger.debug("Failed to construct Cosem Object for type {}, values: {}", cosemObjectType, cosemValues, pe);
         }
         return null;
     }
+
+    /**
+     * Parses an OBIS Identifier (A-B:C.D.E.F) into the group fields. Groups A, B, E and F are optional, a missing
+     * group A or E is 0, a missing group B is {@link OBISLookupTrie#NO_CHANNEL} and a missing group F is null. The
+     * separator before group F can be any character but a line break.
+     *
+     * @return true if the bytes are a valid OBIS Identifier
+     */
+    private boolean parseOBISIdentifier(byte[] obisId, int length) {
+        groupA = 0;
+        groupB = OBISLookupTrie.NO_CHANNEL;
+        groupE = 0;
+        groupF = null;
+
+        int[] position = { 0 };
+        int group = parseGroup(obisId, length, position);
+        if (group < 0) {
+            return false;
+        }
+        if (position[0] < length && obisId[position[0]] == '-') {
+            groupA = group;
+            position[0]++;
+            group = parseGroup(obisId, length, position);
+            if (group < 0) {
+                return false;
+            }
+        }
+        if (position[0] < length && obisId[position[0]] == ':') {
+            groupB = group;
+            position[0]++;
+            group = parseGroup(obisId, length, position);
+            if (group < 0) {
+                return false;
+            }
+        }
+        if (position[0] >= length || obisId[position[0]] != '.') {
+            return false;
+        }
+        groupC = group;
+        position[0]++;
+        groupD = parseGroup(obisId, length, position);
+        if (groupD < 0) {
+            return false;
+        }
+        if (position[0] + 1 < length && obisId[position[0]] == '.') {
+            position[0]++;
+            groupE = parseGroup(obisId, length, position);
+            if (groupE < 0) {
+                return false;
+            }
+        }
+        if (position[0] + 1 < length && obisId[position[0]] != '\n' && obisId[position[0]] != '\r') {
+            position[0]++;
+            int f = parseGroup(obisId, length, position);
+            if (f < 0) {
+                return false;
+            }
+            groupF = f;
+        }
+        return position[0] == length;
+    }
+
+    /**
+     * Parses the digits at the given position and moves the position after them.
+     *
+     * @return the value of the digits or -1 if there are no digits or the value does not fit in an int
+     */
+    private static int parseGroup(byte[] obisId, int length, int[] position) {
+        long value = 0;
+        int start = position[0];
+        int i = start;
+        while (i < length && obisId[i] >= '0' && obisId[i] <= '9') {
+            value = value * 10 + (obisId[i] - '0');
+            if (value > Integer.MAX_VALUE) {
+                return -1;
+            }
+            i++;
+        }
+        position[0] = i;
+        return i == start ? -1 : (int) value;
+    }
+
+    /**
+     * Splits the values, each enclosed in parenthesis, into {@link #cosemValues}. Anything outside of the parenthesis
+     * is ignored.
+     */
+    private void parseCosemValues(byte[] values, int length) {
+        cosemValues.clear();
+        int start = -1;
+        for (int i = 0; i < length; i++) {
+            byte b = values[i];
+            if (b == '(') {
+                start = i + 1;
+            } else if (b == ')' && start >= 0) {
+                cosemValues.add(new String(values, start, i - start, StandardCharsets.ISO_8859_1));
+                start = -1;
+            }
+        }
+    }
 }
@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.dsmr.internal.device.cosem;
 
+import java.math.BigDecimal;
 import java.text.ParseException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -61,6 +62,12 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
      */
     private final Unit<Q> unit;
 
+    /**
+     * The last unit text that has been parsed as the unit of this CosemQuantity. Values with this unit text are
+     * converted without the pattern and the unit parser of {@link QuantityType}.
+     */
+    private volatile String knownUnitText;
+
     /**
      * Creates a new {@link CosemDouble}.
      *
@@ -90,18 +97,43 @@ class CosemQuantity<Q extends Quantity<Q>> extends CosemValueDescriptor<Quantity
      */
     @Override
     protected QuantityType<Q> getStateValue(String cosemValue) throws ParseException {
+        // Split the value like the pattern does
+        int numberEnd = 0;
+        while (numberEnd < cosemValue.length() && isNumberCharacter(cosemValue.charAt(numberEnd))) {
+            numberEnd++;
+        }
+        int unitStart = numberEnd;
+        if (unitStart < cosemValue.length()
+                && (cosemValue.charAt(unitStart) == '*' || cosemValue.charAt(unitStart) == '_')) {
+            unitStart++;
+        }
+        boolean hasUnit = numberEnd > 0 && unitStart < cosemValue.length();
+
         try {
+            String knownUnitText = this.knownUnitText;
+            if (hasUnit && knownUnitText != null && knownUnitText.length() == cosemValue.length() - unitStart
+                    && cosemValue.startsWith(knownUnitText, unitStart)) {
+                return new QuantityType<>(new BigDecimal(cosemValue.substring(0, numberEnd)), unit);
+            }
+
             QuantityType<Q> qt = new QuantityType<Q>(prepare(cosemValue));
 
             if (!unit.equals(qt.getUnit())) {
                 throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
             }
+            if (hasUnit) {
+                this.knownUnitText = cosemValue.substring(unitStart);
+            }
             return qt;
         } catch (IllegalArgumentException nfe) {
             throw new ParseException("Failed to parse value '" + cosemValue + "' as unit " + unit, 0);
         }
     }
 
+    private static boolean isNumberCharacter(char c) {
+        return (c >= '0' && c <= '9') || c == '.';
+    }
+
     /**
      * Check if COSEM value has a unit, check and parse the value. We assume here numbers (float or integers)
      * The specification states that the delimiter between the value and the unit is a '*'-character.
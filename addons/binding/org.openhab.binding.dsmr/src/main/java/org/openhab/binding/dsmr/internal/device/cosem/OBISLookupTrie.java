@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.dsmr.internal.device.cosem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Precomputed lookup of the {@link CosemObjectType}s by the groups of their OBIS Identifiers.
+ *
+ * The trie has a level for each of the groups A, C, D and E. Group B (the channel) is resolved in the leaf, as the
+ * wildcard types match any channel. Group F is not used by the DSMR specification and is ignored.
+ *
+ * Besides the types, a leaf caches the wildcard type found for a channel and the {@link OBISIdentifier}s received,
+ * so an instance must not be shared between parsers.
+ *
+ * @author agent - Initial contribution
+ */
+class OBISLookupTrie {
+
+    /**
+     * Key for a missing group B
+     */
+    static final int NO_CHANNEL = -1;
+
+    /**
+     * Cosem Object types with the same groups A, C, D and E
+     */
+    static class Leaf {
+        /** Types with a fixed group B, by group B */
+        final Map<Integer, CosemObjectType> fixedTypes = new HashMap<>();
+
+        /** Types with a wildcard group B, in the order of {@link CosemObjectType} */
+        final List<CosemObjectType> wildcardTypes = new ArrayList<>();
+
+        /** The wildcard type found for a channel, by group B */
+        final Map<Integer, CosemObjectType> resolvedTypes = new HashMap<>();
+
+        /** The received OBIS Identifiers without group F, by group B */
+        private final Map<Integer, OBISIdentifier> identifiers = new HashMap<>();
+
+        private final int groupA;
+        private final int groupC;
+        private final int groupD;
+        private final int groupE;
+
+        Leaf(int groupA, int groupC, int groupD, int groupE) {
+            this.groupA = groupA;
+            this.groupC = groupC;
+            this.groupD = groupD;
+            this.groupE = groupE;
+        }
+
+        /**
+         * Returns the OBIS Identifier of this leaf with the given groups B and F. Identifiers without group F are
+         * only constructed once.
+         *
+         * @param groupB group B or {@link #NO_CHANNEL}
+         * @param groupF group F or null
+         * @return the OBIS Identifier
+         */
+        OBISIdentifier getIdentifier(int groupB, Integer groupF) {
+            Integer channel = groupB == NO_CHANNEL ? null : groupB;
+            if (groupF != null) {
+                return new OBISIdentifier(groupA, channel, groupC, groupD, groupE, groupF);
+            }
+            OBISIdentifier identifier = identifiers.get(groupB);
+            if (identifier == null) {
+                identifier = new OBISIdentifier(groupA, channel, groupC, groupD, groupE, null);
+                identifiers.put(groupB, identifier);
+            }
+            return identifier;
+        }
+    }
+
+    private static class Node {
+        private int[] keys = new int[0];
+        private Object[] children = new Object[0];
+
+        Object get(int key) {
+            int index = Arrays.binarySearch(keys, key);
+            return index < 0 ? null : children[index];
+        }
+
+        Object getOrAdd(int key, Object child) {
+            int index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            int[] newKeys = new int[keys.length + 1];
+            Object[] newChildren = new Object[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = key;
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+            return child;
+        }
+    }
+
+    private final Node root = new Node();
+
+    /**
+     * Creates the trie of all {@link CosemObjectType}s.
+     */
+    OBISLookupTrie() {
+        for (CosemObjectType type : CosemObjectType.values()) {
+            OBISIdentifier obisId = type.obisId;
+            Node nodeA = (Node) root.getOrAdd(obisId.getGroupA(), new Node());
+            Node nodeC = (Node) nodeA.getOrAdd(obisId.getGroupC(), new Node());
+            Node nodeD = (Node) nodeC.getOrAdd(obisId.getGroupD(), new Node());
+            Leaf leaf = (Leaf) nodeD.getOrAdd(obisId.getGroupE(),
+                    new Leaf(obisId.getGroupA(), obisId.getGroupC(), obisId.getGroupD(), obisId.getGroupE()));
+
+            if (obisId.reducedOBISIdentifierIsWildCard()) {
+                leaf.wildcardTypes.add(type);
+            } else {
+                // Like a map of the types, the last type with the same identifier is used
+                leaf.fixedTypes.put(obisId.getGroupB(), type);
+            }
+        }
+    }
+
+    /**
+     * Returns the leaf for the given groups.
+     *
+     * @return the leaf or null if there is no type with these groups
+     */
+    Leaf get(int groupA, int groupC, int groupD, int groupE) {
+        Node nodeA = (Node) root.get(groupA);
+        Node nodeC = nodeA == null ? null : (Node) nodeA.get(groupC);
+        Node nodeD = nodeC == null ? null : (Node) nodeC.get(groupD);
+        return nodeD == null ? null : (Leaf) nodeD.get(groupE);
+    }
+}
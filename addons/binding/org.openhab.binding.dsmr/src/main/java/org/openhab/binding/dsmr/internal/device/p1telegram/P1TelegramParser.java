@@ -10,8 +10,8 @@ package org.openhab.binding.dsmr.internal.device.p1telegram;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Pattern;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.openhab.binding.dsmr.internal.device.cosem.CosemObject;
@@ -26,6 +26,9 @@ import org.slf4j.LoggerFactory;
  *
  * Data can be parsed in chunks. If a full P1 telegram is received, listeners are notified
  *
+ * The data is parsed byte by byte. The OBIS identifier and values of the current Cosem Object are collected in
+ * reusable buffers, and converted by the {@link CosemObjectFactory} without intermediate strings.
+ *
  * @author M. Volaart - Initial contribution
  * @author Hilbrand Bouwkamp - Removed asynchronous call and some clean up
  */
@@ -55,21 +58,28 @@ public class P1TelegramParser {
     private final Logger logger = LoggerFactory.getLogger(P1TelegramParser.class);
 
     /**
-     * Pattern for the CRC-code
+     * Number of characters of the CRC-code
+     */
+    private static final int CRC_LENGTH = 4;
+
+    /**
+     * Initial size of the OBIS identifier and cosem object values buffers
      */
-    private static final String CRC_PATTERN = "[0-9A-Z]{4}";
+    private static final int INITIAL_BUFFER_SIZE = 64;
 
     /* internal state variables */
 
     /**
      * current obisId buffer.
      */
-    private final StringBuilder obisId = new StringBuilder();
+    private byte[] obisId = new byte[INITIAL_BUFFER_SIZE];
+    private int obisIdLength;
 
     /**
      * Current cosem object values buffer.
      */
-    private final StringBuilder cosemObjectValuesString = new StringBuilder();
+    private byte[] cosemObjectValues = new byte[INITIAL_BUFFER_SIZE];
+    private int cosemObjectValuesLength;
 
     /**
      * In lenient mode store raw data and log when a complete message is received.
@@ -77,9 +87,14 @@ public class P1TelegramParser {
     private final StringBuilder rawData = new StringBuilder();
 
     /**
-     * Current crc value read.
+     * Current crc value read, -1 if it is not a valid CRC-code.
+     */
+    private int crcValue;
+
+    /**
+     * Number of characters of the current crc value read.
      */
-    private final StringBuilder crcValue = new StringBuilder();
+    private int crcValueLength;
 
     /**
      * CRC calculation helper
@@ -151,7 +166,7 @@ public class P1TelegramParser {
             }
         }
         for (int i = offset; i < (offset + length); i++) {
-            char c = (char) data[i];
+            byte c = data[i];
 
             switch (state) {
                 case WAIT_FOR_START:
@@ -165,9 +180,9 @@ public class P1TelegramParser {
                     }
                     break;
                 case CRLF:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (isWhitespace(c)) { // NOPMD EmptyIfStmt
                         // do nothing
-                    } else if (Character.isDigit(c)) {
+                    } else if (isDigit(c)) {
                         setState(State.DATA_OBIS_ID);
                     } else {
                         handleUnexpectedCharacter(c);
@@ -176,9 +191,9 @@ public class P1TelegramParser {
                     }
                     break;
                 case DATA_OBIS_ID:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (isWhitespace(c)) { // NOPMD EmptyIfStmt
                         // ignore
-                    } else if (Character.isDigit(c) || c == ':' || c == '-' || c == '.' || c == '*') { // NOPMD
+                    } else if (isDigit(c) || c == ':' || c == '-' || c == '.' || c == '*') { // NOPMD
                         // do nothing
                     } else if (c == '(') {
                         setState(State.DATA_OBIS_VALUE);
@@ -208,9 +223,9 @@ public class P1TelegramParser {
                     }
                     break;
                 case DATA_OBIS_VALUE_END:
-                    if (Character.isWhitespace(c)) { // NOPMD EmptyIfStmt
+                    if (isWhitespace(c)) { // NOPMD EmptyIfStmt
                         // ignore
-                    } else if (Character.isDigit(c)) {
+                    } else if (isDigit(c)) {
                         setState(State.DATA_OBIS_ID);
                     } else if (c == '(') {
                         setState(State.DATA_OBIS_VALUE);
@@ -232,16 +247,17 @@ public class P1TelegramParser {
                      * P1 telegram is correctly finished
                      */
                     if (c == '\r' || c == '/') {
-                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState, crcValue);
+                        logger.trace("telegramState {}, crcValue to check 0x{}", telegramState,
+                                Integer.toHexString(crcValue));
                         // Only perform CRC check if telegram is still ok
-                        if (telegramState == TelegramState.OK && crcValue.length() > 0) {
-                            if (Pattern.matches(CRC_PATTERN, crcValue)) {
-                                int crcP1Telegram = Integer.parseInt(crcValue.toString(), 16);
+                        if (telegramState == TelegramState.OK && crcValueLength > 0) {
+                            if (crcValueLength == CRC_LENGTH && crcValue >= 0) {
+                                int crcP1Telegram = crcValue;
                                 int calculatedCRC = crc.getCurrentCRCCode();
 
-                                if (logger.isDebugEnabled()) {
-                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}", crcValue,
-                                            String.format("%04X", calculatedCRC));
+                                if (logger.isTraceEnabled()) {
+                                    logger.trace("received CRC value: {}, calculated CRC value: 0x{}",
+                                            String.format("%04X", crcP1Telegram), String.format("%04X", calculatedCRC));
                                 }
                                 if (crcP1Telegram != calculatedCRC) {
                                     logger.trace("CRC value does not match, p1 Telegram failed");
@@ -283,8 +299,8 @@ public class P1TelegramParser {
      *
      * @param c the unexpected character
      */
-    private void handleUnexpectedCharacter(char c) {
-        logger.debug("Unexpected character '{}' in state: {}. This P1 telegram is marked as failed", c, state);
+    private void handleUnexpectedCharacter(byte c) {
+        logger.debug("Unexpected character '{}' in state: {}. This P1 telegram is marked as failed", (char) c, state);
 
         telegramState = TelegramState.DATA_CORRUPTION;
     }
@@ -294,34 +310,37 @@ public class P1TelegramParser {
      *
      * @param c the character to process
      */
-    private void handleCharacter(char c) {
+    private void handleCharacter(byte c) {
         switch (state) {
             case WAIT_FOR_START:
                 // ignore the data
                 break;
             case HEADER:
-                crc.processByte((byte) c);
+                crc.processByte(c);
                 break;
             case CRLF:
-                crc.processByte((byte) c);
+                crc.processByte(c);
                 break;
             case DATA_OBIS_ID:
-                obisId.append(c);
-                crc.processByte((byte) c);
+                if (obisIdLength == obisId.length) {
+                    obisId = Arrays.copyOf(obisId, obisId.length * 2);
+                }
+                obisId[obisIdLength++] = c;
+                crc.processByte(c);
                 break;
             case DATA_OBIS_VALUE:
-                cosemObjectValuesString.append(c);
-                crc.processByte((byte) c);
-                break;
             case DATA_OBIS_VALUE_END:
-                cosemObjectValuesString.append(c);
-                crc.processByte((byte) c);
+                if (cosemObjectValuesLength == cosemObjectValues.length) {
+                    cosemObjectValues = Arrays.copyOf(cosemObjectValues, cosemObjectValues.length * 2);
+                }
+                cosemObjectValues[cosemObjectValuesLength++] = c;
+                crc.processByte(c);
                 break;
             case CRC_VALUE:
                 if (c == '!') {
-                    crc.processByte((byte) c);
+                    crc.processByte(c);
                 } else {
-                    crcValue.append(c);
+                    addCrcCharacter(c);
                 }
                 // CRC data is not part of received data
                 break;
@@ -330,14 +349,48 @@ public class P1TelegramParser {
         }
     }
 
+    /**
+     * Adds a character of the CRC-code to the current crc value. The crc value becomes invalid if the character is
+     * not an upper case hexadecimal digit.
+     *
+     * @param c the character to add
+     */
+    private void addCrcCharacter(byte c) {
+        int digit;
+        if (c >= '0' && c <= '9') {
+            digit = c - '0';
+        } else if (c >= 'A' && c <= 'F') {
+            digit = c - 'A' + 10;
+        } else {
+            digit = -1;
+        }
+        crcValue = digit < 0 || crcValue < 0 || crcValueLength >= CRC_LENGTH ? -1 : (crcValue << 4) | digit;
+        crcValueLength++;
+    }
+
+    /**
+     * @return true if the character is a white space character, like {@link Character#isWhitespace(char)}
+     */
+    private static boolean isWhitespace(byte c) {
+        return c == ' ' || (c >= '\t' && c <= '\r') || (c >= 0x1C && c <= 0x1F);
+    }
+
+    /**
+     * @return true if the character is a digit
+     */
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
     /**
      * Clears all internal state
      */
     private void clearInternalData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
         rawData.setLength(0);
-        crcValue.setLength(0);
+        crcValue = 0;
+        crcValueLength = 0;
         crc.initialize();
         cosemObjects.clear();
     }
@@ -349,18 +402,17 @@ public class P1TelegramParser {
      * - current OBIS data object
      */
     private void clearObisData() {
-        obisId.setLength(0);
-        cosemObjectValuesString.setLength(0);
+        obisIdLength = 0;
+        cosemObjectValuesLength = 0;
     }
 
     /**
      * Store the current CosemObject in the list of received cosem Objects
      */
     private void storeCurrentCosemObject() {
-        String obisIdString = obisId.toString();
-
-        if (!obisIdString.isEmpty()) {
-            CosemObject cosemObject = factory.getCosemObject(obisIdString, cosemObjectValuesString.toString());
+        if (obisIdLength > 0) {
+            CosemObject cosemObject = factory.getCosemObject(obisId, obisIdLength, cosemObjectValues,
+                    cosemObjectValuesLength);
 
             if (cosemObject != null) {
                 logger.trace("Adding {} to list of Cosem Objects", cosemObject);
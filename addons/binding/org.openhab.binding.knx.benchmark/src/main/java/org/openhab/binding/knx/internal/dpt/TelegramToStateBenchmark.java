@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark converting received telegrams into openHAB types, as done by the device things for each group write.
+ *
+ * The conversion consists of checking that the datapoint type is supported, and converting the data of the
+ * telegram. <code>cached</code> uses the conversions cached by {@link KNXCoreTypeMapper}, <code>uncached</code>
+ * resolves the conversion for each telegram, as done before the cache was added.
+ *
+ * The benchmark is in the package of the mapper, in order to access the uncached conversion.
+ *
+ * @author agent - Initial contribution
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TelegramToStateBenchmark {
+
+    @Param({ "1.001", "5.001", "9.001", "14.068", "232.600" })
+    public String dpt;
+
+    private final KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+    private byte[][] telegrams;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        switch (dpt) {
+            case "1.001":
+                telegrams = new byte[][] { { 0 }, { 1 } };
+                break;
+            case "5.001":
+                telegrams = new byte[][] { { 0 }, { (byte) 0x80 }, { (byte) 0xFF } };
+                break;
+            case "9.001":
+                // 21.5, -1 and 0
+                telegrams = new byte[][] { { 0x0C, 0x33 }, { (byte) 0x87, (byte) 0x9C }, { 0, 0 } };
+                break;
+            case "14.068":
+                telegrams = new byte[][] { floatData(21.5f), floatData(-3.25f), floatData(1234.5f) };
+                break;
+            case "232.600":
+                telegrams = new byte[][] { { 0x10, (byte) 0x80, (byte) 0xFF }, { 0, 0, 0 },
+                        { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF } };
+                break;
+            default:
+                throw new IllegalArgumentException("No telegrams for datapoint type " + dpt);
+        }
+    }
+
+    private static byte[] floatData(float value) {
+        return ByteBuffer.allocate(4).putFloat(value).array();
+    }
+
+    private byte[] nextTelegram() {
+        index = (index + 1) % telegrams.length;
+        return telegrams[index];
+    }
+
+    @Benchmark
+    public void cached(Blackhole blackhole) {
+        byte[] asdu = nextTelegram();
+        if (mapper.toTypeClass(dpt) != null) {
+            blackhole.consume(mapper.toType(dpt, asdu));
+        }
+    }
+
+    @Benchmark
+    public void uncached(Blackhole blackhole) {
+        blackhole.consume(mapper.toTypeUncached(dpt, nextTelegram()));
+    }
+
+}
@@ -10,12 +10,20 @@ package org.openhab.binding.knx.internal.channel;
 
 import static org.junit.Assert.*;
 
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.smarthome.config.core.Configuration;
 import org.junit.Before;
 import org.junit.Test;
+import org.openhab.binding.knx.client.InboundSpec;
+
+import tuwien.auto.calimero.GroupAddress;
 
 /**
  *
@@ -91,14 +99,38 @@ public class KNXChannelTypeTest {
         assertEquals(2, res.getReadGAs().size());
     }
 
+    @Test
+    public void testGetListenSpecs() throws Exception {
+        ct = new MyKNXChannelType("", "switch", "position", "unused");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("switch", "1.001:1/3/22+<0/3/22");
+        properties.put("position", "5.001:1/3/23+0/3/22");
+        List<InboundSpec> res = ct.getListenSpecs(new Configuration(properties));
+
+        assertEquals(2, res.size());
+        for (InboundSpec spec : res) {
+            if ("1.001".equals(spec.getDPT())) {
+                assertEquals(Arrays.asList(new GroupAddress("1/3/22"), new GroupAddress("0/3/22")),
+                        spec.getGroupAddresses());
+            } else {
+                assertEquals("5.001", spec.getDPT());
+                assertEquals(Arrays.asList(new GroupAddress("1/3/23"), new GroupAddress("0/3/22")),
+                        spec.getGroupAddresses());
+            }
+        }
+    }
+
     private static class MyKNXChannelType extends KNXChannelType {
-        public MyKNXChannelType(String channelTypeID) {
+        private final Set<String> gaKeys;
+
+        public MyKNXChannelType(String channelTypeID, String... gaKeys) {
             super(channelTypeID);
+            this.gaKeys = new HashSet<>(Arrays.asList(gaKeys));
         }
 
         @Override
         protected @NonNull Set<@NonNull String> getAllGAKeys() {
-            return Collections.emptySet();
+            return gaKeys;
         }
 
         @Override
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.openhab.binding.knx.internal.client.ReadScheduler.ScheduledRead;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class ReadSchedulerTest {
+
+    private ReadScheduler scheduler;
+    private GroupAddressListener thing1;
+    private GroupAddressListener thing2;
+
+    @Before
+    public void setup() {
+        scheduler = new ReadScheduler(3);
+        thing1 = mock(GroupAddressListener.class);
+        thing2 = mock(GroupAddressListener.class);
+    }
+
+    private static Datapoint datapoint(int middle, int sub) {
+        return new CommandDP(new GroupAddress(1, middle, sub), "test", 0, "1.001");
+    }
+
+    private GroupAddress readNext(long now) {
+        ScheduledRead read = scheduler.next(now);
+        assertNotNull(read);
+        scheduler.completed(read, true, now);
+        return read.getDatapoint().getMainAddress();
+    }
+
+    @Test
+    public void testSchedule_deduplicatesAcrossListeners() {
+        scheduler.schedule(thing1, datapoint(0, 1), 60, 0);
+        scheduler.schedule(thing2, datapoint(0, 1), 10, 0);
+        scheduler.read(datapoint(0, 1), 0);
+
+        assertEquals(1, scheduler.getQueueSize());
+        assertEquals(new GroupAddress(1, 0, 1), readNext(0));
+        assertNull(scheduler.next(0));
+
+        // the shortest interval is used
+        assertNull(scheduler.next(9_999));
+        assertEquals(new GroupAddress(1, 0, 1), readNext(10_000));
+    }
+
+    @Test
+    public void testSchedule_spreadsReads() {
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+        scheduler.schedule(thing1, datapoint(0, 2), 10, 0);
+        scheduler.schedule(thing1, datapoint(0, 3), 10, 0);
+
+        // sent one by one, in the order of scheduling
+        assertEquals(new GroupAddress(1, 0, 1), readNext(0));
+        assertEquals(new GroupAddress(1, 0, 2), readNext(50));
+        assertEquals(new GroupAddress(1, 0, 3), readNext(100));
+
+        // the next reads keep their distance
+        assertNull(scheduler.next(9_999));
+        assertEquals(new GroupAddress(1, 0, 1), readNext(10_000));
+        assertNull(scheduler.next(10_000));
+        assertEquals(new GroupAddress(1, 0, 2), readNext(10_050));
+    }
+
+    @Test
+    public void testRead_beforeRegularReads() {
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+        readNext(0);
+        scheduler.read(datapoint(0, 2), 5_000);
+
+        assertEquals(new GroupAddress(1, 0, 2), readNext(5_000));
+        assertEquals(1, scheduler.getQueueSize());
+        assertNull(scheduler.next(5_000));
+    }
+
+    @Test
+    public void testRead_whileInProgress() {
+        scheduler.read(datapoint(0, 1), 0);
+        ScheduledRead read = scheduler.next(0);
+        assertNotNull(read);
+
+        // answered by the read in progress
+        scheduler.read(datapoint(0, 1), 0);
+        assertEquals(0, scheduler.getQueueSize());
+
+        scheduler.completed(read, true, 0);
+        assertEquals(0, scheduler.getQueueSize());
+    }
+
+    @Test
+    public void testCompleted_retries() {
+        scheduler.read(datapoint(0, 1), 0);
+
+        for (int i = 0; i < 3; i++) {
+            ScheduledRead read = scheduler.next(0);
+            assertNotNull(read);
+            scheduler.completed(read, false, 0);
+        }
+
+        // giving up after the third attempt
+        assertNull(scheduler.next(0));
+    }
+
+    @Test
+    public void testCompleted_retriesThenRegularRead() {
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+
+        for (int i = 0; i < 3; i++) {
+            ScheduledRead read = scheduler.next(0);
+            assertNotNull(read);
+            scheduler.completed(read, false, 0);
+        }
+
+        assertNull(scheduler.next(9_999));
+        assertEquals(new GroupAddress(1, 0, 1), readNext(10_000));
+    }
+
+    @Test
+    public void testCancel() {
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+        scheduler.schedule(thing2, datapoint(0, 1), 20, 0);
+        scheduler.schedule(thing1, datapoint(0, 2), 10, 0);
+        readNext(0);
+        readNext(0);
+
+        scheduler.cancel(thing1);
+
+        // still read for the other listener, with its interval from the next read on
+        assertEquals(1, scheduler.getQueueSize());
+        assertEquals(new GroupAddress(1, 0, 1), readNext(10_000));
+        assertNull(scheduler.next(29_999));
+        assertEquals(new GroupAddress(1, 0, 1), readNext(30_000));
+
+        scheduler.cancel(thing2);
+        assertEquals(0, scheduler.getQueueSize());
+    }
+
+    @Test
+    public void testCancel_whileInProgress() {
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+        ScheduledRead read = scheduler.next(0);
+        assertNotNull(read);
+
+        scheduler.cancel(thing1);
+        scheduler.completed(read, true, 0);
+
+        assertEquals(0, scheduler.getQueueSize());
+    }
+
+    @Test
+    public void testClear() {
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+        scheduler.read(datapoint(0, 2), 0);
+
+        scheduler.clear();
+
+        assertNull(scheduler.next(Long.MAX_VALUE));
+        scheduler.schedule(thing1, datapoint(0, 1), 10, 0);
+        assertEquals(1, scheduler.getQueueSize());
+    }
+
+}
@@ -8,9 +8,11 @@
  */
 package org.openhab.binding.knx.internal.dpt;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.library.types.PercentType;
 import org.junit.Test;
 
 /**
@@ -26,4 +28,24 @@ public class KNXCoreTypeMapperTest {
         assertEquals("3", new KNXCoreTypeMapper().toDPTValue(new DecimalType("3.0"), "17.001"));
     }
 
+    @Test
+    public void testToType_repeatedConversions() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        // the translators are reused, make sure the previous data does not leak into the next conversion
+        assertEquals(OnOffType.ON, mapper.toType("1.001", new byte[] { 1 }));
+        assertEquals(OnOffType.OFF, mapper.toType("1.001", new byte[] { 0 }));
+        assertEquals(new DecimalType("21.5"), mapper.toType("9.001", new byte[] { 0x0C, 0x33 }));
+        assertEquals(new DecimalType("-1"), mapper.toType("9.001", new byte[] { (byte) 0x87, (byte) 0x9C }));
+        assertEquals(new PercentType(100), mapper.toType("5.001", new byte[] { (byte) 0xFF }));
+        assertEquals(new PercentType(50), mapper.toType("5.001", new byte[] { (byte) 0x80 }));
+    }
+
+    @Test
+    public void testToType_unsupportedDPT() {
+        KNXCoreTypeMapper mapper = new KNXCoreTypeMapper();
+        assertNull(mapper.toType("999.001", new byte[] { 1 }));
+        assertNull(mapper.toTypeClass("999.001"));
+        assertNull(mapper.toDPTValue(OnOffType.ON, "999.001"));
+    }
+
 }
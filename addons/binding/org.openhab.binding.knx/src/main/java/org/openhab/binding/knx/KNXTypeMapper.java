@@ -47,6 +47,16 @@ public interface KNXTypeMapper {
     @Nullable
     public Type toType(Datapoint datapoint, byte[] data);
 
+    /**
+     * maps a datapoint value to an openHAB command or state
+     *
+     * @param dpt the datapoint type of the value
+     * @param data the datapoint value as an ASDU byte array (see <code>{@link ProcessEvent}.getASDU()</code>)
+     * @return a command or state of openHAB
+     */
+    @Nullable
+    public Type toType(String dpt, byte[] data);
+
     @Nullable
     public Class<? extends Type> toTypeClass(@Nullable String dpt);
 
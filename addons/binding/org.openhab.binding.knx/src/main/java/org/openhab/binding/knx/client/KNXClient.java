@@ -79,6 +79,27 @@ public interface KNXClient {
      */
     void readDatapoint(Datapoint datapoint);
 
+    /**
+     * Schedule the given data point for regular asynchronous reading on behalf of the given listener.
+     *
+     * A group address is read only once when several listeners are interested in it, with the shortest of the
+     * requested intervals. The first read happens as soon as possible.
+     *
+     * @param listener the listener interested in the value
+     * @param datapoint the datapoint
+     * @param intervalSeconds the read interval in seconds
+     */
+    void scheduleRead(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds);
+
+    /**
+     * Stop reading regularly on behalf of the given listener.
+     *
+     * This happens automatically when the listener is unregistered.
+     *
+     * @param listener the listener
+     */
+    void cancelScheduledReads(GroupAddressListener listener);
+
     /**
      * Write a command to the KNX bus.
      *
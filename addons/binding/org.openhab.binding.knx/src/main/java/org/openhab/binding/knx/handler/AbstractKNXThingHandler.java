@@ -135,8 +135,6 @@ public abstract class AbstractKNXThingHandler extends BaseThingHandler implement
 
     protected abstract void scheduleReadJobs();
 
-    protected abstract void cancelReadFutures();
-
     private void pollDeviceStatus() {
         try {
             if (address != null && getClient().isConnected()) {
@@ -204,11 +202,11 @@ public abstract class AbstractKNXThingHandler extends BaseThingHandler implement
             descriptionJob.cancel(true);
             descriptionJob = null;
         }
-        cancelReadFutures();
         Bridge bridge = getBridge();
         if (bridge != null) {
             KNXBridgeBaseThingHandler handler = (KNXBridgeBaseThingHandler) bridge.getHandler();
             if (handler != null) {
+                // also cancels the scheduled reads
                 handler.getClient().unregisterGroupAddressListener(this);
             }
         }
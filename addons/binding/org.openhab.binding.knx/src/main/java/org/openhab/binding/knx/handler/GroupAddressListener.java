@@ -26,6 +26,9 @@ public interface GroupAddressListener extends BusMessageListener {
     /**
      * Called to verify if the GroupAddressListener has an interest in the given GroupAddress
      *
+     * The result is cached by the client. Listeners need to register again when the group addresses they listen to
+     * change.
+     *
      * @param destination
      */
     public boolean listensTo(GroupAddress destination);
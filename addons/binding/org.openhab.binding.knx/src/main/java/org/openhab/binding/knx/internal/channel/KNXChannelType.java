@@ -181,11 +181,10 @@ public abstract class KNXChannelType {
                 .filter(spec -> !spec.getGroupAddresses().isEmpty()).collect(toList());
     }
 
-    public final @Nullable InboundSpec getListenSpec(Configuration configuration, GroupAddress groupAddress) {
+    public final List<InboundSpec> getListenSpecs(Configuration configuration) {
         return getAllGAKeys().stream()
                 .map(key -> new ListenSpecImpl(parse((String) configuration.get(key)), getDefaultDPT(key)))
-                .filter(spec -> !spec.getGroupAddresses().isEmpty())
-                .filter(spec -> spec.getGroupAddresses().contains(groupAddress)).findFirst().orElse(null);
+                .filter(spec -> !spec.getGroupAddresses().isEmpty()).collect(toList());
     }
 
     protected abstract String getDefaultDPT(String gaConfigKey);
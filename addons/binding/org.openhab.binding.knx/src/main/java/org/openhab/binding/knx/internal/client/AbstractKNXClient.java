@@ -8,9 +8,13 @@
  */
 package org.openhab.binding.knx.internal.client;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +32,7 @@ import org.openhab.binding.knx.client.KNXClient;
 import org.openhab.binding.knx.client.OutboundSpec;
 import org.openhab.binding.knx.client.StatusUpdateCallback;
 import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.openhab.binding.knx.internal.client.ReadScheduler.ScheduledRead;
 import org.openhab.binding.knx.internal.dpt.KNXCoreTypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,7 +77,6 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private final int responseTimeout;
     private final int readingPause;
     private final int autoReconnectPeriod;
-    private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
 
@@ -86,7 +90,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable ScheduledFuture<?> connectJob;
 
     private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private volatile Map<GroupAddress, List<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+    private final ReadScheduler readScheduler;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -123,13 +128,20 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     };
 
+    /**
+     * @param readingPause minimum pause between two read requests, in milliseconds
+     * @param maxReadsPerSecond maximum number of read requests sent per second, or 0 for no limit besides the
+     *            reading pause
+     */
     public AbstractKNXClient(int autoReconnectPeriod, ThingUID thingUID, int responseTimeout, int readingPause,
-            int readRetriesLimit, ScheduledExecutorService knxScheduler, StatusUpdateCallback statusUpdateCallback) {
+            int readRetriesLimit, int maxReadsPerSecond, ScheduledExecutorService knxScheduler,
+            StatusUpdateCallback statusUpdateCallback) {
         this.autoReconnectPeriod = autoReconnectPeriod;
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
-        this.readingPause = readingPause;
-        this.readRetriesLimit = readRetriesLimit;
+        int budgetPause = maxReadsPerSecond > 0 ? (1000 + maxReadsPerSecond - 1) / maxReadsPerSecond : 0;
+        this.readingPause = Math.max(1, Math.max(readingPause, budgetPause));
+        this.readScheduler = new ReadScheduler(readRetriesLimit);
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
     }
@@ -221,7 +233,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     private void releaseConnection() {
         logger.debug("Bridge {} is disconnecting from the KNX bus", thingUID);
-        readDatapoints.clear();
+        readScheduler.clear();
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, mp -> mp.detach());
@@ -249,13 +261,24 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}'", task, source, destination);
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        for (GroupAddressListener listener : getListeners(destination)) {
+            knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
         }
     }
 
+    /**
+     * Get the listeners interested in the given group address.
+     *
+     * The listeners are looked up once per group address, and cached until a listener is registered or unregistered.
+     *
+     * @param destination the group address
+     * @return the listeners of the group address
+     */
+    private List<GroupAddressListener> getListeners(GroupAddress destination) {
+        return listenersByGroupAddress.computeIfAbsent(destination, groupAddress -> groupAddressListeners.stream()
+                .filter(listener -> listener.listensTo(groupAddress)).collect(toList()));
+    }
+
     /**
      * Transforms a {@link Type} into a datapoint type value for the KNX bus.
      *
@@ -276,24 +299,21 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (processCommunicator == null) {
             return;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            datapoint.incrementRetries();
+        ScheduledRead read = readScheduler.next(System.currentTimeMillis());
+        if (read != null) {
+            Datapoint datapoint = read.getDatapoint();
+            boolean success = false;
             try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
+                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getMainAddress());
+                processCommunicator.read(datapoint);
+                success = true;
             } catch (KNXException e) {
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
+                logger.debug("Could not read value for datapoint {}: {}", datapoint.getMainAddress(), e.getMessage());
             } catch (InterruptedException e) {
                 logger.debug("Interrupted sending KNX read request");
                 return;
+            } finally {
+                readScheduler.completed(read, success, System.currentTimeMillis());
             }
         }
     }
@@ -363,22 +383,33 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
     @Override
     public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+        readScheduler.read(datapoint, System.currentTimeMillis());
+    }
+
+    @Override
+    public void scheduleRead(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds) {
+        readScheduler.schedule(listener, datapoint, intervalSeconds, System.currentTimeMillis());
+    }
+
+    @Override
+    public void cancelScheduledReads(GroupAddressListener listener) {
+        readScheduler.cancel(listener);
     }
 
     @Override
     public final boolean registerGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.add(listener);
+        boolean added = groupAddressListeners.add(listener);
+        // even if already registered, the listener may listen to different group addresses now
+        listenersByGroupAddress = new ConcurrentHashMap<>();
+        return added;
     }
 
     @Override
     public final boolean unregisterGroupAddressListener(GroupAddressListener listener) {
-        return groupAddressListeners.remove(listener);
+        boolean removed = groupAddressListeners.remove(listener);
+        readScheduler.cancel(listener);
+        listenersByGroupAddress = new ConcurrentHashMap<>();
+        return removed;
     }
 
     @Override
@@ -61,6 +61,14 @@ public class NoOpClient implements KNXClient {
     public void readDatapoint(Datapoint datapoint) {
     }
 
+    @Override
+    public void scheduleRead(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds) {
+    }
+
+    @Override
+    public void cancelScheduledReads(GroupAddressListener listener) {
+    }
+
     @Override
     public void writeToKNX(OutboundSpec commandSpec) throws KNXException {
     }
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.knx.handler.GroupAddressListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Schedules the read requests sent to the bus.
+ *
+ * There is at most one read request queued per group address, no matter how many listeners are interested in it: the
+ * response is delivered to all the listeners anyway. A group address read regularly is read with the shortest
+ * interval requested by the listeners. The next regular read is scheduled relative to the time the previous request
+ * was actually sent, so reads queued at startup stay spread over time.
+ *
+ * The client takes the due reads one at a time with {@link #next(long)}, which limits the rate of the read requests,
+ * and reports the result with {@link #completed(ScheduledRead, boolean, long)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ReadScheduler {
+
+    private final Logger logger = LoggerFactory.getLogger(ReadScheduler.class);
+
+    private final int retriesLimit;
+    private final Map<GroupAddress, ScheduledRead> reads = new HashMap<>();
+    private final PriorityQueue<ScheduledRead> queue = new PriorityQueue<>(
+            Comparator.<ScheduledRead> comparingLong(read -> read.dueMillis).thenComparingLong(read -> read.sequence));
+    private long sequence;
+
+    /**
+     * Read of one group address, shared by all the listeners interested in it.
+     */
+    public static class ScheduledRead {
+        private final Datapoint datapoint;
+        private final Map<GroupAddressListener, Integer> intervals = new HashMap<>();
+        private boolean oneTime;
+        private boolean queued;
+        private boolean inProgress;
+        private long dueMillis;
+        private long sequence;
+        private int retries;
+
+        private ScheduledRead(Datapoint datapoint) {
+            this.datapoint = datapoint;
+        }
+
+        public Datapoint getDatapoint() {
+            return datapoint;
+        }
+
+        private int getIntervalSeconds() {
+            return intervals.values().stream().mapToInt(Integer::intValue).min().orElse(0);
+        }
+    }
+
+    /**
+     * @param retriesLimit number of times a failing read request is sent before giving up
+     */
+    public ReadScheduler(int retriesLimit) {
+        this.retriesLimit = retriesLimit;
+    }
+
+    /**
+     * Read the datapoint regularly on behalf of the listener. The first read is due immediately, unless the group
+     * address is already read on behalf of the listener.
+     *
+     * @param listener the listener interested in the value
+     * @param datapoint the datapoint to read
+     * @param intervalSeconds read interval
+     * @param now current time in milliseconds
+     */
+    public synchronized void schedule(GroupAddressListener listener, Datapoint datapoint, int intervalSeconds,
+            long now) {
+        ScheduledRead read = reads.computeIfAbsent(datapoint.getMainAddress(), ga -> new ScheduledRead(datapoint));
+        if (read.intervals.put(listener, intervalSeconds) == null) {
+            enqueue(read, now);
+        }
+    }
+
+    /**
+     * Read the datapoint once, as soon as possible
+     *
+     * @param datapoint the datapoint to read
+     * @param now current time in milliseconds
+     */
+    public synchronized void read(Datapoint datapoint, long now) {
+        ScheduledRead read = reads.computeIfAbsent(datapoint.getMainAddress(), ga -> new ScheduledRead(datapoint));
+        read.oneTime = true;
+        enqueue(read, now);
+    }
+
+    /**
+     * Stop reading regularly on behalf of the listener
+     *
+     * @param listener the listener
+     */
+    public synchronized void cancel(GroupAddressListener listener) {
+        for (Iterator<ScheduledRead> iterator = reads.values().iterator(); iterator.hasNext();) {
+            ScheduledRead read = iterator.next();
+            if (read.intervals.remove(listener) != null && read.intervals.isEmpty() && !read.oneTime) {
+                if (read.queued) {
+                    queue.remove(read);
+                    read.queued = false;
+                }
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Take the next read that is due
+     *
+     * @param now current time in milliseconds
+     * @return the read to send, or {@code null} if no read is due
+     */
+    public synchronized @Nullable ScheduledRead next(long now) {
+        ScheduledRead read = queue.peek();
+        if (read == null || read.dueMillis > now) {
+            return null;
+        }
+        queue.poll();
+        read.queued = false;
+        read.inProgress = true;
+        return read;
+    }
+
+    /**
+     * Report the result of a read request taken with {@link #next(long)}
+     *
+     * @param read the read
+     * @param success whether the read request was sent successfully
+     * @param now current time in milliseconds
+     */
+    public synchronized void completed(ScheduledRead read, boolean success, long now) {
+        read.inProgress = false;
+        if (reads.get(read.datapoint.getMainAddress()) != read) {
+            // cancelled or cleared in the meantime
+            return;
+        }
+        if (!success) {
+            read.retries++;
+            if (read.retries < retriesLimit) {
+                logger.debug("Could not read value for datapoint {}. Going to retry.",
+                        read.datapoint.getMainAddress());
+                enqueue(read, now);
+                return;
+            }
+            logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                    read.datapoint.getMainAddress(), retriesLimit);
+        }
+        read.retries = 0;
+        read.oneTime = false;
+        if (read.queued) {
+            // a listener is waiting for the read already
+            return;
+        }
+        if (read.intervals.isEmpty()) {
+            reads.remove(read.datapoint.getMainAddress(), read);
+        } else {
+            enqueue(read, now + read.getIntervalSeconds() * 1000L);
+        }
+    }
+
+    /**
+     * Forget all the reads, e.g. when the connection is lost
+     */
+    public synchronized void clear() {
+        reads.clear();
+        queue.clear();
+    }
+
+    /**
+     * @return number of reads waiting in the queue
+     */
+    public synchronized int getQueueSize() {
+        return queue.size();
+    }
+
+    private void enqueue(ScheduledRead read, long dueMillis) {
+        if (read.inProgress) {
+            // the response to the read in progress is delivered to everyone
+            return;
+        }
+        if (read.queued) {
+            if (read.dueMillis <= dueMillis) {
+                return;
+            }
+            queue.remove(read);
+        }
+        read.dueMillis = dueMillis;
+        read.sequence = sequence++;
+        read.queued = true;
+        queue.add(read);
+    }
+
+}
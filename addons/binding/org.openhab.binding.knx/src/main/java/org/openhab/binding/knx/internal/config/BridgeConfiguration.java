@@ -23,6 +23,8 @@ public class BridgeConfiguration {
     private BigDecimal autoReconnectPeriod;
     private BigDecimal readingPause;
     private BigDecimal readRetriesLimit;
+    // things configured before the parameter was introduced have no value
+    private BigDecimal maxReadsPerSecond = BigDecimal.valueOf(20);
     private BigDecimal responseTimeout;
 
     public BigDecimal getAutoReconnectPeriod() {
@@ -37,6 +39,10 @@ public class BridgeConfiguration {
         return readRetriesLimit;
     }
 
+    public BigDecimal getMaxReadsPerSecond() {
+        return maxReadsPerSecond;
+    }
+
     public BigDecimal getResponseTimeout() {
         return responseTimeout;
     }
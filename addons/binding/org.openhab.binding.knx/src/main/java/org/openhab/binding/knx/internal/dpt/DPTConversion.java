@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.types.Type;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPT;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+
+/**
+ * Everything needed to convert values of one datapoint type, resolved once per datapoint type id.
+ *
+ * The translator is stateful: it must only be used while holding the lock of this object.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+class DPTConversion {
+
+    private final String dptId;
+    private final int mainNumber;
+    private final int subNumber;
+    private final @Nullable Class<? extends Type> typeClass;
+    private final @Nullable DPTXlator translator;
+    private final @Nullable KNXException translatorError;
+
+    DPTConversion(String dptId, int mainNumber, int subNumber, @Nullable Class<? extends Type> typeClass,
+            @Nullable DPTXlator translator, @Nullable KNXException translatorError) {
+        this.dptId = dptId;
+        this.mainNumber = mainNumber;
+        this.subNumber = subNumber;
+        this.typeClass = typeClass;
+        this.translator = translator;
+        this.translatorError = translatorError;
+    }
+
+    /**
+     * @return the datapoint type id, e.g. "9.001"
+     */
+    String getDptId() {
+        return dptId;
+    }
+
+    /**
+     * @return main number of the datapoint type, or -1 if the id is invalid
+     */
+    int getMainNumber() {
+        return mainNumber;
+    }
+
+    /**
+     * @return sub number of the datapoint type, or -1 if the id is invalid
+     */
+    int getSubNumber() {
+        return subNumber;
+    }
+
+    /**
+     * @return the openHAB type class, or {@code null} if the datapoint type is not supported
+     */
+    @Nullable
+    Class<? extends Type> getTypeClass() {
+        return typeClass;
+    }
+
+    /**
+     * @return the translator, or {@code null} if it could not be created
+     */
+    @Nullable
+    DPTXlator getTranslator() {
+        return translator;
+    }
+
+    /**
+     * @return the datapoint type of the translator, or {@code null} if the translator could not be created
+     */
+    @Nullable
+    DPT getDPT() {
+        DPTXlator translator = this.translator;
+        return translator != null ? translator.getType() : null;
+    }
+
+    /**
+     * @return the reason the translator could not be created
+     */
+    @Nullable
+    KNXException getTranslatorError() {
+        return translatorError;
+    }
+
+}
@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -103,6 +104,12 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     /** stores the default KNX DPT to use for each openHAB type */
     private final Map<Class<? extends Type>, String> defaultDptMap;
 
+    /**
+     * caches the conversion of each KNX datapoint type id used so far. The type mappings are the same for all mappers,
+     * so the cache is shared by all of them, e.g. the mappers of the device things.
+     */
+    private static final Map<String, DPTConversion> CONVERSIONS = new ConcurrentHashMap<>();
+
     public KNXCoreTypeMapper() {
 
         @SuppressWarnings("unused")
@@ -539,17 +546,15 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
     @Override
     public String toDPTValue(Type type, String dptID) {
 
-        DPT dpt;
-        int mainNumber = getMainNumber(dptID);
+        DPTConversion conversion = getConversion(dptID);
+        int mainNumber = conversion.getMainNumber();
         if (mainNumber == -1) {
             logger.error("toDPTValue couldn't identify mainnumber in dptID: {}", dptID);
             return null;
         }
 
-        try {
-            DPTXlator translator = TranslatorTypes.createTranslator(mainNumber, dptID);
-            dpt = translator.getType();
-        } catch (KNXException e) {
+        DPT dpt = conversion.getDPT();
+        if (dpt == null) {
             return null;
         }
 
@@ -615,24 +620,57 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
 
     @Override
     public Type toType(Datapoint datapoint, byte[] data) {
+        return toType(datapoint.getDPT(), data);
+    }
+
+    @Override
+    public Type toType(String dptId, byte[] data) {
+        DPTConversion conversion = getConversion(dptId);
+        DPTXlator translator = conversion.getTranslator();
+        if (translator == null) {
+            logger.warn("Failed creating a translator for datapoint type '{}'.", dptId,
+                    conversion.getTranslatorError());
+            return null;
+        }
+        // the translator holds the data being converted
+        synchronized (conversion) {
+            return toType(conversion, translator, data);
+        }
+    }
+
+    /**
+     * Converts the data like {@link #toType(String, byte[])}, without the cache: the datapoint type id is parsed, the
+     * type class resolved and a translator created for each call, as done before the conversions were cached. Used by
+     * the benchmarks to measure the gain of the cache.
+     */
+    Type toTypeUncached(String dptId, byte[] data) {
+        DPTConversion conversion = createConversion(dptId);
+        DPTXlator translator = conversion.getTranslator();
+        if (conversion.getTypeClass() == null || translator == null) {
+            return null;
+        }
+        return toType(conversion, translator, data);
+    }
+
+    private Type toType(DPTConversion conversion, DPTXlator translator, byte[] data) {
+        String dptId = conversion.getDptId();
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(datapoint.getMainNumber(), datapoint.getDPT());
             translator.setData(data);
-            String value = translator.getValue();
 
-            String id = translator.getType().getID();
-            logger.trace("toType datapoint DPT = {}", datapoint.getDPT());
+            logger.trace("toType datapoint DPT = {}", dptId);
 
-            int mainNumber = getMainNumber(id);
+            int mainNumber = conversion.getMainNumber();
             if (mainNumber == -1) {
-                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", id);
+                logger.debug("toType: couldn't identify mainnumber in dptID: {}.", dptId);
                 return null;
             }
-            int subNumber = getSubNumber(id);
+            int subNumber = conversion.getSubNumber();
             if (subNumber == -1) {
-                logger.debug("toType: couldn't identify sub number in dptID: {}.", id);
+                logger.debug("toType: couldn't identify sub number in dptID: {}.", dptId);
                 return null;
             }
+            // the string value is needed only by some of the types
+            String value = null;
             /*
              * Following code section deals with specific mapping of values from KNX to openHAB types were the String
              * received from the DPTXlator is not sufficient to set the openHAB type or has bugs
@@ -697,7 +735,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                 case 18:
                     DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
                     int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
+                    if (translator.getValue().startsWith("learn")) {
                         decimalValue += 0x80;
                     }
                     value = String.valueOf(decimalValue);
@@ -755,7 +793,7 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
                     break;
             }
 
-            Class<? extends Type> typeClass = toTypeClass(id);
+            Class<? extends Type> typeClass = conversion.getTypeClass();
             if (typeClass == null) {
                 return null;
             }
@@ -766,12 +804,15 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             if (typeClass.equals(DecimalType.class)) {
                 return new DecimalType(translator.getNumericValue());
             }
+            if (value == null) {
+                value = translator.getValue();
+            }
             if (typeClass.equals(StringType.class)) {
                 return StringType.valueOf(value);
             }
 
             if (typeClass.equals(DateTimeType.class)) {
-                String date = formatDateTime(value, datapoint.getDPT());
+                String date = formatDateTime(value, dptId);
                 if ((date == null) || (date.isEmpty())) {
                     logger.debug("toType: KNX clock msg ignored: date object null or empty {}.", date);
                     return null;
@@ -781,27 +822,41 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
             }
 
             if (typeClass.equals(HSBType.class)) {
-                // value has format of "r:<red value> g:<green value> b:<blue value>"
-                int r = Integer.parseInt(value.split(" ")[0].split(":")[1]);
-                int g = Integer.parseInt(value.split(" ")[1].split(":")[1]);
-                int b = Integer.parseInt(value.split(" ")[2].split(":")[1]);
-
-                return HSBType.fromRGB(r, g, b);
+                // the data holds the red, green and blue values, one byte each
+                byte[] rgb = translator.getData();
+                return HSBType.fromRGB(rgb[0] & 0xFF, rgb[1] & 0xFF, rgb[2] & 0xFF);
             }
 
         } catch (KNXFormatException kfe) {
-            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).",
-                    datapoint.getDPT());
+            logger.info("Translator couldn't parse data for datapoint type '{}' (KNXFormatException).", dptId);
         } catch (KNXIllegalArgumentException kiae) {
             logger.info("Translator couldn't parse data for datapoint type '{}' (KNXIllegalArgumentException).",
-                    datapoint.getDPT());
-        } catch (KNXException e) {
-            logger.warn("Failed creating a translator for datapoint type '{}'.", datapoint.getDPT(), e);
+                    dptId);
         }
 
         return null;
     }
 
+    private DPTConversion getConversion(String dptId) {
+        if (dptId == null) {
+            throw new IllegalArgumentException("Parameter dptID cannot be null");
+        }
+        return CONVERSIONS.computeIfAbsent(dptId, this::createConversion);
+    }
+
+    private DPTConversion createConversion(String dptId) {
+        int mainNumber = getMainNumber(dptId);
+        DPTXlator translator = null;
+        KNXException translatorError = null;
+        try {
+            translator = TranslatorTypes.createTranslator(mainNumber == -1 ? 0 : mainNumber, dptId);
+        } catch (KNXException e) {
+            translatorError = e;
+        }
+        return new DPTConversion(dptId, mainNumber, getSubNumber(dptId), resolveTypeClass(dptId), translator,
+                translatorError);
+    }
+
     /**
      * Converts a datapoint type id into an openHAB type class
      *
@@ -810,6 +865,10 @@ public class KNXCoreTypeMapper implements KNXTypeMapper {
      */
     @Override
     public Class<? extends Type> toTypeClass(String dptId) {
+        return getConversion(dptId).getTypeClass();
+    }
+
+    private Class<? extends Type> resolveTypeClass(String dptId) {
         Class<? extends Type> ohClass = dptTypeMap.get(dptId);
         if (ohClass == null) {
             int mainNumber = getMainNumber(dptId);
@@ -11,6 +11,8 @@ package org.openhab.binding.knx.internal.handler;
 import static org.openhab.binding.knx.KNXBindingConstants.*;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -65,8 +67,8 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
     private final Logger logger = LoggerFactory.getLogger(DeviceThingHandler.class);
 
     private final KNXTypeMapper typeHelper = new KNXCoreTypeMapper();
-    private final Set<GroupAddress> groupAddresses = new HashSet<>();
-    private final Map<GroupAddress, @Nullable ScheduledFuture<?>> readFutures = new HashMap<>();
+    private volatile Set<GroupAddress> groupAddresses = Collections.emptySet();
+    private volatile Map<GroupAddress, List<ListenChannel>> listenChannels = Collections.emptyMap();
     private final Map<ChannelUID, @Nullable ScheduledFuture<?>> channelFutures = new HashMap<>();
     private @Nullable IndividualAddress address;
     private int readInterval;
@@ -75,30 +77,64 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         super(thing);
     }
 
+    /**
+     * Channel listening to a group address, together with the specification how to interpret the received data
+     */
+    private static class ListenChannel {
+        private final ChannelUID channelUID;
+        private final InboundSpec listenSpec;
+
+        private ListenChannel(ChannelUID channelUID, InboundSpec listenSpec) {
+            this.channelUID = channelUID;
+            this.listenSpec = listenSpec;
+        }
+    }
+
     @Override
     public void initialize() {
-        super.initialize();
         DeviceConfig config = getConfigAs(DeviceConfig.class);
         readInterval = config.getReadInterval().intValue();
+        // group addresses need to be known before registering to the client
         initializeGroupAddresses();
+        super.initialize();
     }
 
+    /**
+     * Index the group addresses of all channels, so that the channels interested in a telegram can be looked up
+     * without parsing the channel configurations again.
+     */
     private void initializeGroupAddresses() {
-        forAllChannels((selector, channelConfiguration) -> {
-            groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
-            groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
-            groupAddresses.addAll(selector.getListenAddresses(channelConfiguration));
-        });
+        Set<GroupAddress> groupAddresses = new HashSet<>();
+        Map<GroupAddress, List<ListenChannel>> listenChannels = new HashMap<>();
+        for (Channel channel : getThing().getChannels()) {
+            withKNXType(channel, (selector, channelConfiguration) -> {
+                groupAddresses.addAll(selector.getReadAddresses(channelConfiguration));
+                groupAddresses.addAll(selector.getWriteAddresses(channelConfiguration));
+                groupAddresses.addAll(selector.getListenAddresses(channelConfiguration));
+                try {
+                    indexListenSpecs(channel, selector.getListenSpecs(channelConfiguration), listenChannels);
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Channel {} has invalid group address configuration: {}", channel.getUID(),
+                            e.getMessage());
+                }
+            });
+        }
+        this.groupAddresses = groupAddresses;
+        this.listenChannels = listenChannels;
     }
 
-    @Override
-    protected void cancelReadFutures() {
-        for (ScheduledFuture<?> future : readFutures.values()) {
-            if (future != null && !future.isDone()) {
-                future.cancel(true);
+    private void indexListenSpecs(Channel channel, List<InboundSpec> listenSpecs,
+            Map<GroupAddress, List<ListenChannel>> listenChannels) {
+        Set<GroupAddress> channelAddresses = new HashSet<>();
+        for (InboundSpec listenSpec : listenSpecs) {
+            for (GroupAddress groupAddress : listenSpec.getGroupAddresses()) {
+                // the first specification listening to the group address is used for the channel
+                if (channelAddresses.add(groupAddress)) {
+                    listenChannels.computeIfAbsent(groupAddress, ga -> new ArrayList<>())
+                            .add(new ListenChannel(channel.getUID(), listenSpec));
+                }
             }
         }
-        readFutures.clear();
     }
 
     @FunctionalInterface
@@ -124,63 +160,54 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         }
     }
 
-    private void forAllChannels(ChannelFunction function) {
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, function);
-        }
-    }
-
     @Override
     public void channelLinked(ChannelUID channelUID) {
         if (!isControl(channelUID)) {
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, readInterval);
             });
         }
     }
 
     @Override
     protected void scheduleReadJobs() {
-        cancelReadFutures();
+        getClient().cancelScheduledReads(this);
         for (Channel channel : getThing().getChannels()) {
             if (isLinked(channel.getUID().getId()) && !isControl(channel.getUID())) {
                 withKNXType(channel, (selector, configuration) -> {
-                    scheduleRead(selector, configuration);
+                    scheduleRead(selector, configuration, readInterval);
                 });
             }
         }
     }
 
-    private void scheduleRead(KNXChannelType selector, Configuration configuration) throws KNXFormatException {
+    /**
+     * Let the client read the group addresses of the channel, regularly if an interval is given, or once otherwise.
+     *
+     * The reads are scheduled by the client, which reads each group address only once for all things.
+     */
+    private void scheduleRead(KNXChannelType selector, Configuration configuration, int interval)
+            throws KNXFormatException {
         List<InboundSpec> readSpecs = selector.getReadSpec(configuration);
         for (InboundSpec readSpec : readSpecs) {
             for (GroupAddress groupAddress : readSpec.getGroupAddresses()) {
-                scheduleReadJob(groupAddress, readSpec.getDPT());
+                readDatapoint(groupAddress, readSpec.getDPT(), interval);
             }
         }
     }
 
-    private void scheduleReadJob(GroupAddress groupAddress, String dpt) {
-        if (readInterval > 0) {
-            ScheduledFuture<?> future = readFutures.get(groupAddress);
-            if (future == null || future.isDone() || future.isCancelled()) {
-                future = getScheduler().scheduleWithFixedDelay(() -> readDatapoint(groupAddress, dpt), 0, readInterval,
-                        TimeUnit.SECONDS);
-                readFutures.put(groupAddress, future);
-            }
-        } else {
-            getScheduler().submit(() -> readDatapoint(groupAddress, dpt));
-        }
-    }
-
-    private void readDatapoint(GroupAddress groupAddress, String dpt) {
+    private void readDatapoint(GroupAddress groupAddress, String dpt, int interval) {
         if (getClient().isConnected()) {
             if (!isDPTSupported(dpt)) {
                 logger.warn("DPT '{}' is not supported by the KNX binding", dpt);
                 return;
             }
             Datapoint datapoint = new CommandDP(groupAddress, getThing().getUID().toString(), 0, dpt);
-            getClient().readDatapoint(datapoint);
+            if (interval > 0) {
+                getClient().scheduleRead(this, datapoint, interval);
+            } else {
+                getClient().readDatapoint(datapoint);
+            }
         }
     }
 
@@ -195,7 +222,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         if (command instanceof RefreshType && !isControl(channelUID)) {
             logger.debug("Refreshing channel '{}'", channelUID);
             withKNXType(channelUID, (selector, configuration) -> {
-                scheduleRead(selector, configuration);
+                scheduleRead(selector, configuration, 0);
             });
         } else {
             switch (channelUID.getId()) {
@@ -265,15 +292,14 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         logger.debug("Thing '{}' received a Group Write telegram from '{}' for destination '{}'", getThing().getUID(),
                 source, destination);
 
-        for (Channel channel : getThing().getChannels()) {
-            withKNXType(channel, (selector, configuration) -> {
-                InboundSpec listenSpec = selector.getListenSpec(configuration, destination);
-                if (listenSpec != null) {
-                    logger.trace("Thing '{}' processes a Group Write telegram for destination '{}' for channel '{}'",
-                            getThing().getUID(), destination, channel.getUID());
-                    processDataReceived(destination, asdu, listenSpec, channel.getUID());
-                }
-            });
+        List<ListenChannel> channels = listenChannels.get(destination);
+        if (channels == null) {
+            return;
+        }
+        for (ListenChannel listenChannel : channels) {
+            logger.trace("Thing '{}' processes a Group Write telegram for destination '{}' for channel '{}'",
+                    getThing().getUID(), destination, listenChannel.channelUID);
+            processDataReceived(destination, asdu, listenChannel.listenSpec, listenChannel.channelUID);
         }
     }
 
@@ -284,8 +310,7 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
             return;
         }
 
-        Datapoint datapoint = new CommandDP(destination, getThing().getUID().toString(), 0, listenSpec.getDPT());
-        Type type = typeHelper.toType(datapoint, asdu);
+        Type type = typeHelper.toType(listenSpec.getDPT(), asdu);
 
         if (type != null) {
             if (isControl(channelUID)) {
@@ -323,8 +348,8 @@ public class DeviceThingHandler extends AbstractKNXThingHandler {
         } else {
             String s = asduToHex(asdu);
             logger.warn(
-                    "Ignoring KNX bus data: couldn't transform to any Type (destination='{}', datapoint='{}', data='{}')",
-                    destination, datapoint, s);
+                    "Ignoring KNX bus data: couldn't transform to any Type (destination='{}', dpt='{}', data='{}')",
+                    destination, listenSpec.getDPT(), s);
         }
     }
 
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.logreader.internal.searchengine.SearchEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark replaying a log file through the search engines of a log reader thing, as done by the file tailer for
+ * each new line.
+ *
+ * Each operation searches all lines of the log with the error, warning and custom engines. The log is either the
+ * file given by the <code>logFile</code> parameter, or a generated openhab.log-like file. <code>legacy</code> is the
+ * previous implementation, which ran every pattern on each line.
+ *
+ * @author agent - Initial contribution
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SearchEngineBenchmark {
+
+    private static final int GENERATED_LINES = 100000;
+
+    /** A dozen error patterns, as used to watch openhab.log */
+    private static final String ERROR_PATTERNS = "ERROR+|Exception|\\[ERROR\\]|Could not|timed out|Timeout"
+            + "|Connection refused|Unable to|failed|OutOfMemoryError|NullPointerException|[a-z.]+Exception: .*";
+    private static final String ERROR_BLACKLISTING_PATTERNS = "Known issue|org.example.ignored";
+    private static final String WARNING_PATTERNS = "WARN+|deprecated|retrying|Retry|slow|not responding";
+    private static final String WARNING_BLACKLISTING_PATTERNS = "";
+    private static final String CUSTOM_PATTERNS = "Item '.*' received command ON|changed from OFF to ON";
+    private static final String CUSTOM_BLACKLISTING_PATTERNS = "Test_";
+
+    /** Log file to replay, a log is generated if empty */
+    @Param({ "" })
+    public String logFile;
+
+    private List<String> lines;
+    private SearchEngine[] engines;
+    private LegacySearchEngine[] legacyEngines;
+
+    @Setup
+    public void setUp() throws IOException {
+        lines = logFile.isEmpty() ? generateLog()
+                : Files.readAllLines(Paths.get(logFile), StandardCharsets.UTF_8);
+
+        engines = new SearchEngine[] { new SearchEngine(ERROR_PATTERNS, ERROR_BLACKLISTING_PATTERNS),
+                new SearchEngine(WARNING_PATTERNS, WARNING_BLACKLISTING_PATTERNS),
+                new SearchEngine(CUSTOM_PATTERNS, CUSTOM_BLACKLISTING_PATTERNS) };
+        legacyEngines = new LegacySearchEngine[] {
+                new LegacySearchEngine(ERROR_PATTERNS, ERROR_BLACKLISTING_PATTERNS),
+                new LegacySearchEngine(WARNING_PATTERNS, WARNING_BLACKLISTING_PATTERNS),
+                new LegacySearchEngine(CUSTOM_PATTERNS, CUSTOM_BLACKLISTING_PATTERNS) };
+    }
+
+    @Benchmark
+    public long legacy() {
+        long matches = 0;
+        for (String line : lines) {
+            for (LegacySearchEngine engine : legacyEngines) {
+                if (engine.isMatching(line)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public long current() {
+        long matches = 0;
+        for (String line : lines) {
+            for (SearchEngine engine : engines) {
+                if (engine.isMatching(line)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Generates a log with mostly informational lines and some warnings and errors, in the format of openhab.log.
+     */
+    private static List<String> generateLog() {
+        String[] messages = { "Item 'Light_%d' received command ON", "Light_%d changed from OFF to ON",
+                "Light_%d changed from ON to OFF", "Temperature_%d changed from 21.5 to 21.6",
+                "Thing 'zwave:device:controller:node%d' changed from ONLINE to OFFLINE",
+                "Refreshing state of channel %d", "Added new thing 'network:pingdevice:%d' to inbox." };
+        String[] warnings = { "Device %d not responding, retrying", "Polling took too long, slow device %d" };
+        String[] errors = { "Could not connect to host 192.168.0.%d", "java.io.IOException: Connection refused (%d)",
+                "Request %d timed out" };
+        String[] loggers = { "smarthome.event.ItemCommandEvent", "smarthome.event.ItemStateChangedEvent",
+                "org.openhab.binding.zwave.handler.ZWaveThingHandler", "org.openhab.binding.network.internal" };
+
+        Random random = new Random(1);
+        List<String> log = new ArrayList<>(GENERATED_LINES);
+        for (int i = 0; i < GENERATED_LINES; i++) {
+            int kind = random.nextInt(100);
+            String level;
+            String message;
+            if (kind < 2) {
+                level = "ERROR";
+                message = errors[random.nextInt(errors.length)];
+            } else if (kind < 7) {
+                level = "WARN ";
+                message = warnings[random.nextInt(warnings.length)];
+            } else {
+                level = "INFO ";
+                message = messages[random.nextInt(messages.length)];
+            }
+            log.add(String.format("2018-06-%02d %02d:%02d:%02d.%03d [%s] [%-40s] - %s", 1 + i / 86400 % 28,
+                    i / 3600 % 24, i / 60 % 60, i % 60, random.nextInt(1000), level,
+                    loggers[random.nextInt(loggers.length)], String.format(message, random.nextInt(256))));
+        }
+        return log;
+    }
+}
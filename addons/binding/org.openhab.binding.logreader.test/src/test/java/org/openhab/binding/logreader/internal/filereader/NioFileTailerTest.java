@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Test class for {@link NioFileTailer}. The file is checked by the test, instead of the {@link WatchServiceReader}.
+ *
+ * @author agent - Initial contribution
+ */
+public class NioFileTailerTest {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String ROTATED = "rotated";
+    private static final String FILE_NOT_FOUND = "fileNotFound";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] chunk = new byte[BUFFER_SIZE];
+    private final LinkedBlockingQueue<Object> events = new LinkedBlockingQueue<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final NioFileTailer tailer = new NioFileTailer();
+    private Path file;
+
+    @Before
+    public void setUp() {
+        file = folder.getRoot().toPath().resolve("test.log");
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+                events.add(FILE_NOT_FOUND);
+            }
+
+            @Override
+            public void fileRotated() {
+                events.add(ROTATED);
+            }
+
+            @Override
+            public void handle(String line) {
+                events.add(Collections.singletonList(line));
+            }
+
+            @Override
+            public void handle(List<String> lines) {
+                events.add(new ArrayList<>(lines));
+            }
+
+            @Override
+            public void handle(Exception ex) {
+                events.add(ex);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        tailer.stop();
+        scheduler.shutdownNow();
+    }
+
+    private void start() throws Exception {
+        tailer.start(file.toString(), 1000, scheduler);
+        // The file is checked by the test only
+        WatchServiceReader.unregister(tailer);
+    }
+
+    private void append(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Checks the file and returns the events passed to the listener since the last call
+     */
+    private List<Object> check() throws Exception {
+        tailer.check(buffer, chunk);
+        return takeEvents();
+    }
+
+    private List<Object> takeEvents() throws Exception {
+        // The events are passed on by the scheduler, in order
+        scheduler.submit(() -> {
+        }).get(5, TimeUnit.SECONDS);
+        List<Object> result = new ArrayList<>();
+        events.drainTo(result);
+        return result;
+    }
+
+    @Test
+    public void testAppendedLinesInOneBatch() throws Exception {
+        append("existing line\n");
+        start();
+
+        append("line 1\nline 2\r\nline 3\n");
+        assertEquals(Arrays.asList(Arrays.asList("line 1", "line 2", "line 3")), check());
+        assertEquals(Collections.emptyList(), check());
+    }
+
+    @Test
+    public void testPartialLine() throws Exception {
+        append("");
+        start();
+
+        append("line 1\nline");
+        assertEquals(Arrays.asList(Arrays.asList("line 1")), check());
+        append(" 2\n");
+        assertEquals(Arrays.asList(Arrays.asList("line 2")), check());
+    }
+
+    @Test
+    public void testLineAcrossChunks() throws Exception {
+        append("");
+        start();
+
+        // The two bytes of 'ä' are split by the end of the first chunk
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < BUFFER_SIZE - 1; i++) {
+            longLine.append('x');
+        }
+        longLine.append("äöü");
+        append(longLine + "\nline 2\n");
+
+        assertEquals(Arrays.asList(Arrays.asList(longLine.toString(), "line 2")), check());
+    }
+
+    @Test
+    public void testRotationByRename() throws Exception {
+        append("existing line\n");
+        start();
+
+        append("old 1\n");
+        assertEquals(Arrays.asList(Arrays.asList("old 1")), check());
+
+        // Written before the rotation, but not read yet
+        append("old 2\nold 3");
+        Files.move(file, folder.getRoot().toPath().resolve("test.log.1"));
+        append("new 1\n");
+
+        assertEquals(Arrays.asList(Arrays.asList("old 2"), Arrays.asList("old 3"), ROTATED, Arrays.asList("new 1")),
+                check());
+    }
+
+    @Test
+    public void testRotationByRenameBeforeNewFile() throws Exception {
+        append("");
+        start();
+        append("old 1\n");
+        assertEquals(Arrays.asList(Arrays.asList("old 1")), check());
+
+        append("old 2\n");
+        Files.move(file, folder.getRoot().toPath().resolve("test.log.1"));
+        assertEquals(Arrays.asList(Arrays.asList("old 2"), FILE_NOT_FOUND), check());
+
+        append("new 1\n");
+        assertEquals(Arrays.asList(ROTATED, Arrays.asList("new 1")), check());
+    }
+
+    @Test
+    public void testRotationByCopyTruncate() throws Exception {
+        append("");
+        start();
+        append("old 1\nold 2\n");
+        assertEquals(Arrays.asList(Arrays.asList("old 1", "old 2")), check());
+
+        Files.copy(file, folder.getRoot().toPath().resolve("test.log.1"));
+        Files.write(file, "new 1\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.TRUNCATE_EXISTING);
+
+        assertEquals(Arrays.asList(ROTATED, Arrays.asList("new 1")), check());
+    }
+
+    @Test
+    public void testFileCreatedAfterStart() throws Exception {
+        start();
+        assertEquals(Arrays.asList(FILE_NOT_FOUND), takeEvents());
+        assertEquals(Collections.emptyList(), check());
+
+        append("line 1\nline 2\n");
+        assertEquals(Arrays.asList(Arrays.asList("line 1", "line 2")), check());
+    }
+
+    @Test
+    public void testSlowListener() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        tailer.registerListener(new FileReaderListener() {
+            @Override
+            public void fileNotFound() {
+            }
+
+            @Override
+            public void fileRotated() {
+            }
+
+            @Override
+            public void handle(String line) {
+            }
+
+            @Override
+            public void handle(List<String> lines) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            @Override
+            public void handle(Exception ex) {
+            }
+        });
+        append("");
+        start();
+
+        StringBuilder content = new StringBuilder();
+        int lineCount = (int) (3 * NioFileTailer.MAX_PENDING_BYTES / 10);
+        for (int i = 0; i < lineCount; i++) {
+            content.append("line ").append(i).append('\n');
+        }
+        append(content.toString());
+
+        // Reading stops while the listener is blocked
+        tailer.check(buffer, chunk);
+        assertTrue(tailer.isBehind());
+        release.countDown();
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 100 && lines.size() < lineCount; i++) {
+            for (Object event : check()) {
+                @SuppressWarnings("unchecked")
+                List<String> batch = (List<String>) event;
+                lines.addAll(batch);
+            }
+        }
+        assertEquals(lineCount, lines.size());
+        for (int i = 0; i < lineCount; i++) {
+            assertEquals("line " + i, lines.get(i));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+import org.openhab.binding.logreader.internal.searchengine.MultiPatternMatcher.RequiredLiteral;
+
+/**
+ * Test class for {@link MultiPatternMatcher}. The results are compared with the ones of {@link Pattern#matcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcherTest {
+
+    private static final List<String> LITERALS = Arrays.asList("ERROR", "foo.bar", "Grüße");
+    private static final List<String> ALTERNATIONS = Arrays.asList("foo|bar", "x(a|b)y", "WARN|[0-9]+ms", "abc|",
+            "a|b(c|d)|e[|]f");
+    private static final List<String> CLASSES = Arrays.asList("[a-z.]+Exception: .*", "[]a]b", "[^x]yz", "\\d+ms",
+            "[(]ab[)]");
+    private static final List<String> ESCAPES = Arrays.asList("\\[WARN\\]", "\\bWARN\\b", "\\x41BC", "\\u00e4x",
+            "\\\\path", "\\tX", "a\\.b", "(a)\\1b", "\\0101b");
+    private static final List<String> QUANTIFIERS = Arrays.asList("ab{0}c", "ab?c", "ab*c", "ab+c", "ab{2}c",
+            "ab{0,3}c", "(ab)?cd", "a??b", "xa+?y", "[0-9]{0}ms");
+    private static final List<String> FLAGS = Arrays.asList("(?i)error", "(?i:warn)ing", "\\Qa.b\\E", "(?i)grüße");
+
+    private static final List<String> DATA = Arrays.asList("", "ERROR in module", "error", "Error: x", "foo.bar",
+            "fooxbar", "foo", "bar", "xay", "xcy", "xy", "a", "ac", "abc", "abbc", "abbbc", "abbbbc", "cd", "abcd",
+            "a.b", "axb", "java.lang.IllegalStateException: x", "Exception", "[WARN] y", "aWARN", "WARN b", "warning",
+            "WARNING", "ABC", "äx", "\\path", "\tX", "12ms", "ms", "]b", "ab", "b", "aab", "aab ", "Grüße", "GRÜSSE",
+            "yz", "xyz", "ayz", "(ab)", "ab)", "e|f", "ef", "bd", "xaay", "Ab", "Ab2");
+
+    private void assertSameAsPatterns(List<String> patterns) {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(patterns);
+        for (String data : DATA) {
+            boolean expected = patterns.stream().anyMatch(pattern -> Pattern.compile(pattern).matcher(data).find());
+            assertEquals("Patterns " + patterns + " with data '" + data + "'", expected, matcher.find(data));
+        }
+    }
+
+    private void assertEachSameAsPattern(List<String> patterns) {
+        for (String pattern : patterns) {
+            assertSameAsPatterns(Collections.singletonList(pattern));
+        }
+        assertSameAsPatterns(patterns);
+    }
+
+    @Test
+    public void testLiterals() {
+        assertEachSameAsPattern(LITERALS);
+    }
+
+    @Test
+    public void testAlternations() {
+        assertEachSameAsPattern(ALTERNATIONS);
+    }
+
+    @Test
+    public void testCharacterClasses() {
+        assertEachSameAsPattern(CLASSES);
+    }
+
+    @Test
+    public void testEscapes() {
+        assertEachSameAsPattern(ESCAPES);
+    }
+
+    @Test
+    public void testQuantifiers() {
+        assertEachSameAsPattern(QUANTIFIERS);
+    }
+
+    @Test
+    public void testFlags() {
+        assertEachSameAsPattern(FLAGS);
+    }
+
+    @Test
+    public void testAllPatterns() {
+        assertSameAsPatterns(Arrays.asList("ab{0}c", "foo|bar", "[a-z.]+Exception: .*", "(?i)error", "\\[WARN\\]"));
+    }
+
+    @Test
+    public void testNoPatterns() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher(Collections.emptyList());
+
+        assertTrue(matcher.isEmpty());
+        assertFalse(matcher.find("ERROR"));
+    }
+
+    @Test
+    public void testRequiredLiterals() {
+        assertEquals("[Exception: ]", String.valueOf(RequiredLiteral.of("[a-z.]+Exception: .*")));
+        assertEquals("[foo (exact), bar (exact)]", String.valueOf(RequiredLiteral.of("foo|bar")));
+        assertEquals("[xy]", String.valueOf(RequiredLiteral.of("x(a|b)?xy")));
+        assertEquals("[a]", String.valueOf(RequiredLiteral.of("ab{0}c")));
+        assertNull("Alternative without literal", RequiredLiteral.of("foo|[0-9]+"));
+        assertNull("Inline flags", RequiredLiteral.of("(?i)error"));
+    }
+}
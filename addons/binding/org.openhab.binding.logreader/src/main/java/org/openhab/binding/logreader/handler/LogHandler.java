@@ -11,6 +11,8 @@ package org.openhab.binding.logreader.handler;
 import static org.openhab.binding.logreader.LogReaderBindingConstants.*;
 
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
 import java.util.regex.PatternSyntaxException;
 
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -167,25 +169,48 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
         if (line == null) {
             return;
         }
+        handle(Collections.singletonList(line));
+    }
 
+    @Override
+    public void handle(List<String> lines) {
         if (!(thing.getStatus() == ThingStatus.ONLINE)) {
             updateStatus(ThingStatus.ONLINE);
         }
 
-        if (errorEngine.isMatching(line)) {
+        // Events are triggered for every matching line, the states are updated once for the whole batch
+        String lastError = null;
+        String lastWarning = null;
+        String lastCustomEvent = null;
+        for (String line : lines) {
+            if (line == null) {
+                continue;
+            }
+            if (errorEngine.isMatching(line)) {
+                lastError = line;
+                triggerChannel(CHANNEL_NEWERROR, line);
+            }
+            if (warningEngine.isMatching(line)) {
+                lastWarning = line;
+                triggerChannel(CHANNEL_NEWWARNING, line);
+            }
+            if (customEngine.isMatching(line)) {
+                lastCustomEvent = line;
+                triggerChannel(CHANNEL_NEWCUSTOM, line);
+            }
+        }
+
+        if (lastError != null) {
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(lastError));
         }
-        if (warningEngine.isMatching(line)) {
+        if (lastWarning != null) {
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(lastWarning));
         }
-        if (customEngine.isMatching(line)) {
+        if (lastCustomEvent != null) {
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(lastCustomEvent));
         }
     }
 
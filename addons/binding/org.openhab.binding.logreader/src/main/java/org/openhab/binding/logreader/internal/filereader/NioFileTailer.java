@@ -0,0 +1,334 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
+import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * NIO based log file reader implementation.
+ *
+ * The file is not polled by a thread of its own, it is read by the {@link WatchServiceReader} shared by all tailers
+ * whenever the file system reports a change of the file. New data is read in large chunks and the lines of each chunk
+ * are passed to the listeners as one batch. Like the Apache Tailer, reading starts at the end of the file.
+ *
+ * A rotated log is recognized by a new file key (inode) or by the file getting shorter than what has been read
+ * already. If the log has been renamed, the remaining lines of the old file are read before continuing with the new
+ * file from its start. On file systems not providing file keys, only truncation is recognized.
+ *
+ * While more than {@link #MAX_PENDING_BYTES} of read lines wait to be passed to the listeners, the file is not read
+ * any further. It is checked again after the refresh rate, so a slow listener does not fill up the memory.
+ *
+ * @author agent - Initial contribution
+ */
+public class NioFileTailer extends AbstractLogFileReader implements LogFileReader {
+    static final long MAX_PENDING_BYTES = 1024 * 1024;
+
+    private final Logger logger = LoggerFactory.getLogger(NioFileTailer.class);
+
+    private @Nullable Path file;
+    private long refreshRate;
+    private @Nullable ScheduledExecutorService scheduler;
+    private volatile boolean stopped;
+
+    // Events are passed to the listeners in order, one at a time, by the scheduler
+    private final Queue<Runnable> events = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean delivering = new AtomicBoolean();
+    private final AtomicLong pendingBytes = new AtomicLong();
+
+    // Read state, only accessed by the watch service reader thread
+    private @Nullable FileChannel channel;
+    private @Nullable Object fileKey;
+    private long position = -1;
+    private boolean fileNotFound;
+    private byte[] partialLine = new byte[256];
+    private int partialLineLength;
+    private long lastCheck;
+
+    @Override
+    public void start(String filePath, long refreshRate, ScheduledExecutorService scheduler)
+            throws FileReaderException {
+        try {
+            this.file = Paths.get(filePath).toAbsolutePath();
+            this.refreshRate = Math.max(refreshRate, 1);
+            this.scheduler = scheduler;
+            this.stopped = false;
+
+            logger.debug("Start watching {}", file);
+            skipToEnd();
+            WatchServiceReader.register(this);
+        } catch (Exception e) {
+            throw new FileReaderException(e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        logger.debug("Shutdown");
+
+        stopped = true;
+        WatchServiceReader.unregister(this);
+        clearEvents();
+    }
+
+    Path getFile() {
+        return Objects.requireNonNull(file);
+    }
+
+    long getRefreshRate() {
+        return refreshRate;
+    }
+
+    long getLastCheck() {
+        return lastCheck;
+    }
+
+    /**
+     * Returns whether the file is not read any further until the listeners have caught up.
+     */
+    boolean isBehind() {
+        return pendingBytes.get() >= MAX_PENDING_BYTES;
+    }
+
+    /**
+     * Skips the current content of the file, the lines added from now on are read by the first check.
+     */
+    private synchronized void skipToEnd() throws IOException {
+        closeChannel();
+        position = -1;
+        fileKey = null;
+        fileNotFound = false;
+        partialLineLength = 0;
+        lastCheck = 0;
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(getFile(), BasicFileAttributes.class);
+            position = attributes.size();
+            fileKey = attributes.fileKey();
+        } catch (NoSuchFileException e) {
+            fileNotFound = true;
+            post(this::sendFileNotFoundToListeners);
+        }
+    }
+
+    /**
+     * Reads the lines added to the file since the last check, and checks if the file has been rotated.
+     *
+     * @param buffer buffer to read the file with
+     * @param chunk array to copy the read data to, of the capacity of the buffer
+     */
+    synchronized void check(ByteBuffer buffer, byte[] chunk) {
+        if (stopped) {
+            return;
+        }
+        lastCheck = System.currentTimeMillis();
+
+        Path file = getFile();
+        try {
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                // Renamed or deleted, keep reading the old file until the new one has been created
+                read(buffer, chunk);
+                if (!fileNotFound) {
+                    fileNotFound = true;
+                    post(this::sendFileNotFoundToListeners);
+                }
+                return;
+            }
+            fileNotFound = false;
+
+            boolean sameFile = position >= 0 && Objects.equals(attributes.fileKey(), fileKey)
+                    && attributes.size() >= position;
+            if (channel != null && !sameFile) {
+                read(buffer, chunk);
+                if (isBehind()) {
+                    // Continue with the rest of the old file at the next check
+                    return;
+                }
+                closeChannel();
+            }
+            if (channel == null) {
+                channel = FileChannel.open(file, StandardOpenOption.READ);
+                if (position < 0) {
+                    // Created after the start, all of it is new
+                    position = 0;
+                } else if (!sameFile) {
+                    logger.debug("File {} rotated", file);
+                    flushPartialLine();
+                    position = 0;
+                    post(this::sendFileRotationToListeners);
+                }
+                fileKey = attributes.fileKey();
+            }
+            read(buffer, chunk);
+        } catch (IOException e) {
+            // Try again with the next check, continuing at the current position if the file is unchanged
+            closeChannel();
+            post(() -> sendExceptionToListeners(e));
+        }
+    }
+
+    /**
+     * Stops reading the file.
+     */
+    synchronized void close() {
+        closeChannel();
+    }
+
+    private void read(ByteBuffer buffer, byte[] chunk) throws IOException {
+        FileChannel channel = this.channel;
+        if (channel == null) {
+            return;
+        }
+
+        while (!stopped && !isBehind()) {
+            buffer.clear();
+            int count = channel.read(buffer, position);
+            if (count <= 0) {
+                return;
+            }
+            position += count;
+            buffer.flip();
+            buffer.get(chunk, 0, count);
+
+            List<String> lines = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i < count; i++) {
+                if (chunk[i] == '\n') {
+                    lines.add(toLine(chunk, start, i));
+                    start = i + 1;
+                }
+            }
+            appendPartialLine(chunk, start, count);
+
+            if (!lines.isEmpty()) {
+                postLines(lines, start);
+            }
+        }
+    }
+
+    private String toLine(byte[] chunk, int start, int end) {
+        byte[] bytes = chunk;
+        if (partialLineLength > 0) {
+            appendPartialLine(chunk, start, end);
+            bytes = partialLine;
+            start = 0;
+            end = partialLineLength;
+            partialLineLength = 0;
+        }
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private void appendPartialLine(byte[] chunk, int start, int end) {
+        int length = end - start;
+        if (partialLineLength + length > partialLine.length) {
+            partialLine = Arrays.copyOf(partialLine, Math.max(partialLine.length * 2, partialLineLength + length));
+        }
+        System.arraycopy(chunk, start, partialLine, partialLineLength, length);
+        partialLineLength += length;
+    }
+
+    /**
+     * Passes on the last line of a rotated file even if it is not terminated.
+     */
+    private void flushPartialLine() {
+        if (partialLineLength > 0) {
+            List<String> lines = new ArrayList<>(1);
+            int length = partialLineLength;
+            lines.add(toLine(partialLine, 0, 0));
+            postLines(lines, length);
+        }
+    }
+
+    private void closeChannel() {
+        FileChannel channel = this.channel;
+        this.channel = null;
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Could not close file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Passes on the lines, counting their length until they have been passed to the listeners.
+     */
+    private void postLines(List<String> lines, long length) {
+        pendingBytes.addAndGet(length);
+        post(() -> {
+            try {
+                sendLinesToListeners(lines);
+            } finally {
+                pendingBytes.addAndGet(-length);
+            }
+        });
+    }
+
+    private void post(Runnable event) {
+        ScheduledExecutorService scheduler = this.scheduler;
+        if (stopped || scheduler == null) {
+            return;
+        }
+        events.add(event);
+        if (delivering.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::deliver);
+            } catch (RejectedExecutionException e) {
+                logger.debug("Could not pass on events of file {}: {}", file, e.getMessage());
+                clearEvents();
+                delivering.set(false);
+            }
+        }
+    }
+
+    private void clearEvents() {
+        events.clear();
+        pendingBytes.set(0);
+    }
+
+    private void deliver() {
+        do {
+            Runnable event;
+            while ((event = events.poll()) != null) {
+                event.run();
+            }
+            delivering.set(false);
+        } while (!events.isEmpty() && delivering.compareAndSet(false, true));
+    }
+}
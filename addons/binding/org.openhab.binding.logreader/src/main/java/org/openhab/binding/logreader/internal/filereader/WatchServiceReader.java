@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the files of all {@link NioFileTailer}s with a single thread. The directories of the files are watched by a
+ * {@link WatchService}, and a file is read as soon as a change of it is reported.
+ *
+ * As a safety net for file systems not reporting changes, every file is also checked after
+ * {@link #WATCHED_CHECK_INTERVAL} milliseconds without changes, or after the refresh rate of its tailer if its
+ * directory cannot be watched (e.g. because it does not exist yet). Files whose tailers are behind their listeners
+ * are checked after the refresh rate as well, to read on once the listeners have caught up.
+ *
+ * The thread is started with the first tailer and ends when the last tailer is unregistered.
+ *
+ * @author agent - Initial contribution
+ */
+class WatchServiceReader extends Thread {
+    static final long WATCHED_CHECK_INTERVAL = 10000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static @Nullable WatchServiceReader instance;
+
+    private final Logger logger = LoggerFactory.getLogger(WatchServiceReader.class);
+
+    private final WatchService watchService;
+    private final List<NioFileTailer> tailers = new CopyOnWriteArrayList<>();
+    private final Map<Path, WatchKey> watchedDirectories = new HashMap<>();
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] chunk = new byte[BUFFER_SIZE];
+
+    private WatchServiceReader() throws IOException {
+        super("LogReader WatchService");
+        setDaemon(true);
+        watchService = FileSystems.getDefault().newWatchService();
+    }
+
+    /**
+     * Starts reading the file of the given tailer.
+     *
+     * @param tailer the tailer
+     * @throws IOException if the watch service could not be created
+     */
+    static synchronized void register(NioFileTailer tailer) throws IOException {
+        WatchServiceReader reader = instance;
+        if (reader == null) {
+            reader = new WatchServiceReader();
+            instance = reader;
+            reader.start();
+        }
+        reader.add(tailer);
+    }
+
+    /**
+     * Stops reading the file of the given tailer. Stops the thread if it was the last tailer.
+     *
+     * @param tailer the tailer
+     */
+    static synchronized void unregister(NioFileTailer tailer) {
+        WatchServiceReader reader = instance;
+        if (reader == null) {
+            return;
+        }
+        reader.remove(tailer);
+        if (reader.tailers.isEmpty()) {
+            instance = null;
+            reader.shutdown();
+        }
+    }
+
+    private synchronized void add(NioFileTailer tailer) {
+        if (!tailers.contains(tailer)) {
+            tailers.add(tailer);
+            watchDirectory(tailer);
+        }
+    }
+
+    private synchronized void remove(NioFileTailer tailer) {
+        if (!tailers.remove(tailer)) {
+            return;
+        }
+        tailer.close();
+
+        Path directory = tailer.getFile().getParent();
+        if (tailers.stream().noneMatch(t -> t.getFile().getParent().equals(directory))) {
+            WatchKey key = watchedDirectories.remove(directory);
+            if (key != null) {
+                key.cancel();
+            }
+        }
+    }
+
+    private synchronized boolean watchDirectory(NioFileTailer tailer) {
+        Path directory = tailer.getFile().getParent();
+        WatchKey key = watchedDirectories.get(directory);
+        if (key != null && key.isValid()) {
+            return true;
+        }
+        try {
+            key = directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+            watchedDirectories.put(directory, key);
+            logger.debug("Watching directory {}", directory);
+            return true;
+        } catch (IOException e) {
+            logger.debug("Cannot watch directory {}: {}", directory, e.getMessage());
+            watchedDirectories.remove(directory);
+            return false;
+        }
+    }
+
+    private void shutdown() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.debug("Could not close watch service: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.poll(pollTimeout(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    checkChangedFiles(key);
+                }
+                checkOverdueFiles();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            logger.debug("Stop watching files");
+        }
+    }
+
+    /**
+     * Checks the files changed according to the events of the key. Several events of the same file are handled by a
+     * single check.
+     */
+    private void checkChangedFiles(WatchKey key) {
+        Path directory = (Path) key.watchable();
+        Set<NioFileTailer> changed = new LinkedHashSet<>();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            for (NioFileTailer tailer : tailers) {
+                if (event.kind() == OVERFLOW ? tailer.getFile().getParent().equals(directory)
+                        : tailer.getFile().equals(directory.resolve((Path) event.context()))) {
+                    changed.add(tailer);
+                }
+            }
+        }
+        key.reset();
+
+        for (NioFileTailer tailer : changed) {
+            tailer.check(buffer, chunk);
+        }
+    }
+
+    /**
+     * Checks the files which have not been checked within their check interval.
+     */
+    private void checkOverdueFiles() {
+        long now = System.currentTimeMillis();
+        for (NioFileTailer tailer : tailers) {
+            if (now - tailer.getLastCheck() >= checkInterval(tailer)) {
+                // Retry to watch the directory before the check, so that no change after the check is missed
+                watchDirectory(tailer);
+                tailer.check(buffer, chunk);
+            }
+        }
+    }
+
+    private synchronized long checkInterval(NioFileTailer tailer) {
+        WatchKey key = watchedDirectories.get(tailer.getFile().getParent());
+        return key != null && key.isValid() && !tailer.isBehind()
+                ? Math.max(WATCHED_CHECK_INTERVAL, tailer.getRefreshRate())
+                : tailer.getRefreshRate();
+    }
+
+    private long pollTimeout() {
+        long now = System.currentTimeMillis();
+        long timeout = WATCHED_CHECK_INTERVAL;
+        for (NioFileTailer tailer : tailers) {
+            timeout = Math.min(timeout, tailer.getLastCheck() + checkInterval(tailer) - now);
+        }
+        return Math.max(timeout, 1);
+    }
+}
@@ -0,0 +1,414 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Finds out if any of a list of regular expressions is found in a string, scanning the string only once for the
+ * common cases.
+ *
+ * For every alternative of a pattern a literal is determined which must be contained in every match of the
+ * alternative, for example <code>Exception</code> for <code>[a-z.]+Exception: .*</code>. All literals are searched at
+ * once by an Aho-Corasick automaton. Only the patterns of which a literal has been found are run on the string to
+ * confirm the match, and patterns which consist of literals only need no confirmation at all. Patterns with an
+ * alternative without such a literal (e.g. using inline flags or consisting of character classes only) are always
+ * run.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcher {
+
+    private static final int ASCII_CHARS = 128;
+
+    private final Pattern[] patterns;
+    private final boolean[] literalOnly;
+    private final int[] alwaysRun;
+
+    /// The automaton. States are numbered from 0 (the root), the symbols are the distinct characters of the literals.
+    private final int[] asciiSymbols = new int[ASCII_CHARS];
+    private final Map<Character, Integer> otherSymbols = new HashMap<>();
+    private final int symbolCount;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    /**
+     * Compiles the patterns and builds the automaton.
+     *
+     * @param patternStrings the regular expressions
+     * @throws PatternSyntaxException if one of the patterns is invalid
+     */
+    public MultiPatternMatcher(List<String> patternStrings) throws PatternSyntaxException {
+        int count = patternStrings.size();
+        patterns = new Pattern[count];
+        literalOnly = new boolean[count];
+        List<@Nullable List<RequiredLiteral>> literals = new ArrayList<>(count);
+        List<Integer> withoutLiteral = new ArrayList<>();
+
+        int symbol = 1;
+        for (int i = 0; i < count; i++) {
+            String patternString = patternStrings.get(i);
+            patterns[i] = Pattern.compile(patternString);
+            List<RequiredLiteral> patternLiterals = RequiredLiteral.of(patternString);
+            literals.add(patternLiterals);
+            if (patternLiterals == null) {
+                withoutLiteral.add(i);
+                continue;
+            }
+            literalOnly[i] = patternLiterals.stream().allMatch(literal -> literal.exact);
+            for (RequiredLiteral literal : patternLiterals) {
+                for (char c : literal.text.toCharArray()) {
+                    if (symbolOf(c) == 0) {
+                        if (c < ASCII_CHARS) {
+                            asciiSymbols[c] = symbol++;
+                        } else {
+                            otherSymbols.put(c, symbol++);
+                        }
+                    }
+                }
+            }
+        }
+        alwaysRun = withoutLiteral.stream().mapToInt(Integer::intValue).toArray();
+        symbolCount = symbol;
+
+        // Build the trie of the literals
+        List<int[]> trie = new ArrayList<>();
+        List<BitSet> trieOutputs = new ArrayList<>();
+        trie.add(new int[symbolCount]);
+        trieOutputs.add(new BitSet());
+        for (int i = 0; i < count; i++) {
+            List<RequiredLiteral> patternLiterals = literals.get(i);
+            if (patternLiterals == null) {
+                continue;
+            }
+            for (RequiredLiteral literal : patternLiterals) {
+                int state = 0;
+                for (char c : literal.text.toCharArray()) {
+                    int s = symbolOf(c);
+                    if (trie.get(state)[s] == 0) {
+                        trie.get(state)[s] = trie.size();
+                        trie.add(new int[symbolCount]);
+                        trieOutputs.add(new BitSet());
+                    }
+                    state = trie.get(state)[s];
+                }
+                trieOutputs.get(state).set(i);
+            }
+        }
+
+        // Complete the trie to a deterministic automaton, following the failure links breadth first
+        int stateCount = trie.size();
+        transitions = new int[stateCount * symbolCount];
+        outputs = new int[stateCount][];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int s = 0; s < symbolCount; s++) {
+            int next = trie.get(0)[s];
+            transitions[s] = next;
+            if (next != 0) {
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            trieOutputs.get(state).or(trieOutputs.get(failure[state]));
+            for (int s = 0; s < symbolCount; s++) {
+                int next = trie.get(state)[s];
+                if (next != 0) {
+                    failure[next] = transitions[failure[state] * symbolCount + s];
+                    transitions[state * symbolCount + s] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * symbolCount + s] = transitions[failure[state] * symbolCount + s];
+                }
+            }
+        }
+        for (int state = 0; state < stateCount; state++) {
+            BitSet output = trieOutputs.get(state);
+            outputs[state] = output.isEmpty() ? null : output.stream().toArray();
+        }
+    }
+
+    /**
+     * @return true if there are no patterns
+     */
+    public boolean isEmpty() {
+        return patterns.length == 0;
+    }
+
+    /**
+     * Checks if one of the patterns is found in the data.
+     *
+     * @param data the data to search in
+     * @return true if at least one pattern is found
+     */
+    public boolean find(String data) {
+        BitSet candidates = null;
+        if (symbolCount > 1) {
+            int state = 0;
+            for (int i = 0; i < data.length(); i++) {
+                state = transitions[state * symbolCount + symbolOf(data.charAt(i))];
+                int[] output = outputs[state];
+                if (output != null) {
+                    for (int index : output) {
+                        if (literalOnly[index]) {
+                            return true;
+                        }
+                        if (candidates == null) {
+                            candidates = new BitSet(patterns.length);
+                        }
+                        candidates.set(index);
+                    }
+                }
+            }
+        }
+
+        if (candidates != null) {
+            for (int index = candidates.nextSetBit(0); index >= 0; index = candidates.nextSetBit(index + 1)) {
+                if (patterns[index].matcher(data).find()) {
+                    return true;
+                }
+            }
+        }
+        for (int index : alwaysRun) {
+            if (patterns[index].matcher(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int symbolOf(char c) {
+        if (c < ASCII_CHARS) {
+            return asciiSymbols[c];
+        }
+        Integer symbol = otherSymbols.get(c);
+        return symbol == null ? 0 : symbol;
+    }
+
+    /**
+     * A literal contained in every match of a pattern.
+     */
+    static class RequiredLiteral {
+        final String text;
+        /** The pattern is the literal, there is nothing to confirm */
+        final boolean exact;
+
+        RequiredLiteral(String text, boolean exact) {
+            this.text = text;
+            this.exact = exact;
+        }
+
+        /**
+         * Determines the literals of the pattern, one for each alternative of the pattern. Every match of the pattern
+         * contains at least one of them.
+         *
+         * @param pattern a valid regular expression
+         * @return the literals, or null if some alternative has none or the pattern cannot be analyzed (inline flags,
+         *         quoting)
+         */
+        static @Nullable List<RequiredLiteral> of(String pattern) {
+            if (pattern.contains("(?") || pattern.contains("\\Q")) {
+                return null;
+            }
+
+            List<RequiredLiteral> literals = new ArrayList<>();
+            int start = 0;
+            int i = 0;
+            while (i <= pattern.length()) {
+                if (i == pattern.length() || pattern.charAt(i) == '|') {
+                    RequiredLiteral literal = ofAlternative(pattern.substring(start, i));
+                    if (literal == null) {
+                        return null;
+                    }
+                    literals.add(literal);
+                    start = ++i;
+                } else if (pattern.charAt(i) == '\\' || pattern.charAt(i) == '(' || pattern.charAt(i) == '[') {
+                    // Alternatives inside groups are not top level
+                    i = skipConstruct(pattern, i);
+                } else {
+                    i++;
+                }
+            }
+            return literals;
+        }
+
+        /**
+         * Determines the longest literal contained in every match of an alternative without top level
+         * <code>|</code>. Only the literal characters outside of groups and character classes are considered, and
+         * characters with a quantifier allowing zero occurrences are left out.
+         *
+         * @param pattern an alternative of a valid regular expression
+         * @return the literal, or null if there is none
+         */
+        private static @Nullable RequiredLiteral ofAlternative(String pattern) {
+            String longest = "";
+            StringBuilder run = new StringBuilder();
+            boolean exact = true;
+            int i = 0;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                char literal;
+                if (c == '\\' && i + 1 < pattern.length() && !Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    // Escaped special character
+                    literal = pattern.charAt(i + 1);
+                    i += 2;
+                } else if (c == '\\' || c == '[' || c == '(' || c == '.' || c == '^' || c == '$' || c == '?'
+                        || c == '*' || c == '+' || c == '{' || c == '}' || c == ']' || c == ')') {
+                    // Anything but a literal character ends the current run
+                    exact = false;
+                    longest = longer(longest, run);
+                    run.setLength(0);
+                    i = skipConstruct(pattern, i);
+                    continue;
+                } else {
+                    literal = c;
+                    i++;
+                }
+
+                run.append(literal);
+                if (i < pattern.length()) {
+                    char next = pattern.charAt(i);
+                    if (next == '?' || next == '*' || next == '{') {
+                        // The character may not occur at all
+                        run.setLength(run.length() - 1);
+                    }
+                    if (next == '?' || next == '*' || next == '{' || next == '+') {
+                        exact = false;
+                        longest = longer(longest, run);
+                        run.setLength(0);
+                    }
+                }
+            }
+            longest = longer(longest, run);
+
+            if (longest.isEmpty()) {
+                return null;
+            }
+            return new RequiredLiteral(longest, exact);
+        }
+
+        private static String longer(String longest, StringBuilder run) {
+            return run.length() > longest.length() ? run.toString() : longest;
+        }
+
+        /**
+         * @return the index after the construct (escape sequence, group, character class or quantifier) starting at
+         *         the given index
+         */
+        private static int skipConstruct(String pattern, int start) {
+            char c = pattern.charAt(start);
+            switch (c) {
+                case '\\':
+                    return skipEscape(pattern, start);
+                case '(':
+                case '[':
+                    return skipNested(pattern, start, c, c == '(' ? ')' : ']');
+                case '{':
+                    int end = pattern.indexOf('}', start);
+                    return end < 0 ? pattern.length() : end + 1;
+                default:
+                    return start + 1;
+            }
+        }
+
+        private static int skipEscape(String pattern, int start) {
+            int i = start + 2;
+            if (i > pattern.length()) {
+                return pattern.length();
+            }
+            char escaped = pattern.charAt(start + 1);
+            if ((escaped == 'p' || escaped == 'P' || escaped == 'x' || escaped == 'k' || escaped == 'N')
+                    && i < pattern.length() && (pattern.charAt(i) == '{' || pattern.charAt(i) == '<')) {
+                int end = pattern.indexOf(pattern.charAt(i) == '{' ? '}' : '>', i);
+                return end < 0 ? pattern.length() : end + 1;
+            }
+            if (escaped >= '1' && escaped <= '9') {
+                // Back reference, the following digits may belong to the group number
+                while (i < pattern.length() && Character.isDigit(pattern.charAt(i))) {
+                    i++;
+                }
+                return i;
+            }
+            switch (escaped) {
+                case 'x':
+                    return Math.min(pattern.length(), i + 2);
+                case 'u':
+                    return Math.min(pattern.length(), i + 4);
+                case 'c':
+                    return Math.min(pattern.length(), i + 1);
+                case '0':
+                    while (i < pattern.length() && i < start + 5 && pattern.charAt(i) >= '0'
+                            && pattern.charAt(i) <= '7') {
+                        i++;
+                    }
+                    return i;
+                default:
+                    return i;
+            }
+        }
+
+        private static int skipNested(String pattern, int start, char open, char close) {
+            int depth = 0;
+            int i = start;
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\\') {
+                    i = skipEscape(pattern, i);
+                    continue;
+                }
+                if (c == '[' && open == '(') {
+                    // A character class inside a group may contain parentheses
+                    i = skipNested(pattern, i, '[', ']');
+                    continue;
+                }
+                if (c == open) {
+                    depth++;
+                    // A closing bracket right at the start of a character class is a literal
+                    if (open == '[') {
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') {
+                            i++;
+                        }
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') {
+                            i++;
+                        }
+                    }
+                } else if (c == close) {
+                    depth--;
+                    if (depth == 0) {
+                        return i + 1;
+                    }
+                }
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public String toString() {
+            return text + (exact ? " (exact)" : "");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(patterns);
+    }
+}
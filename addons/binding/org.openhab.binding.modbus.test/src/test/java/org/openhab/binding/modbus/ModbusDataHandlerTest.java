@@ -10,11 +10,13 @@ package org.openhab.binding.modbus;
 
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -24,6 +26,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -728,6 +731,157 @@ public class ModbusDataHandlerTest extends JavaTest {
         // no datetime, conversion not possible without transformation
     }
 
+    private ModbusDataThingHandler createUnchangedValuesDataHandler(ModbusReadRequestBlueprint request,
+            Object updateUnchangedValuesEveryNPolls) {
+        return createUnchangedValuesDataHandler(request, updateUnchangedValuesEveryNPolls, "default", null);
+    }
+
+    private ModbusDataThingHandler createUnchangedValuesDataHandler(ModbusReadRequestBlueprint request,
+            Object updateUnchangedValuesEveryNPolls, String transform, BundleContext context) {
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "1");
+        dataConfig.put("readTransform", transform);
+        dataConfig.put("readValueType", "int32");
+        if (updateUnchangedValuesEveryNPolls != null) {
+            dataConfig.put("updateUnchangedValuesEveryNPolls", updateUnchangedValuesEveryNPolls);
+        }
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig), context);
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.ONLINE)));
+        return dataHandler;
+    }
+
+    private List<State> stateUpdates(ModbusDataThingHandler handler, String channel) {
+        return stateUpdates.getOrDefault(new ChannelUID(handler.getThing().getUID(), channel), new ArrayList<>());
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValuesUpdatedByDefault() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesDataHandler(request, null);
+
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(1, 0, 5));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(1, 0, 5));
+
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(5)))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValuesUpdatedEveryNPolls() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesDataHandler(request, new BigDecimal(3));
+
+        // Changes outside the polled value are not taken into account
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(1, 0, 5));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(2, 0, 5));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(3, 0, 5));
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5)))));
+
+        // Unchanged value is updated every 3rd poll
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(4, 0, 5));
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(5)))));
+
+        // Changed value is updated immediately
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(4, 1, 5));
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(5), new DecimalType(65541)))));
+
+        // Last read success is updated on every poll
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_LAST_READ_SUCCESS).size(),
+                is(equalTo(5)));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValuesNeverUpdated() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesDataHandler(request, BigDecimal.ZERO);
+
+        for (int i = 0; i < 5; i++) {
+            dataHandler.onRegisters(request, new BasicModbusRegisterArray(0, 0, 5));
+        }
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5)))));
+
+        // Newly linked channel should receive the value
+        dataHandler.channelLinked(
+                new ChannelUID(dataHandler.getThing().getUID(), ModbusBindingConstants.CHANNEL_NUMBER));
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(0, 0, 5));
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(5), new DecimalType(5)))));
+    }
+
+    @Test
+    public void testOnRegistersUnchangedValuesUpdatedAfterFailedTransformation() throws InvalidSyntaxException {
+        AtomicBoolean transformationFails = new AtomicBoolean(true);
+        mockTransformation("MULTIPLY", new TransformationService() {
+
+            @Override
+            public String transform(String function, String source) throws TransformationException {
+                if (transformationFails.get()) {
+                    throw new IllegalStateException("transformation not ready");
+                }
+                return String.valueOf(Integer.parseInt(function) * Integer.parseInt(source));
+            }
+        });
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusDataThingHandler dataHandler = createUnchangedValuesDataHandler(request, BigDecimal.ZERO,
+                "MULTIPLY(10)", bundleContext);
+
+        try {
+            dataHandler.onRegisters(request, new BasicModbusRegisterArray(0, 0, 5));
+            fail("Expecting transformation error");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER).size(), is(equalTo(0)));
+
+        // Data is unchanged but the channels were never updated with it
+        transformationFails.set(false);
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(0, 0, 5));
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(50)))));
+
+        // After the successful update, unchanged data is skipped
+        dataHandler.onRegisters(request, new BasicModbusRegisterArray(0, 0, 5));
+        assertThat(stateUpdates(dataHandler, ModbusBindingConstants.CHANNEL_NUMBER),
+                is(equalTo(Arrays.asList(new DecimalType(50)))));
+    }
+
+    @Test
+    public void testNegativeUpdateUnchangedValuesEveryNPolls() {
+        ModbusReadRequestBlueprint request = Mockito.mock(ModbusReadRequestBlueprint.class);
+        ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("thisishost", 502);
+        doReturn(3).when(request).getDataLength();
+        doReturn(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS).when(request).getFunctionCode();
+        PollTask task = Mockito.mock(PollTask.class);
+        doReturn(endpoint).when(task).getEndpoint();
+        doReturn(request).when(task).getRequest();
+        Bridge poller = createPollerMock("poller1", task);
+
+        Configuration dataConfig = new Configuration();
+        dataConfig.put("readStart", "1");
+        dataConfig.put("readValueType", "int16");
+        dataConfig.put("updateUnchangedValuesEveryNPolls", new BigDecimal(-1));
+        ModbusDataThingHandler dataHandler = createDataHandler("read1", poller,
+                builder -> builder.withConfiguration(dataConfig));
+        assertThat(dataHandler.getThing().getStatus(), is(equalTo(ThingStatus.OFFLINE)));
+        assertThat(dataHandler.getThing().getStatusInfo().getStatusDetail(),
+                is(equalTo(ThingStatusDetail.CONFIGURATION_ERROR)));
+    }
+
     private void mockTransformation(String name, TransformationService service) throws InvalidSyntaxException {
         doReturn(Arrays.asList(new Object[] { null })).when(bundleContext)
                 .getServiceReferences(TransformationService.class, "(smarthome.transform=" + name + ")");
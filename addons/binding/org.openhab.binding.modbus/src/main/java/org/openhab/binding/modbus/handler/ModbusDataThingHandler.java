@@ -77,6 +77,9 @@ import org.slf4j.LoggerFactory;
  * The {@link ModbusDataThingHandler} is responsible for interpreting polled modbus data, as well as handling openHAB
  * commands
  *
+ * Polled data is compared with the data of the previous poll. When the data corresponding to this thing is unchanged,
+ * the channels are updated only every <code>updateUnchangedValuesEveryNPolls</code> polls.
+ *
  * Thing can be re-initialized by the bridge in case of configuration changes (bridgeStatusChanged).
  * Because of this, initialize, dispose and all callback methods (onRegisters, onBits, onError, onWriteResponse) are
  * synchronized
@@ -129,6 +132,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
     private volatile boolean transformationOnlyInWrite;
     private volatile boolean childOfEndpoint;
     private volatile @Nullable ModbusPollerThingHandler pollerHandler;
+    private volatile int updateUnchangedValuesEveryNPolls = 1;
+    // Raw data corresponding to the last channel update. Guarded by this
+    private boolean lastReadRawValuePresent;
+    private long lastReadRawValue;
+    private int pollsSinceLastUpdate;
 
     public ModbusDataThingHandler(Thing thing) {
         super(thing);
@@ -151,6 +159,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                 // There is no data to update
                 return;
             }
+            // Explicit refresh should always update the channels
+            resetLastReadRawValue();
             // We *schedule* the REFRESH to avoid dead-lock situation where poller is trying update this
             // data thing with cached data (resulting in deadlock in two synchronized methods: this (handleCommand) and
             // onRegisters.
@@ -387,6 +397,8 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         transformationOnlyInWrite = false;
         childOfEndpoint = false;
         pollerHandler = null;
+        updateUnchangedValuesEveryNPolls = 1;
+        resetLastReadRawValue();
     }
 
     @Override
@@ -396,6 +408,13 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         this.initialize();
     }
 
+    @Override
+    public synchronized void channelLinked(ChannelUID channelUID) {
+        // Make sure the newly linked channel receives the value even if the polled data is unchanged
+        resetLastReadRawValue();
+        super.channelLinked(channelUID);
+    }
+
     private boolean hasConfigurationError() {
         ThingStatusInfo statusInfo = getThing().getStatusInfo();
         return statusInfo.getStatus() == ThingStatus.OFFLINE
@@ -477,6 +496,13 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         }
         readTransformation = new Transformation(config.getReadTransform());
 
+        if (config.getUpdateUnchangedValuesEveryNPolls() < 0) {
+            String errmsg = String.format("Thing %s invalid updateUnchangedValuesEveryNPolls: %d",
+                    getThing().getUID(), config.getUpdateUnchangedValuesEveryNPolls());
+            throw new ModbusConfigurationException(errmsg);
+        }
+        updateUnchangedValuesEveryNPolls = config.getUpdateUnchangedValuesEveryNPolls();
+
         validateReadIndex(pollTask);
     }
 
@@ -627,6 +653,21 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         if (readValueType == null) {
             return;
         }
+        int registerIndex = readIndex.get() - pollStart;
+        int registerCount = Math.max(1, readValueType.getBits() / 16);
+        // Out of bounds index is reported by extractStateFromRegisters below
+        long rawValue = 0;
+        if (registerIndex >= 0 && registerIndex + registerCount <= registers.size()) {
+            for (int i = registerIndex; i < registerIndex + registerCount; i++) {
+                rawValue = (rawValue << 16) | registers.getUnsignedShort(i);
+            }
+            if (isUnchangedSinceLastUpdate(rawValue)) {
+                logger.trace("Thing {} polled data unchanged, not updating channels. Registers {} for request {}",
+                        thing.getUID(), registers, request);
+                processUnchangedValue();
+                return;
+            }
+        }
         DecimalType numericState;
 
         // extractIndex:
@@ -650,7 +691,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         }
         numericState = ModbusBitUtilities.extractStateFromRegisters(registers, extractIndex, readValueType);
         boolean boolValue = !numericState.equals(DecimalType.ZERO);
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        Map<ChannelUID, State> values = processUpdatedValue(rawValue, numericState, boolValue);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={}, readSubIndex(or 0)={}, extractIndex={} -> numeric value {} and boolValue={}. Registers {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, readSubIndex.orElse(0), extractIndex, numericState,
@@ -665,8 +706,15 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
             return;
         }
         boolean boolValue = bits.getBit(readIndex.get() - pollStart);
+        long rawValue = boolValue ? 1 : 0;
+        if (isUnchangedSinceLastUpdate(rawValue)) {
+            logger.trace("Thing {} polled data unchanged, not updating channels. Bits {} for request {}",
+                    thing.getUID(), bits, request);
+            processUnchangedValue();
+            return;
+        }
         DecimalType numericState = boolValue ? new DecimalType(BigDecimal.ONE) : DecimalType.ZERO;
-        Map<ChannelUID, State> values = processUpdatedValue(numericState, boolValue);
+        Map<ChannelUID, State> values = processUpdatedValue(rawValue, numericState, boolValue);
         logger.debug(
                 "Thing {} channels updated: {}. readValueType={}, readIndex={} -> numeric value {} and boolValue={}. Bits {} for request {}",
                 thing.getUID(), values, readValueType, readIndex, numericState, boolValue, bits, request);
@@ -755,20 +803,75 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         updateState(ModbusBindingConstants.CHANNEL_LAST_WRITE_SUCCESS, now);
     }
 
+    /**
+     * Check whether polled raw data is unchanged since last successful channel update, and the update of the
+     * channels can be skipped. Channels are updated nevertheless every <code>updateUnchangedValuesEveryNPolls</code>
+     * polls.
+     *
+     * @param rawValue raw data corresponding to this thing
+     * @return whether updating the channels should be skipped
+     */
+    private boolean isUnchangedSinceLastUpdate(long rawValue) {
+        int updateEveryNPolls = updateUnchangedValuesEveryNPolls;
+        if (updateEveryNPolls != 1 && lastReadRawValuePresent && lastReadRawValue == rawValue) {
+            pollsSinceLastUpdate++;
+            return updateEveryNPolls == 0 || pollsSinceLastUpdate < updateEveryNPolls;
+        }
+        return false;
+    }
+
+    /**
+     * Remember raw data of the channel update, to be compared with the data of the following polls
+     *
+     * @param rawValue raw data corresponding to this thing
+     * @param channelsUpdated whether the channels were updated successfully. If not, the following poll updates the
+     *            channels regardless of the data.
+     */
+    private void updateLastReadRawValue(long rawValue, boolean channelsUpdated) {
+        if (channelsUpdated) {
+            lastReadRawValuePresent = true;
+            lastReadRawValue = rawValue;
+            pollsSinceLastUpdate = 0;
+        } else {
+            resetLastReadRawValue();
+        }
+    }
+
+    private void resetLastReadRawValue() {
+        lastReadRawValuePresent = false;
+        lastReadRawValue = 0;
+        pollsSinceLastUpdate = 0;
+    }
+
+    /**
+     * Update thing status and last read success channel on successful read with unchanged data. Other channels keep
+     * their current state.
+     */
+    private void processUnchangedValue() {
+        updateStatus(ThingStatus.ONLINE);
+        tryUpdateState(new ChannelUID(getThing().getUID(), ModbusBindingConstants.CHANNEL_LAST_READ_SUCCESS),
+                new DateTimeType());
+    }
+
     /**
      * Update linked channels
      *
+     * @param rawValue raw data corresponding to polled data
      * @param numericState numeric state corresponding to polled data
      * @param boolValue boolean value corresponding to polled data
      * @return updated channel data
      */
-    private Map<ChannelUID, State> processUpdatedValue(DecimalType numericState, boolean boolValue) {
+    private Map<ChannelUID, State> processUpdatedValue(long rawValue, DecimalType numericState, boolean boolValue) {
         Map<@NonNull ChannelUID, @NonNull State> states = new HashMap<>();
-        CHANNEL_ID_TO_ACCEPTED_TYPES.keySet().stream().filter(channelId -> isLinked(channelId)).forEach(channelId -> {
+        boolean transformationFailed = false;
+        for (String channelId : CHANNEL_ID_TO_ACCEPTED_TYPES.keySet()) {
+            if (!isLinked(channelId)) {
+                continue;
+            }
             ChannelUID channelUID = new ChannelUID(getThing().getUID(), channelId);
             List<Class<? extends State>> acceptedDataTypes = CHANNEL_ID_TO_ACCEPTED_TYPES.get(channelId);
             if (acceptedDataTypes.isEmpty()) {
-                return;
+                continue;
             }
 
             State boolLikeState;
@@ -804,6 +907,7 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                         readTransformation.isIdentityTransform() ? "<identity>" : readTransformation);
                 states.put(channelUID, transformedState);
             } else {
+                transformationFailed = true;
                 String types = StringUtils.join(acceptedDataTypes.stream().map(cls -> cls.getSimpleName()).toArray(),
                         ", ");
                 logger.warn(
@@ -811,7 +915,11 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
                         channelUID, types, numericState, readValueType, boolValue,
                         readTransformation.isIdentityTransform() ? "<identity>" : readTransformation);
             }
-        });
+        }
+
+        // Some channels not accepting the value is normal, e.g. numbers with a DateTime channel. Transformation has
+        // failed when none of the linked channels could be updated.
+        boolean channelsUpdated = !transformationFailed || !states.isEmpty();
 
         states.put(new ChannelUID(getThing().getUID(), ModbusBindingConstants.CHANNEL_LAST_READ_SUCCESS),
                 new DateTimeType());
@@ -819,20 +927,29 @@ public class ModbusDataThingHandler extends BaseThingHandler implements ModbusRe
         synchronized (this) {
             updateStatus(ThingStatus.ONLINE);
             // Update channels
-            states.forEach((uid, state) -> {
-                tryUpdateState(uid, state);
-            });
+            for (Map.Entry<@NonNull ChannelUID, @NonNull State> entry : states.entrySet()) {
+                channelsUpdated &= tryUpdateState(entry.getKey(), entry.getValue());
+            }
+            // Unchanged data is skipped only after a successful update of the channels
+            updateLastReadRawValue(rawValue, channelsUpdated);
         }
         return states;
     }
 
-    private void tryUpdateState(@NonNull ChannelUID uid, @NonNull State state) {
+    /**
+     * Update channel state, logging errors
+     *
+     * @return whether the state was updated
+     */
+    private boolean tryUpdateState(@NonNull ChannelUID uid, @NonNull State state) {
         try {
             updateState(uid, state);
+            return true;
         } catch (IllegalArgumentException e) {
             logger.warn("Error updating state '{}' (type {}) to channel {}: {} {}", state,
                     Optional.ofNullable(state).map(s -> s.getClass().getName()).orElse("null"), uid,
                     e.getClass().getName(), e.getMessage());
+            return false;
         }
     }
 
@@ -36,6 +36,7 @@ public class ModbusDataConfiguration {
     private String writeValueType;
     private boolean writeMultipleEvenWithSingleRegisterOrCoil;
     private int writeMaxTries = 3; // backwards compatibility and tests
+    private int updateUnchangedValuesEveryNPolls = 1; // backwards compatibility and tests
 
     public @Nullable String getReadStart() {
         return readStart;
@@ -108,4 +109,12 @@ public class ModbusDataConfiguration {
     public void setWriteMaxTries(int writeMaxTries) {
         this.writeMaxTries = writeMaxTries;
     }
+
+    public int getUpdateUnchangedValuesEveryNPolls() {
+        return updateUnchangedValuesEveryNPolls;
+    }
+
+    public void setUpdateUnchangedValuesEveryNPolls(int updateUnchangedValuesEveryNPolls) {
+        this.updateUnchangedValuesEveryNPolls = updateUnchangedValuesEveryNPolls;
+    }
 }
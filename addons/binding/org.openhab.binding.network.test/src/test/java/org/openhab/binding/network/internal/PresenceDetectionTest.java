@@ -16,7 +16,6 @@ import static org.mockito.Mockito.*;
 import java.io.IOException;
 import java.net.UnknownHostException;
 import java.util.Collections;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
@@ -26,6 +25,7 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.openhab.binding.network.internal.PresenceProbeEngine.ProbeCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheHelper;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
@@ -46,7 +46,7 @@ public class PresenceDetectionTest {
     PresenceDetectionListener listener;
 
     @Mock
-    ExecutorService executorService;
+    PresenceProbeEngine probeEngine;
 
     @Mock
     Consumer<PresenceDetectionValue> callback;
@@ -64,6 +64,7 @@ public class PresenceDetectionTest {
 
         subject = spy(new PresenceDetection(listener, (int) CACHETIME));
         subject.networkUtils = networkUtils;
+        subject.probeEngine = probeEngine;
         subject.cache = spy(new ExpiringCacheAsync<PresenceDetectionValue>(CACHETIME, () -> {
             subject.performPresenceDetection(false);
         }));
@@ -78,6 +79,16 @@ public class PresenceDetectionTest {
         subject.setUseIcmpPing(true);
 
         assertThat(subject.getPingMethod(), is(IpPingMethodEnum.WINDOWS_PING));
+
+        // Perform the probes right away, all TCP ports are open
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(probeEngine).execute(any());
+        doAnswer(invocation -> {
+            ((ProbeCallback) invocation.getArgument(3)).probeFinished(true, 1);
+            return null;
+        }).when(probeEngine).probeTcp(any(), anyInt(), anyInt(), any());
     }
 
     @After
@@ -85,11 +96,11 @@ public class PresenceDetectionTest {
         subject.waitForPresenceDetection();
     }
 
-    // Depending on the amount of test methods an according amount of threads is spawned.
-    // We will check if they spawn and return in time.
+    // Depending on the amount of test methods an according amount of checks is expected.
+    // We will check if the detection ends in time, although not all checks report back.
     @Test
     public void threadCountTest() {
-        assertNull(subject.executorService);
+        assertNull(subject.detectionInProgress);
 
         doNothing().when(subject).performARPping(anyObject());
         doNothing().when(subject).performJavaPing();
@@ -98,13 +109,13 @@ public class PresenceDetectionTest {
 
         subject.performPresenceDetection(false);
 
-        // Thread count: ARP + ICMP + 1*TCP
+        // Check count: ARP + ICMP + 1*TCP
         assertThat(subject.detectionChecks, is(3));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionInProgress);
 
         subject.waitForPresenceDetection();
         assertThat(subject.detectionChecks, is(0));
-        assertNull(subject.executorService);
+        assertNull(subject.detectionInProgress);
     }
 
     @Test
@@ -112,7 +123,6 @@ public class PresenceDetectionTest {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
         doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
                 anyObject(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
 
         assertTrue(subject.performPresenceDetection(false));
         subject.waitForPresenceDetection();
@@ -134,25 +144,27 @@ public class PresenceDetectionTest {
         doReturn(true).when(networkUtils).nativePing(eq(IpPingMethodEnum.WINDOWS_PING), anyString(), anyInt());
         doReturn(true).when(networkUtils).nativeARPPing(eq(ArpPingUtilEnum.IPUTILS_ARPING), anyString(), anyString(),
                 anyObject(), anyInt());
-        doReturn(true).when(networkUtils).servicePing(anyString(), anyInt(), anyInt());
-
-        doReturn(executorService).when(subject).getThreadsFor(anyInt());
+        doNothing().when(probeEngine).execute(any());
+        doNothing().when(probeEngine).probeTcp(any(), anyInt(), anyInt(), any());
 
         // We expect no valid value
         assertTrue(subject.cache.isExpired());
         // Get value will issue a PresenceDetection internally.
         subject.getValue(callback);
         verify(subject).performPresenceDetection(eq(false));
-        assertNotNull(subject.executorService);
+        assertNotNull(subject.detectionInProgress);
         // There should be no straight callback yet
         verify(callback, times(0)).accept(anyObject());
 
-        // Perform the different presence detection threads now
+        // Perform the different presence detection probes now
         ArgumentCaptor<Runnable> capture = ArgumentCaptor.forClass(Runnable.class);
-        verify(executorService, times(3)).execute(capture.capture());
+        verify(probeEngine, times(2)).execute(capture.capture());
         for (Runnable r : capture.getAllValues()) {
             r.run();
         }
+        ArgumentCaptor<ProbeCallback> tcpCapture = ArgumentCaptor.forClass(ProbeCallback.class);
+        verify(probeEngine).probeTcp(any(), eq(1010), anyInt(), tcpCapture.capture());
+        tcpCapture.getValue().probeFinished(true, 1);
         // "Wait" for the presence detection to finish
         subject.waitForPresenceDetection();
 
@@ -170,6 +182,20 @@ public class PresenceDetectionTest {
         verify(callback, times(2)).accept(anyObject());
     }
 
+    @Test
+    public void passiveDetectionSkipsProbes() {
+        subject.neighbourSeen("127.0.0.1");
+        verify(listener).partialDetectionResult(anyObject());
+        subject.cache.invalidateValue();
+
+        assertTrue(subject.performPresenceDetection(true));
+
+        verifyZeroInteractions(probeEngine);
+        ArgumentCaptor<PresenceDetectionValue> capture = ArgumentCaptor.forClass(PresenceDetectionValue.class);
+        verify(listener).finalDetectionResult(capture.capture());
+        assertThat(capture.getValue().getSuccessfulDetectionTypes(), is("ARP_CACHE"));
+    }
+
     @Test
     public void reuseValueTests() throws InterruptedException, IOException {
         final long START_TIME = 1000L;
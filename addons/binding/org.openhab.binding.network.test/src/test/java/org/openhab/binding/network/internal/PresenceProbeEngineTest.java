@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see PresenceProbeEngine}
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngineTest {
+    PresenceProbeEngine subject;
+    ServerSocket serverSocket;
+    InetAddress localhost;
+
+    @Before
+    public void setUp() throws IOException {
+        subject = PresenceProbeEngine.getInstance();
+        serverSocket = new ServerSocket(0, 1000, InetAddress.getLoopbackAddress());
+        localhost = InetAddress.getLoopbackAddress();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        serverSocket.close();
+        PresenceProbeEngine.shutdown();
+    }
+
+    @Test
+    public void openPortIsReachable() throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean result = new AtomicBoolean();
+        subject.probeTcp(localhost, serverSocket.getLocalPort(), 1000, (reachable, latency) -> {
+            result.set(reachable);
+            finished.countDown();
+        });
+
+        assertTrue(finished.await(2, TimeUnit.SECONDS));
+        assertTrue(result.get());
+    }
+
+    @Test
+    public void closedPortIsNotReachable() throws InterruptedException, IOException {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0, 1, localhost)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean result = new AtomicBoolean(true);
+        subject.probeTcp(localhost, closedPort, 1000, (reachable, latency) -> {
+            result.set(reachable);
+            finished.countDown();
+        });
+
+        assertTrue(finished.await(2, TimeUnit.SECONDS));
+        assertFalse(result.get());
+    }
+
+    // More probes than may be in flight at the same time are queued, but all of them report back
+    @Test
+    public void allQueuedProbesFinish() throws InterruptedException {
+        final int probes = PresenceProbeEngine.MAX_TCP_PROBES * 2;
+        CountDownLatch finished = new CountDownLatch(probes);
+        AtomicInteger reachableCount = new AtomicInteger();
+        for (int i = 0; i < probes; ++i) {
+            subject.probeTcp(localhost, serverSocket.getLocalPort(), 1000, (reachable, latency) -> {
+                if (reachable) {
+                    reachableCount.incrementAndGet();
+                }
+                finished.countDown();
+            });
+        }
+
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertThat(reachableCount.get(), is(probes));
+    }
+
+    // The first second of probes starts right away, the remaining ones at the configured rate
+    @Test
+    public void rateLimitedProbes() throws InterruptedException {
+        PresenceProbeEngine engine = new PresenceProbeEngine(PresenceProbeEngine.MAX_TCP_PROBES, 100, 1);
+        try {
+            CountDownLatch finished = new CountDownLatch(150);
+            long start = System.nanoTime();
+            for (int i = 0; i < 150; ++i) {
+                engine.probeTcp(localhost, serverSocket.getLocalPort(), 1000, (reachable, latency) -> {
+                    finished.countDown();
+                });
+            }
+
+            assertTrue(finished.await(3, TimeUnit.SECONDS));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 400);
+        } finally {
+            engine.stop();
+        }
+    }
+
+    @Test
+    public void blockingProbesAreExecuted() throws InterruptedException {
+        CountDownLatch finished = new CountDownLatch(PresenceProbeEngine.MAX_BLOCKING_PROBES + 1);
+        for (int i = 0; i < PresenceProbeEngine.MAX_BLOCKING_PROBES + 1; ++i) {
+            subject.execute(finished::countDown);
+        }
+        assertTrue(finished.await(2, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@see ArpCacheReader}
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpCacheReaderTest {
+    private static final String HEADER = "IP address       HW type     Flags       HW address            Mask     Device\n";
+
+    ArpCacheReader subject;
+
+    @Before
+    public void setUp() {
+        subject = new ArpCacheReader(new File("/proc/net/arp"), mock(NeighbourSeenCallback.class));
+    }
+
+    private Set<String> read(String... lines) throws IOException {
+        return subject.readChanges(new BufferedReader(new StringReader(HEADER + String.join("\n", lines))));
+    }
+
+    @Test
+    public void initialEntriesAreNotReported() throws IOException {
+        assertTrue(read("192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0").isEmpty());
+        // Unchanged
+        assertTrue(read("192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0").isEmpty());
+    }
+
+    @Test
+    public void newAndChangedEntriesAreReported() throws IOException {
+        read("192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0",
+                "192.168.0.3      0x1         0x0         00:00:00:00:00:00     *        eth0");
+
+        Set<String> changed = read("192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:02     *        eth0",
+                "192.168.0.3      0x1         0x2         aa:bb:cc:dd:ee:03     *        eth0",
+                "192.168.0.4      0x1         0x2         aa:bb:cc:dd:ee:04     *        eth0");
+
+        assertThat(changed, is(new LinkedHashSet<>(Arrays.asList("192.168.0.2", "192.168.0.3", "192.168.0.4"))));
+    }
+
+    @Test
+    public void incompleteAndPermanentEntriesAreIgnored() throws IOException {
+        read();
+
+        Set<String> changed = read("192.168.0.3      0x1         0x0         00:00:00:00:00:00     *        eth0",
+                "192.168.0.5      0x1         0x6         aa:bb:cc:dd:ee:05     *        eth0");
+
+        assertTrue(changed.isEmpty());
+    }
+
+    // A device whose entry was removed by the kernel and is resolved again has been active again
+    @Test
+    public void reappearingEntriesAreReported() throws IOException {
+        read("192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0");
+        read("192.168.0.2      0x1         0x0         00:00:00:00:00:00     *        eth0");
+
+        Set<String> changed = read("192.168.0.2      0x1         0x2         aa:bb:cc:dd:ee:01     *        eth0");
+
+        assertThat(changed, is(new LinkedHashSet<>(Arrays.asList("192.168.0.2"))));
+    }
+}
@@ -15,14 +15,15 @@ import java.net.SocketException;
 import java.net.UnknownHostException;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.apache.commons.lang.StringUtils;
+import org.openhab.binding.network.internal.arp.ArpCacheListenService;
+import org.openhab.binding.network.internal.arp.NeighbourSeenCallback;
 import org.openhab.binding.network.internal.dhcp.DHCPListenService;
 import org.openhab.binding.network.internal.dhcp.IPRequestReceivedCallback;
 import org.openhab.binding.network.internal.toberemoved.cache.ExpiringCacheAsync;
@@ -35,16 +36,22 @@ import org.slf4j.LoggerFactory;
 /**
  * The {@link PresenceDetection} handles the connection to the Device
  *
+ * Next to the active probes, DHCP requests and changes of the kernel neighbour table are used to detect
+ * a device passively. As long as the last passive detection is younger than the refresh interval, the
+ * device is considered present without probing it.
+ *
  * @author David Gräff, 2017 - Rewritten
  * @author Marc Mettke - Initial contribution
  */
-public class PresenceDetection implements IPRequestReceivedCallback {
+public class PresenceDetection implements IPRequestReceivedCallback, NeighbourSeenCallback {
     public static final double NOT_REACHABLE = -1;
     NetworkUtils networkUtils = new NetworkUtils();
+    PresenceProbeEngine probeEngine;
     private Logger logger = LoggerFactory.getLogger(PresenceDetection.class);
 
     /// Configuration variables
     private boolean useDHCPsniffing = false;
+    private boolean useArpCacheListen = false;
     private ArpPingUtilEnum arpPingMethod = null;
     private String arpPingUtilPath = "arping";
     private IpPingMethodEnum pingMethod = null;
@@ -54,6 +61,8 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private long refreshIntervalInMS = 60000;
     private int timeoutInMS = 5000;
     private long lastSeenInMS;
+    private long lastPassiveSeenInMS;
+    private PresenceDetectionType lastPassiveType;
 
     private String hostname;
 
@@ -62,14 +71,26 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     private final PresenceDetectionListener updateListener;
     private ScheduledFuture<?> refreshJob;
     private InetAddress destination;
-    ExecutorService executorService;
+    volatile CountDownLatch detectionInProgress;
+    private int detectionRound;
     private String dhcpState = "off";
     Integer currentCheck = 0;
     int detectionChecks;
 
     public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS)
             throws IllegalArgumentException {
+        this(updateListener, cacheDeviceStateTimeInMS, PresenceProbeEngine.getInstance());
+    }
+
+    /**
+     * @param updateListener The listener for the detection results
+     * @param cacheDeviceStateTimeInMS The time a detection result is valid
+     * @param probeEngine The engine performing the probes, if not the one shared by the things
+     */
+    public PresenceDetection(final PresenceDetectionListener updateListener, int cacheDeviceStateTimeInMS,
+            PresenceProbeEngine probeEngine) throws IllegalArgumentException {
         this.updateListener = updateListener;
+        this.probeEngine = probeEngine;
         cache = new ExpiringCacheAsync<PresenceDetectionValue>(cacheDeviceStateTimeInMS, () -> {
             performPresenceDetection(false);
         });
@@ -111,6 +132,14 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         this.useDHCPsniffing = enable;
     }
 
+    /**
+     * Enables or disables the passive detection by the changes of the kernel neighbour table (ARP cache).
+     * Only available on Linux, the neighbour table is read from /proc/net/arp.
+     */
+    public void setUseArpCacheListen(boolean enable) {
+        this.useArpCacheListen = enable;
+    }
+
     public void setRefreshInterval(long refreshInterval) {
         this.refreshIntervalInMS = refreshInterval;
     }
@@ -156,6 +185,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         arpPingMethod = networkUtils.determineNativeARPpingMethod(arpPingUtilPath);
     }
 
+    /**
+     * Sets the ping method without a feature test, for example because it has been determined already.
+     *
+     * @param pingMethod The ping method or null to disable ICMP pings
+     */
+    public void setPingMethod(IpPingMethodEnum pingMethod) {
+        this.pingMethod = pingMethod;
+    }
+
+    /**
+     * Sets the ARP ping method without a feature test, for example because it has been determined already.
+     * Will be disabled if the destination is not an IPv4 address.
+     *
+     * @param arpPingMethod The ARP ping method or null to disable ARP pings
+     * @param arpPingUtilPath The file path to the utility
+     */
+    public void setArpPingMethod(ArpPingUtilEnum arpPingMethod, String arpPingUtilPath) {
+        this.arpPingUtilPath = arpPingUtilPath;
+        this.arpPingMethod = destination instanceof Inet4Address ? arpPingMethod : null;
+    }
+
     public ArpPingUtilEnum arpPingMethod() {
         return arpPingMethod;
     }
@@ -202,14 +252,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         cache.getValue(callback);
     }
 
-    public ExecutorService getThreadsFor(int threadCount) {
-        return Executors.newFixedThreadPool(threadCount);
-    }
-
     /**
      * Perform a presence detection with ICMP-, ARP ping and
-     * TCP connection attempts simultaneously. A fixed thread pool will be created with as many
-     * thread as necessary to perform all tests at once.
+     * TCP connection attempts simultaneously. The probes are performed by the {@link PresenceProbeEngine}
+     * shared by all presence detections.
      *
      * This is a NO-OP, if there is already an ongoing detection or if the cached value
      * is not expired yet.
@@ -223,64 +269,73 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      * @return Return true if a presence detection is performed and false otherwise.
      */
     public boolean performPresenceDetection(boolean waitForDetectionToFinish) {
-        if (executorService != null) {
-            logger.debug(
-                    "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
-                    hostname, tcpPorts);
-            return false;
-        }
+        Set<String> interfaceNames = null;
+        final int round;
+
+        synchronized (this) {
+            if (detectionInProgress != null) {
+                logger.debug(
+                        "There is already an ongoing presence discovery for {} and a new one was issued by the scheduler! TCP Port {}",
+                        hostname, tcpPorts);
+                return false;
+            }
 
-        if (!cache.isExpired()) {
-            return false;
-        }
+            if (!cache.isExpired()) {
+                return false;
+            }
 
-        Set<String> interfaceNames = null;
+            if (lastPassiveSeenInMS + refreshIntervalInMS > System.currentTimeMillis()) {
+                submitPassiveResult();
+                return true;
+            }
 
-        currentCheck = 0;
-        detectionChecks = tcpPorts.size();
-        if (pingMethod != null) {
-            detectionChecks += 1;
-        }
-        if (arpPingMethod != null) {
-            interfaceNames = networkUtils.getInterfaceNames();
-            detectionChecks += interfaceNames.size();
-        }
+            currentCheck = 0;
+            detectionChecks = tcpPorts.size();
+            if (pingMethod != null) {
+                detectionChecks += 1;
+            }
+            if (arpPingMethod != null) {
+                interfaceNames = networkUtils.getInterfaceNames();
+                detectionChecks += interfaceNames.size();
+            }
 
-        if (detectionChecks == 0) {
-            return false;
-        }
+            if (detectionChecks == 0) {
+                return false;
+            }
 
-        executorService = getThreadsFor(detectionChecks);
+            detectionInProgress = new CountDownLatch(1);
+            round = ++detectionRound;
+        }
 
+        // TCP connection attempts, they report back to checkIfFinished() on their own
         for (Integer tcpPort : tcpPorts) {
-            executorService.execute(() -> {
-                Thread.currentThread().setName("presenceDetectionTCP_" + hostname + " " + String.valueOf(tcpPort));
-                performServicePing(tcpPort);
-                checkIfFinished();
-            });
+            performServicePing(tcpPort);
         }
 
-        // ARP ping for IPv4 addresses. Use an own executor for each network interface
+        // ARP ping for IPv4 addresses. One probe for each network interface
         if (interfaceNames != null) {
             for (final String interfaceName : interfaceNames) {
-                executorService.execute(() -> {
-                    Thread.currentThread().setName("presenceDetectionARP_" + hostname + " " + interfaceName);
-                    performARPping(interfaceName);
-                    checkIfFinished();
+                probeEngine.execute(() -> {
+                    if (isCurrentRound(round)) {
+                        performARPping(interfaceName);
+                        checkIfFinished(round);
+                    }
                 });
             }
         }
 
         // ICMP ping
         if (pingMethod != null) {
-            executorService.execute(() -> {
+            probeEngine.execute(() -> {
+                if (!isCurrentRound(round)) {
+                    return;
+                }
                 if (pingMethod != IpPingMethodEnum.JAVA_PING) {
-                    Thread.currentThread().setName("presenceDetectionICMP_" + hostname);
                     performSystemPing();
                 } else {
                     performJavaPing();
                 }
-                checkIfFinished();
+                checkIfFinished(round);
             });
         }
 
@@ -294,17 +349,17 @@ public class PresenceDetection implements IPRequestReceivedCallback {
     /**
      * Calls updateListener.finalDetectionResult() with a final result value.
      * Safe to be called from different threads. After a call to this method,
-     * the presence detection process is finished and all threads are forcefully
-     * shut down.
+     * the presence detection process is finished and the results of probes still
+     * in progress are ignored.
      */
     private synchronized void submitFinalResult() {
         // Do nothing if we are not in a detection process
-        if (executorService == null) {
+        if (detectionInProgress == null) {
             return;
         }
         // Finish the detection process
-        executorService.shutdownNow();
-        executorService = null;
+        detectionInProgress.countDown();
+        detectionInProgress = null;
         detectionChecks = 0;
 
         PresenceDetectionValue v;
@@ -322,13 +377,27 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         updateListener.finalDetectionResult(v);
     }
 
+    /**
+     * Submits the last passive detection as final result without probing the device.
+     */
+    private synchronized void submitPassiveResult() {
+        logger.trace("{} has been detected passively, no active presence detection necessary", hostname);
+        PresenceDetectionValue v = reachableValue(lastPassiveType, 0);
+        updateListener.finalDetectionResult(v);
+    }
+
     /**
      * This method is called after each individual check and increases a check counter.
      * If the counter equals the total checks,the final result is submitted. This will
      * happen way before the "timeoutInMS", if all checks were successful.
      * Thread safe.
+     *
+     * @param round The detection round the check belongs to. Checks of a finished round are ignored.
      */
-    private synchronized void checkIfFinished() {
+    private synchronized void checkIfFinished(int round) {
+        if (!isCurrentRound(round)) {
+            return;
+        }
         currentCheck += 1;
         if (currentCheck < detectionChecks) {
             return;
@@ -336,22 +405,31 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         submitFinalResult();
     }
 
+    private synchronized boolean isCurrentRound(int round) {
+        return detectionInProgress != null && round == detectionRound;
+    }
+
     /**
-     * Waits for the presence detection threads to finish. Returns immediately
+     * Waits for the presence detection probes to finish. Returns immediately
      * if no presence detection is performed right now.
      */
     public void waitForPresenceDetection() {
-        if (executorService == null) {
+        CountDownLatch latch = detectionInProgress;
+        if (latch == null) {
             return;
         }
         try {
             // We may get interrupted here by cancelRefreshJob().
-            executorService.awaitTermination(timeoutInMS + 100, TimeUnit.MILLISECONDS);
+            latch.await(timeoutInMS + 100, TimeUnit.MILLISECONDS);
             submitFinalResult();
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt(); // Reset interrupt flag
-            executorService.shutdownNow();
-            executorService = null;
+            synchronized (this) {
+                if (detectionInProgress == latch) {
+                    detectionInProgress = null;
+                    detectionChecks = 0;
+                }
+            }
         }
     }
 
@@ -368,6 +446,10 @@ public class PresenceDetection implements IPRequestReceivedCallback {
      */
     synchronized PresenceDetectionValue updateReachableValue(PresenceDetectionType type, double latency) {
         lastSeenInMS = System.currentTimeMillis();
+        return reachableValue(type, latency);
+    }
+
+    private synchronized PresenceDetectionValue reachableValue(PresenceDetectionType type, double latency) {
         PresenceDetectionValue v;
         if (cache.isExpired()) {
             v = new PresenceDetectionValue(destination.getHostAddress(), 0);
@@ -380,20 +462,23 @@ public class PresenceDetection implements IPRequestReceivedCallback {
         return v;
     }
 
+    /**
+     * Starts a non-blocking TCP connection attempt to the given port. The attempt counts
+     * as a check of the current detection round once it has finished.
+     *
+     * @param tcpPort The TCP port
+     */
     protected void performServicePing(int tcpPort) {
         logger.trace("Perform TCP presence detection for {} on port: {}", hostname, tcpPort);
-        try {
-            double pingTime = System.nanoTime();
-            if (networkUtils.servicePing(destination.getHostAddress(), tcpPort, timeoutInMS)) {
-                final double latency = Math.round((System.nanoTime() - pingTime) / 1000000.0f);
+        final int round = detectionRound;
+        probeEngine.probeTcp(destination, tcpPort, timeoutInMS, (reachable, latency) -> {
+            if (reachable && isCurrentRound(round)) {
                 PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.TCP_CONNECTION, latency);
                 v.addReachableTcpService(tcpPort);
                 updateListener.partialDetectionResult(v);
             }
-        } catch (IOException e) {
-            // This should not happen and might be a user configuration issue, we log a warning message therefore.
-            logger.warn("Could not create a socket connection", e);
-        }
+            checkIfFinished(round);
+        });
     }
 
     /**
@@ -463,7 +548,21 @@ public class PresenceDetection implements IPRequestReceivedCallback {
 
     @Override
     public void dhcpRequestReceived(String ipAddress) {
-        PresenceDetectionValue v = updateReachableValue(PresenceDetectionType.DHCP_REQUEST, 0);
+        passiveDetection(PresenceDetectionType.DHCP_REQUEST);
+    }
+
+    @Override
+    public void neighbourSeen(String ipAddress) {
+        passiveDetection(PresenceDetectionType.ARP_CACHE);
+    }
+
+    private void passiveDetection(PresenceDetectionType type) {
+        PresenceDetectionValue v;
+        synchronized (this) {
+            v = updateReachableValue(type, 0);
+            lastPassiveSeenInMS = lastSeenInMS;
+            lastPassiveType = type;
+        }
         updateListener.partialDetectionResult(v);
     }
 
@@ -480,6 +579,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
                 refreshIntervalInMS, TimeUnit.MILLISECONDS);
 
         enableDHCPListen(useDHCPsniffing);
+        enableArpCacheListen(useArpCacheListen);
     }
 
     /**
@@ -498,6 +598,7 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             refreshJob = null;
         }
         enableDHCPListen(false);
+        enableArpCacheListen(false);
     }
 
     /**
@@ -525,4 +626,21 @@ public class PresenceDetection implements IPRequestReceivedCallback {
             dhcpState = "off";
         }
     }
+
+    /**
+     * Enables/Disables the passive detection by the changes of the kernel neighbour table. The hostname of this
+     * network service object will be registered to the neighbour table reader if enabled and unregistered otherwise.
+     *
+     * @param enabled Enable/Disable the neighbour table reader for this hostname.
+     */
+    private void enableArpCacheListen(boolean enabled) {
+        if (enabled) {
+            if (!ArpCacheListenService.register(destination.getHostAddress(), this)) {
+                logger.debug("No neighbour table available, passive detection by the ARP cache is disabled");
+                useArpCacheListen = false;
+            }
+        } else {
+            ArpCacheListenService.unregister(destination.getHostAddress());
+        }
+    }
 }
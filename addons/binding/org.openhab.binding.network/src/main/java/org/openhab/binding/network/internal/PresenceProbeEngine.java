@@ -0,0 +1,402 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channel;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Performs reachability probes. The singleton instance performs the probes of all presence detections of the
+ * things, further instances with their own limits can be created for bulk probing like a network scan.
+ *
+ * TCP connection attempts are non-blocking and are all driven by a single selector thread. At most
+ * {@link #MAX_TCP_PROBES} connection attempts are in flight at the same time (by default), further attempts
+ * are queued until one of them finishes. Optionally the rate of new connection attempts is limited as well.
+ * Probes that can only be performed blocking (ICMP and ARP pings, which need the native utilities or
+ * {@link InetAddress#isReachable(int)}) are run by a pool of at most {@link #MAX_BLOCKING_PROBES} threads
+ * (by default), further probes are queued.
+ *
+ * No threads are kept while there is nothing to probe: the selector thread ends and the pool threads
+ * terminate after {@link #IDLE_TIMEOUT_MS} without probes, and are started again by the next probe.
+ *
+ * @author agent - Initial contribution
+ */
+public class PresenceProbeEngine {
+    /** The maximum number of TCP connection attempts in flight */
+    public static final int MAX_TCP_PROBES = 256;
+    /** The maximum number of blocking probes performed at the same time */
+    public static final int MAX_BLOCKING_PROBES = 16;
+    static final long IDLE_TIMEOUT_MS = 60000;
+
+    /**
+     * Is called with the result of a probe. Must not block, as it is called by the selector thread.
+     */
+    @FunctionalInterface
+    public interface ProbeCallback {
+        /**
+         * @param reachable True if the destination responded
+         * @param latencyInMS The time the destination took to respond in milliseconds
+         */
+        void probeFinished(boolean reachable, double latencyInMS);
+    }
+
+    private static PresenceProbeEngine instance;
+
+    private final Logger logger = LoggerFactory.getLogger(PresenceProbeEngine.class);
+    private final Queue<TcpProbe> queuedTcpProbes = new ConcurrentLinkedQueue<>();
+    private final ThreadPoolExecutor blockingProbes;
+    private final int maxTcpProbes;
+    private final int tcpProbesPerSecond;
+
+    /// Selector state, guarded by this
+    private Selector selector;
+    private Thread selectorThread;
+    private boolean stopped;
+
+    /// Only accessed by the selector thread
+    private int tcpProbesInFlight;
+    private double tcpProbeCredit;
+    private long tcpProbeCreditTime;
+
+    public static synchronized PresenceProbeEngine getInstance() {
+        if (instance == null) {
+            instance = new PresenceProbeEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Stops the engine. All queued and running TCP probes are reported as not reachable, queued blocking
+     * probes are discarded. A new engine is created by the next call to {@link #getInstance()}.
+     */
+    public static synchronized void shutdown() {
+        if (instance != null) {
+            instance.stop();
+            instance = null;
+        }
+    }
+
+    PresenceProbeEngine() {
+        this(MAX_TCP_PROBES, 0, MAX_BLOCKING_PROBES);
+    }
+
+    /**
+     * Creates an engine with its own threads and limits. Stop it with {@link #stop()} if it is not needed anymore.
+     *
+     * @param maxTcpProbes The maximum number of TCP connection attempts in flight
+     * @param tcpProbesPerSecond The maximum number of TCP connection attempts started per second, 0 for no limit
+     * @param maxBlockingProbes The maximum number of blocking probes performed at the same time
+     */
+    public PresenceProbeEngine(int maxTcpProbes, int tcpProbesPerSecond, int maxBlockingProbes) {
+        this.maxTcpProbes = maxTcpProbes;
+        this.tcpProbesPerSecond = tcpProbesPerSecond;
+        AtomicInteger threadCount = new AtomicInteger();
+        blockingProbes = new ThreadPoolExecutor(maxBlockingProbes, maxBlockingProbes, IDLE_TIMEOUT_MS,
+                TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "networkPresenceProbe-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        blockingProbes.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Attempts to open a TCP connection to the given port. Only an accepted connection counts as reachable,
+     * the connection is closed immediately.
+     *
+     * @param address The destination address
+     * @param port The destination TCP port
+     * @param timeoutInMS The time the connection attempt may take, not including the time it is queued
+     * @param callback Called exactly once with the result
+     */
+    public void probeTcp(InetAddress address, int port, int timeoutInMS, ProbeCallback callback) {
+        queuedTcpProbes.add(new TcpProbe(new InetSocketAddress(address, port), timeoutInMS, callback));
+        if (!wakeUpSelector()) {
+            failQueuedProbes();
+        }
+    }
+
+    /**
+     * Performs a blocking probe on the shared probe threads.
+     *
+     * @param probe The probe. Should not take longer than the timeout of the presence detection.
+     */
+    public void execute(Runnable probe) {
+        try {
+            blockingProbes.execute(probe);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Presence probe engine is stopped, the probe is not performed");
+        }
+    }
+
+    /**
+     * Stops the engine. All queued and running TCP probes are reported as not reachable, queued blocking
+     * probes are discarded and running ones are interrupted.
+     */
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+            blockingProbes.shutdownNow();
+            if (selectorThread != null) {
+                // The selector thread fails the remaining probes
+                selector.wakeup();
+                return;
+            }
+        }
+        failQueuedProbes();
+    }
+
+    /**
+     * Makes the selector thread start the queued probes, and starts the thread if necessary.
+     *
+     * @return False if the queued probes cannot be performed, because the engine is stopped or there is no selector
+     */
+    private synchronized boolean wakeUpSelector() {
+        if (stopped) {
+            return false;
+        }
+        if (selectorThread != null) {
+            selector.wakeup();
+            return true;
+        }
+        try {
+            selector = Selector.open();
+        } catch (IOException e) {
+            logger.warn("Could not open a selector for the TCP presence probes", e);
+            return false;
+        }
+        selectorThread = new Thread(this::runSelector, "networkPresenceProbeSelector");
+        selectorThread.setDaemon(true);
+        selectorThread.start();
+        return true;
+    }
+
+    private void runSelector() {
+        long idleSince = System.nanoTime();
+        try {
+            while (!isStopped()) {
+                startQueuedProbes();
+
+                long now = System.nanoTime();
+                if (tcpProbesInFlight == 0 && queuedTcpProbes.isEmpty()) {
+                    if (now - idleSince >= TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS) && endIfIdle()) {
+                        return;
+                    }
+                } else {
+                    idleSince = now;
+                }
+
+                long wakeUp = nextDeadline(now);
+                if (tcpProbesPerSecond > 0 && !queuedTcpProbes.isEmpty() && tcpProbesInFlight < maxTcpProbes) {
+                    // Throttled, wake up as soon as the next probe may start
+                    wakeUp = Math.min(wakeUp, now + (long) ((1 - tcpProbeCredit) * 1000000000L / tcpProbesPerSecond));
+                }
+                selector.select(Math.max(1, TimeUnit.NANOSECONDS.toMillis(wakeUp - now)));
+
+                Iterator<SelectionKey> selectedKeys = selector.selectedKeys().iterator();
+                while (selectedKeys.hasNext()) {
+                    SelectionKey key = selectedKeys.next();
+                    selectedKeys.remove();
+                    if (key.isValid() && key.isConnectable()) {
+                        finishConnect(key);
+                    }
+                }
+
+                expireProbes();
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            logger.warn("TCP presence probes failed", e);
+        } finally {
+            if (selectorThread == Thread.currentThread()) {
+                // Stopped or failed, the probes in flight are lost
+                for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                    if (key.isValid()) {
+                        finish(key, false);
+                    }
+                }
+                synchronized (this) {
+                    closeSelector();
+                    selectorThread = null;
+                }
+                if (!wakeUpSelector()) {
+                    failQueuedProbes();
+                }
+            }
+        }
+    }
+
+    private synchronized boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Ends the selector thread, unless a probe has been queued meanwhile. New probes will start a new thread.
+     */
+    private synchronized boolean endIfIdle() {
+        if (!queuedTcpProbes.isEmpty()) {
+            return false;
+        }
+        closeSelector();
+        selectorThread = null;
+        return true;
+    }
+
+    private void closeSelector() {
+        try {
+            selector.close();
+        } catch (IOException e) {
+            logger.debug("Could not close the selector of the TCP presence probes", e);
+        }
+    }
+
+    /**
+     * Starts queued probes as long as the limits allow it. If the rate is limited, a credit of one probe is
+     * accumulated every 1/rate seconds, up to the probes of one second.
+     */
+    private void startQueuedProbes() {
+        if (tcpProbesPerSecond > 0) {
+            long now = System.nanoTime();
+            tcpProbeCredit = Math.min(tcpProbesPerSecond,
+                    tcpProbeCredit + (now - tcpProbeCreditTime) * tcpProbesPerSecond / 1000000000.0);
+            tcpProbeCreditTime = now;
+        }
+        TcpProbe probe;
+        while (tcpProbesInFlight < maxTcpProbes && (tcpProbesPerSecond == 0 || tcpProbeCredit >= 1)
+                && (probe = queuedTcpProbes.poll()) != null) {
+            tcpProbeCredit--;
+            SocketChannel channel = null;
+            try {
+                channel = SocketChannel.open();
+                channel.configureBlocking(false);
+                probe.start();
+                if (channel.connect(probe.address)) {
+                    channel.close();
+                    probe.finish(true);
+                } else {
+                    channel.register(selector, SelectionKey.OP_CONNECT, probe);
+                    tcpProbesInFlight++;
+                }
+            } catch (IOException | RuntimeException e) {
+                // Unresolved addresses and unreachable networks are reported immediately
+                logger.trace("TCP presence probe to {} failed", probe.address, e);
+                closeQuietly(channel);
+                probe.finish(false);
+            }
+        }
+    }
+
+    private void finishConnect(SelectionKey key) {
+        boolean reachable;
+        try {
+            reachable = ((SocketChannel) key.channel()).finishConnect();
+        } catch (IOException e) {
+            reachable = false;
+        }
+        finish(key, reachable);
+    }
+
+    private void expireProbes() {
+        long now = System.nanoTime();
+        List<SelectionKey> expired = new ArrayList<>();
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid() && ((TcpProbe) key.attachment()).deadline - now <= 0) {
+                expired.add(key);
+            }
+        }
+        for (SelectionKey key : expired) {
+            finish(key, false);
+        }
+    }
+
+    private long nextDeadline(long now) {
+        long deadline = now + TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS);
+        for (SelectionKey key : selector.keys()) {
+            if (key.isValid()) {
+                long probeDeadline = ((TcpProbe) key.attachment()).deadline;
+                if (probeDeadline - deadline < 0) {
+                    deadline = probeDeadline;
+                }
+            }
+        }
+        return deadline;
+    }
+
+    private void finish(SelectionKey key, boolean reachable) {
+        key.cancel();
+        closeQuietly(key.channel());
+        tcpProbesInFlight--;
+        ((TcpProbe) key.attachment()).finish(reachable);
+    }
+
+    private void failQueuedProbes() {
+        TcpProbe probe;
+        while ((probe = queuedTcpProbes.poll()) != null) {
+            probe.finish(false);
+        }
+    }
+
+    private void closeQuietly(Channel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The probe result is known already
+        }
+    }
+
+    private class TcpProbe {
+        final InetSocketAddress address;
+        final int timeoutInMS;
+        final ProbeCallback callback;
+        long startTime;
+        long deadline;
+
+        TcpProbe(InetSocketAddress address, int timeoutInMS, ProbeCallback callback) {
+            this.address = address;
+            this.timeoutInMS = timeoutInMS;
+            this.callback = callback;
+        }
+
+        void start() {
+            startTime = System.nanoTime();
+            deadline = startTime + TimeUnit.MILLISECONDS.toNanos(timeoutInMS);
+        }
+
+        void finish(boolean reachable) {
+            double latency = reachable ? Math.round((System.nanoTime() - startTime) / 1000000.0f)
+                    : PresenceDetection.NOT_REACHABLE;
+            try {
+                callback.probeFinished(reachable, latency);
+            } catch (RuntimeException e) {
+                logger.warn("Presence probe callback failed", e);
+            }
+        }
+    }
+}
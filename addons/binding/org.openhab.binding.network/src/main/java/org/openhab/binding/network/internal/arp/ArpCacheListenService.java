@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import java.io.File;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton. NeighbourSeenCallback objects can register and unregister.
+ * If the first one is registered and there is no singleton instance, an instance will be created and the
+ * reader thread will be started. If the last NeighbourSeenCallback is removed, the thread will be stopped.
+ * NeighbourSeenCallback will be called for the address that is registered and has a new or changed entry
+ * in the kernel neighbour table.
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpCacheListenService {
+    static final File ARP_CACHE_FILE = new File("/proc/net/arp");
+    static ArpCacheReader instance;
+    static Map<String, NeighbourSeenCallback> registeredListeners = new TreeMap<>();
+    static Logger logger = LoggerFactory.getLogger(ArpCacheListenService.class);
+
+    /**
+     * Registers a listener for the given address.
+     *
+     * @return False if there is no neighbour table to read on this system. The listener is not registered then.
+     */
+    public static synchronized boolean register(String hostAddress, NeighbourSeenCallback listener) {
+        if (!ARP_CACHE_FILE.canRead()) {
+            return false;
+        }
+        if (instance == null) {
+            instance = new ArpCacheReader(ARP_CACHE_FILE, (String ipAddress) -> {
+                NeighbourSeenCallback registered;
+                synchronized (registeredListeners) {
+                    registered = registeredListeners.get(ipAddress);
+                }
+                if (registered != null) {
+                    registered.neighbourSeen(ipAddress);
+                } else {
+                    logger.trace("Neighbour table change for unknown address: {}", ipAddress);
+                }
+            });
+            instance.start();
+        }
+        synchronized (registeredListeners) {
+            registeredListeners.put(hostAddress, listener);
+        }
+        return true;
+    }
+
+    public static synchronized void unregister(String hostAddress) {
+        synchronized (registeredListeners) {
+            registeredListeners.remove(hostAddress);
+            if (!registeredListeners.isEmpty()) {
+                return;
+            }
+        }
+
+        if (instance != null) {
+            instance.close();
+        }
+        instance = null;
+    }
+}
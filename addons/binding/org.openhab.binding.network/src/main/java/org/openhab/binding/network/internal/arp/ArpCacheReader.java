@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the kernel neighbour table (/proc/net/arp on Linux) periodically and reports the addresses
+ * whose entry has been added, has been resolved again or changed its hardware address since the last read.
+ * Such a change means that the kernel resolved the address because of traffic of or to the device, no
+ * packets are sent for this.
+ *
+ * The entries present at the first read are not reported, as their age is unknown. Incomplete entries
+ * (the device did not answer) and permanent entries (configured manually) are ignored.
+ *
+ * @author agent - Initial contribution
+ */
+public class ArpCacheReader extends Thread {
+    static final long READ_INTERVAL_MS = 5000;
+    /** The entry is resolved (ATF_COM) */
+    private static final int FLAG_COMPLETE = 0x02;
+    /** The entry has been configured manually (ATF_PERM) */
+    private static final int FLAG_PERMANENT = 0x04;
+
+    private final Logger logger = LoggerFactory.getLogger(ArpCacheReader.class);
+    private final File arpCacheFile;
+    private final NeighbourSeenCallback listener;
+    private Map<String, String> knownEntries;
+    volatile boolean willbeclosed = false;
+
+    ArpCacheReader(File arpCacheFile, NeighbourSeenCallback listener) {
+        super("ArpCacheReader");
+        setDaemon(true);
+        this.arpCacheFile = arpCacheFile;
+        this.listener = listener;
+    }
+
+    @Override
+    public void run() {
+        logger.debug("Neighbour table reader online");
+        while (!willbeclosed) {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(arpCacheFile), StandardCharsets.US_ASCII))) {
+                for (String ipAddress : readChanges(reader)) {
+                    listener.neighbourSeen(ipAddress);
+                }
+            } catch (IOException e) {
+                logger.debug("Could not read the neighbour table: {}", e.getLocalizedMessage());
+            }
+            try {
+                Thread.sleep(READ_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads the neighbour table and compares it to the previous read.
+     *
+     * @param reader The neighbour table, including the header line
+     * @return The addresses with new or changed entries, in the order of the table
+     */
+    Set<String> readChanges(BufferedReader reader) throws IOException {
+        Map<String, String> entries = new HashMap<>();
+        // Skip the header: IP address, HW type, Flags, HW address, Mask, Device
+        String line = reader.readLine();
+        Set<String> changed = new LinkedHashSet<>();
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length < 4) {
+                continue;
+            }
+            int flags;
+            try {
+                flags = Integer.decode(fields[2]);
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            if ((flags & FLAG_COMPLETE) == 0 || (flags & FLAG_PERMANENT) != 0) {
+                continue;
+            }
+            entries.put(fields[0], fields[3]);
+            if (knownEntries != null && !fields[3].equals(knownEntries.get(fields[0]))) {
+                changed.add(fields[0]);
+            }
+        }
+        knownEntries = entries;
+        return changed;
+    }
+
+    /**
+     * Stops the reader thread and waits for it to finish.
+     * Does nothing if the reader thread is not running.
+     */
+    public void close() {
+        if (isAlive()) {
+            willbeclosed = true;
+            interrupt();
+            try {
+                join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.network.internal.arp;
+
+/**
+ * Implement this interface to be notified of new or changed entries of the kernel
+ * neighbour table for a registered IP address. Register to {@see ArpCacheListenService}.
+ *
+ * @author agent - Initial contribution
+ */
+public interface NeighbourSeenCallback {
+    /**
+     * The {@see ArpCacheReader} found a new or changed entry in the neighbour table,
+     * so the device has been active on the network recently.
+     *
+     * @param ipAddress The IP address of the entry.
+     */
+    void neighbourSeen(String ipAddress);
+}
@@ -10,15 +10,17 @@ package org.openhab.binding.network.internal.discovery;
 
 import static org.openhab.binding.network.NetworkBindingConstants.*;
 
+import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.config.discovery.AbstractDiscoveryService;
 import org.eclipse.smarthome.config.discovery.DiscoveryResultBuilder;
@@ -28,7 +30,10 @@ import org.openhab.binding.network.internal.NetworkBindingConfiguration;
 import org.openhab.binding.network.internal.PresenceDetection;
 import org.openhab.binding.network.internal.PresenceDetectionListener;
 import org.openhab.binding.network.internal.PresenceDetectionValue;
+import org.openhab.binding.network.internal.PresenceProbeEngine;
 import org.openhab.binding.network.internal.utils.NetworkUtils;
+import org.openhab.binding.network.internal.utils.NetworkUtils.ArpPingUtilEnum;
+import org.openhab.binding.network.internal.utils.NetworkUtils.IpPingMethodEnum;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
@@ -43,6 +48,10 @@ import com.google.common.collect.Sets;
  * the current Network. It uses every Network Interface which is connected to a network.
  * It tries common TCP ports to connect to, ICMP pings and ARP pings.
  *
+ * A scan sweeps the network with its own {@link PresenceProbeEngine}: the TCP connection attempts of all IPs
+ * are pipelined with many attempts in flight and a limited rate of new attempts, the pings are performed by
+ * a bounded number of threads. Devices are reported as soon as they respond.
+ *
  * @author David Graeff - Rewritten
  * @author Marc Mettke - Initial contribution
  */
@@ -50,6 +59,9 @@ import com.google.common.collect.Sets;
 public class NetworkDiscoveryService extends AbstractDiscoveryService implements PresenceDetectionListener {
     static final int PING_TIMEOUT_IN_MS = 500;
     static final int MAXIMUM_IPS_PER_INTERFACE = 255;
+    static final int SWEEP_TCP_PROBES = 2048;
+    static final int SWEEP_TCP_PROBES_PER_SECOND = 1000;
+    static final int SWEEP_BLOCKING_PROBES = 32;
     private static final long DISCOVERY_RESULT_TTL = TimeUnit.MINUTES.toSeconds(10);
     private final Logger logger = LoggerFactory.getLogger(NetworkDiscoveryService.class);
 
@@ -57,8 +69,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     // TCP port 554 (Windows share / Linux samba)
     // TCP port 1025 (Xbox / MS-RPC)
     private Set<Integer> tcp_service_ports = Sets.newHashSet(80, 548, 554, 1025);
-    private Integer scannedIPcount;
-    private ExecutorService executorService = null;
+    private PresenceProbeEngine sweepEngine = null;
     private final NetworkBindingConfiguration configuration = new NetworkBindingConfiguration();
     NetworkUtils networkUtils = new NetworkUtils();
 
@@ -89,6 +100,7 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     @Deactivate
     protected void deactivate() {
         super.deactivate();
+        stopScan();
     }
 
     @Override
@@ -109,22 +121,67 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
     }
 
     /**
-     * Starts the DiscoveryThread for each IP on each interface on the network
+     * Starts the sweep of each IP on each interface on the network
      */
     @Override
     protected void startScan() {
-        if (executorService != null) {
-            return;
+        final PresenceProbeEngine engine;
+        synchronized (this) {
+            if (sweepEngine != null) {
+                return;
+            }
+            engine = new PresenceProbeEngine(SWEEP_TCP_PROBES, SWEEP_TCP_PROBES_PER_SECOND, SWEEP_BLOCKING_PROBES);
+            sweepEngine = engine;
         }
         removeOlderResults(getTimestampOfLastScan(), null);
         logger.trace("Starting Network Device Discovery");
 
         final Set<String> networkIPs = networkUtils.getNetworkIPs(MAXIMUM_IPS_PER_INTERFACE);
-        executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors() * 2);
-        scannedIPcount = 0;
+        // The feature tests are the same for all IPs
+        final IpPingMethodEnum pingMethod = networkUtils.determinePingMethod();
+        final ArpPingUtilEnum arpPingMethod = StringUtils.isBlank(configuration.arpPingToolPath) ? null
+                : networkUtils.determineNativeARPpingMethod(configuration.arpPingToolPath);
+        // Counts the probes not finished yet, starting with one until all probes are started
+        final AtomicInteger pendingProbes = new AtomicInteger(1);
+        final Runnable probeFinished = () -> {
+            if (pendingProbes.decrementAndGet() == 0) {
+                logger.trace("Scan of {} IPs successful", networkIPs.size());
+                scheduler.execute(() -> scanFinished(engine));
+            }
+        };
 
         for (String ip : networkIPs) {
-            final PresenceDetection s = new PresenceDetection(this, 2000);
+            final InetAddress address;
+            try {
+                address = InetAddress.getByName(ip);
+            } catch (UnknownHostException unknownHostException) {
+                logger.trace("Skip IP that cannot be converted to a InetAddress", unknownHostException);
+                continue;
+            }
+
+            // TCP devices, reported as soon as a connection is accepted
+            for (int tcpPort : tcp_service_ports) {
+                pendingProbes.incrementAndGet();
+                engine.probeTcp(address, tcpPort, PING_TIMEOUT_IN_MS, (reachable, latency) -> {
+                    if (reachable) {
+                        scheduler.execute(() -> newServiceDevice(ip, tcpPort));
+                    }
+                    probeFinished.run();
+                });
+            }
+
+            // Ping devices
+            final PresenceDetection s = new PresenceDetection(new PresenceDetectionListener() {
+                @Override
+                public void partialDetectionResult(PresenceDetectionValue value) {
+                    NetworkDiscoveryService.this.partialDetectionResult(value);
+                }
+
+                @Override
+                public void finalDetectionResult(PresenceDetectionValue value) {
+                    probeFinished.run();
+                }
+            }, 2000, engine);
             try {
                 s.setHostname(ip);
             } catch (UnknownHostException unknownHostException) {
@@ -134,40 +191,36 @@ public class NetworkDiscoveryService extends AbstractDiscoveryService implements
             s.setIOSDevice(true);
             s.setUseDhcpSniffing(false);
             s.setTimeout(PING_TIMEOUT_IN_MS);
-            // Ping devices
-            s.setUseIcmpPing(true);
-            s.setUseArpPing(true, configuration.arpPingToolPath);
-            // TCP devices
-            s.setServicePorts(tcp_service_ports);
-
-            executorService.execute(() -> {
-                Thread.currentThread().setName("Discovery thread " + ip);
-                s.performPresenceDetection(true);
-                synchronized (scannedIPcount) {
-                    scannedIPcount += 1;
-                    if (scannedIPcount == networkIPs.size()) {
-                        logger.trace("Scan of {} IPs successful", scannedIPcount);
-                        stopScan();
-                    }
-                }
-            });
+            s.setPingMethod(pingMethod);
+            s.setArpPingMethod(arpPingMethod, configuration.arpPingToolPath);
+            s.setServicePorts(Collections.emptySet());
+
+            pendingProbes.incrementAndGet();
+            if (!s.performPresenceDetection(false)) {
+                probeFinished.run();
+            }
+        }
+
+        probeFinished.run();
+    }
+
+    private synchronized void scanFinished(PresenceProbeEngine engine) {
+        // A new scan may have been started meanwhile
+        if (sweepEngine == engine) {
+            stopScan();
         }
     }
 
     @Override
     protected synchronized void stopScan() {
         super.stopScan();
-        if (executorService == null) {
+        if (sweepEngine == null) {
             return;
         }
 
-        try {
-            executorService.awaitTermination(PING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt(); // Reset interrupt flag
-        }
-        executorService.shutdown();
-        executorService = null;
+        // Reports the probes not finished yet as not reachable
+        sweepEngine.stop();
+        sweepEngine = null;
     }
 
     public static ThingUID createServiceUID(String ip, int tcpPort) {
@@ -8,9 +8,19 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.items.GenericItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.StateChangeListener;
@@ -26,31 +36,60 @@ import com.beowulfe.hap.HomekitCharacteristicChangeCallback;
  * Homekit library takes care of insuring only a single subscription exists for
  * each accessory.
  *
+ * Changes are not passed on immediately: the first change of a characteristic starts
+ * the notification delay, further changes within the delay are coalesced, and all
+ * characteristics changed meanwhile are notified together once the delay has passed.
+ * If the value of the characteristic is known, a notification is only sent when the
+ * value differs from the one notified last.
+ *
  * @author Andy Lintner
  */
 public class HomekitAccessoryUpdater {
 
+    private static final String THREADPOOL_NAME = "homekit";
+
     private Logger logger = LoggerFactory.getLogger(HomekitAccessoryUpdater.class);
     private final ConcurrentMap<ItemKey, Subscription> subscriptionsByName = new ConcurrentHashMap<>();
+    private final Queue<Subscription> pendingNotifications = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile int notificationDelay = HomekitSettings.DEFAULT_NOTIFICATION_DELAY;
+    private ScheduledFuture<?> flushJob;
 
     public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback) {
-        subscribe(item, null, callback);
+        subscribe(item, null, callback, null);
+    }
+
+    public void subscribe(GenericItem item, HomekitCharacteristicChangeCallback callback,
+            Supplier<CompletableFuture<?>> value) {
+        subscribe(item, null, callback, value);
     }
 
     public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback) {
+        subscribe(item, key, callback, null);
+    }
+
+    /**
+     * Subscribes to changes of a characteristic.
+     *
+     * @param item the item the characteristic is based on
+     * @param key distinguishes the characteristics based on the same item, may be null
+     * @param callback the callback notifying the Homekit clients
+     * @param value provides the current value of the characteristic, used to drop notifications that would not
+     *            change the value. May be null, in which case every change of the item is notified.
+     */
+    public void subscribe(GenericItem item, String key, HomekitCharacteristicChangeCallback callback,
+            Supplier<CompletableFuture<?>> value) {
         if (item == null) {
             return;
         }
         ItemKey itemKey = new ItemKey(item, key);
-        if (subscriptionsByName.containsKey(itemKey)) {
-            logger.error("Received duplicate subscription on {}", item.getName());
-        }
         subscriptionsByName.compute(itemKey, (k, v) -> {
             if (v != null) {
                 logger.error("Received duplicate subscription on {}", item.getName());
-                unsubscribe(item, key);
+                item.removeStateChangeListener(v);
+                pendingNotifications.remove(v);
             }
-            Subscription subscription = (changedItem, oldState, newState) -> callback.changed();
+            Subscription subscription = new Subscription(callback, value);
             item.addStateChangeListener(subscription);
             return subscription;
         });
@@ -66,20 +105,110 @@ public class HomekitAccessoryUpdater {
         }
         subscriptionsByName.computeIfPresent(new ItemKey(item, key), (k, v) -> {
             item.removeStateChangeListener(v);
+            pendingNotifications.remove(v);
             return null;
         });
     }
 
-    @FunctionalInterface
-    private static interface Subscription extends StateChangeListener {
+    /**
+     * @param notificationDelay the time in milliseconds changes are coalesced before they are notified, 0 to notify
+     *            changes immediately
+     */
+    public void setNotificationDelay(int notificationDelay) {
+        this.notificationDelay = Math.max(0, notificationDelay);
+    }
+
+    /**
+     * Cancels the pending notifications
+     */
+    public synchronized void stop() {
+        if (flushJob != null) {
+            flushJob.cancel(false);
+            flushJob = null;
+        }
+        pendingNotifications.clear();
+        flushScheduled.set(false);
+    }
+
+    private void changed(Subscription subscription) {
+        int delay = notificationDelay;
+        if (delay == 0) {
+            subscription.notifyIfChanged();
+            return;
+        }
+        if (subscription.pending.compareAndSet(false, true)) {
+            pendingNotifications.add(subscription);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            scheduleFlush(delay);
+        }
+    }
+
+    private synchronized void scheduleFlush(int delay) {
+        ScheduledExecutorService scheduler = ThreadPoolManager.getScheduledPool(THREADPOOL_NAME);
+        flushJob = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        // Changes arriving from now on schedule the next flush
+        flushScheduled.set(false);
+        Subscription subscription;
+        while ((subscription = pendingNotifications.poll()) != null) {
+            subscription.pending.set(false);
+            try {
+                subscription.notifyIfChanged();
+            } catch (RuntimeException e) {
+                logger.warn("Could not notify Homekit clients: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private class Subscription implements StateChangeListener {
+        private final HomekitCharacteristicChangeCallback callback;
+        private final Supplier<CompletableFuture<?>> value;
+        private final AtomicBoolean pending = new AtomicBoolean();
+        private Object notifiedValue;
+
+        public Subscription(HomekitCharacteristicChangeCallback callback, Supplier<CompletableFuture<?>> value) {
+            this.callback = callback;
+            this.value = value;
+            this.notifiedValue = currentValue();
+        }
 
         @Override
-        void stateChanged(Item item, State oldState, State newState);
+        public void stateChanged(Item item, State oldState, State newState) {
+            changed(this);
+        }
 
         @Override
-        default void stateUpdated(Item item, State state) {
+        public void stateUpdated(Item item, State state) {
             // Do nothing on non-change update
         }
+
+        public synchronized void notifyIfChanged() {
+            Object currentValue = currentValue();
+            if (currentValue != null && Objects.equals(currentValue, notifiedValue)) {
+                return;
+            }
+            notifiedValue = currentValue;
+            callback.changed();
+        }
+
+        /**
+         * @return the current value of the characteristic, or null if it is unknown
+         */
+        private Object currentValue() {
+            if (value == null) {
+                return null;
+            }
+            try {
+                CompletableFuture<?> future = value.get();
+                return future != null ? future.getNow(null) : null;
+            } catch (RuntimeException e) {
+                logger.debug("Could not determine characteristic value: {}", e.getMessage());
+                return null;
+            }
+        }
     }
 
     private static class ItemKey {
@@ -85,12 +85,14 @@ public class HomekitChangeListener implements ItemRegistryChangeListener {
 
     public void setSettings(HomekitSettings settings) {
         this.settings = settings;
+        updater.setNotificationDelay(settings.getNotificationDelay());
     }
 
     public void stop() {
         if (this.itemRegistry != null) {
             this.itemRegistry.removeRegistryChangeListener(this);
         }
+        updater.stop();
     }
 
     private void createRootDevice(HomekitTaggedItem taggedItem) {
@@ -8,6 +8,7 @@
  */
 package org.openhab.io.homekit.internal;
 
+import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.Dictionary;
@@ -26,6 +27,7 @@ public class HomekitSettings {
     private static final String NAME = "openHAB";
     private static final String MANUFACTURER = "openHAB";
     private static final String SERIAL_NUMBER = "none";
+    static final int DEFAULT_NOTIFICATION_DELAY = 200;
 
     /* Name under which openHAB announces itself as HomeKit bridge (#1946) */
     private String name = NAME;
@@ -39,6 +41,7 @@ public class HomekitSettings {
     private String thermostatAutoMode = "Auto";
     private String thermostatOffMode = "Off";
     private InetAddress networkInterface;
+    private int notificationDelay = DEFAULT_NOTIFICATION_DELAY;
 
     private final Logger logger = LoggerFactory.getLogger(HomekitSettings.class);
 
@@ -79,6 +82,17 @@ public class HomekitSettings {
         this.thermostatAutoMode = (String) properties.get("thermostatAutoMode");
         this.thermostatOffMode = (String) properties.get("thermostatOffMode");
 
+        Object notificationDelay = properties.get("notificationDelay");
+        if (notificationDelay != null) {
+            try {
+                this.notificationDelay = new BigDecimal(notificationDelay.toString()).intValue();
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid notificationDelay '{}', using the default of {} ms", notificationDelay,
+                        DEFAULT_NOTIFICATION_DELAY);
+                this.notificationDelay = DEFAULT_NOTIFICATION_DELAY;
+            }
+        }
+
         String networkInterface = (String) properties.get("networkInterface");
         if (networkInterface == null) {
             this.networkInterface = InetAddress.getLocalHost();
@@ -148,6 +162,10 @@ public class HomekitSettings {
         return thermostatOffMode;
     }
 
+    public int getNotificationDelay() {
+        return notificationDelay;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -157,6 +175,7 @@ public class HomekitSettings {
         result = prime * result + (int) (temp ^ (temp >>> 32));
         temp = Double.doubleToLongBits(minimumTemperature);
         result = prime * result + (int) (temp ^ (temp >>> 32));
+        result = prime * result + notificationDelay;
         result = prime * result + ((pin == null) ? 0 : pin.hashCode());
         result = prime * result + port;
         result = prime * result + ((thermostatAutoMode == null) ? 0 : thermostatAutoMode.hashCode());
@@ -185,6 +204,9 @@ public class HomekitSettings {
         if (Double.doubleToLongBits(minimumTemperature) != Double.doubleToLongBits(other.minimumTemperature)) {
             return false;
         }
+        if (notificationDelay != other.notificationDelay) {
+            return false;
+        }
         if (pin == null) {
             if (other.pin != null) {
                 return false;
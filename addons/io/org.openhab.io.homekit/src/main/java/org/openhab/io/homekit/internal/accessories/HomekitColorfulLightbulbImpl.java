@@ -122,17 +122,17 @@ class HomekitColorfulLightbulbImpl extends AbstractHomekitLightbulbImpl<ColorIte
 
     @Override
     public void subscribeHue(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "hue", callback);
+        getUpdater().subscribe(getItem(), "hue", callback, this::getHue);
     }
 
     @Override
     public void subscribeSaturation(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "saturation", callback);
+        getUpdater().subscribe(getItem(), "saturation", callback, this::getSaturation);
     }
 
     @Override
     public void subscribeBrightness(HomekitCharacteristicChangeCallback callback) {
-        getUpdater().subscribe(getItem(), "brightness", callback);
+        getUpdater().subscribe(getItem(), "brightness", callback, this::getBrightness);
     }
 
     @Override
@@ -0,0 +1,313 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.hueemulation.internal;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang.ArrayUtils;
+import org.eclipse.smarthome.core.items.Item;
+import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.HSBType;
+import org.eclipse.smarthome.core.library.types.OnOffType;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.hueemulation.internal.api.HueDevice;
+import org.openhab.io.hueemulation.internal.api.HueState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Index of the items exposed as Hue devices.
+ *
+ * The index is kept up to date by the changes of the item registry and of the item states, so the API calls read the
+ * devices without scanning the item registry. Changes of the index are serialized, reads do not need a lock. The Hue
+ * ids assigned to the items are written to disk in the background whenever they change.
+ *
+ * @author agent - Initial contribution
+ */
+public class HueDeviceIndex implements ItemRegistryChangeListener {
+    private final Logger logger = LoggerFactory.getLogger(HueDeviceIndex.class);
+    private static final String[] SUPPORTED_TAGS = new String[] { "Switchable", "Lighting" };
+    private final Gson gson = new Gson();
+    private final File itemFile;
+    private final Executor executor;
+    private final AtomicBoolean writeScheduled = new AtomicBoolean();
+    private final Object writeLock = new Object();
+    private volatile ItemRegistry itemRegistry;
+    // deviceMap maps a Hue numeric id to a Item Name, ordered by that id
+    private final NavigableMap<Integer, String> deviceMap = new ConcurrentSkipListMap<>();
+    // the Hue ids by item name
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final NavigableMap<Integer, HueDevice> devices = new ConcurrentSkipListMap<>();
+
+    /**
+     * Creates the index and loads the Hue ids assigned before
+     *
+     * @param itemFile the file the Hue ids are persisted in
+     * @param executor the executor persisting the Hue ids
+     */
+    public HueDeviceIndex(File itemFile, Executor executor) {
+        this.itemFile = itemFile;
+        this.executor = executor;
+
+        // load item list from disk
+        if (itemFile.exists()) {
+            JsonReader reader = null;
+            try {
+                reader = new JsonReader(new FileReader(itemFile));
+                Map<Integer, String> tmpMap = gson.fromJson(reader, new TypeToken<Map<Integer, String>>() {
+                }.getType());
+                if (tmpMap != null) {
+                    for (Map.Entry<Integer, String> entry : tmpMap.entrySet()) {
+                        deviceMap.put(entry.getKey(), entry.getValue());
+                        ids.put(entry.getValue(), entry.getKey());
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("Could not read item cache: {}", e.getMessage());
+            } finally {
+                IOUtils.closeQuietly(reader);
+            }
+        }
+    }
+
+    /**
+     * Starts tracking the items of the registry
+     */
+    public synchronized void setItemRegistry(ItemRegistry itemRegistry) {
+        this.itemRegistry = itemRegistry;
+        itemRegistry.addRegistryChangeListener(this);
+        allItemsChanged(Collections.emptyList());
+    }
+
+    /**
+     * Stops tracking the items of the registry
+     */
+    public synchronized void unsetItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.removeRegistryChangeListener(this);
+        this.itemRegistry = null;
+        devices.clear();
+    }
+
+    /**
+     * @return the Hue devices ordered by their id, not to be modified
+     */
+    public NavigableMap<Integer, HueDevice> getDevices() {
+        return Collections.unmodifiableNavigableMap(devices);
+    }
+
+    /**
+     * @return the Hue device with the given id, or null if there is none
+     */
+    public HueDevice getDevice(Integer id) {
+        return devices.get(id);
+    }
+
+    /**
+     * @return the name of the item exposed with the given Hue id, or null if there is none
+     */
+    public String getItemName(Integer id) {
+        return deviceMap.get(id);
+    }
+
+    /**
+     * @return the Hue ids in ascending order
+     */
+    public Set<Integer> getIds() {
+        return Collections.unmodifiableSet(deviceMap.keySet());
+    }
+
+    /**
+     * Updates the Hue device of an item after its state has changed
+     *
+     * @param itemName the name of the item
+     */
+    public void updateState(String itemName) {
+        Integer id = ids.get(itemName);
+        ItemRegistry registry = itemRegistry;
+        if (id == null || registry == null) {
+            return;
+        }
+        Item item = registry.get(itemName);
+        if (item != null) {
+            // the device may just have been removed
+            devices.computeIfPresent(id, (key, device) -> itemToDevice(item, key));
+        }
+    }
+
+    @Override
+    public synchronized void added(Item element) {
+        if (isExposed(element) && addItem(element)) {
+            scheduleWrite();
+        }
+    }
+
+    @Override
+    public synchronized void removed(Item element) {
+        if (removeItem(element.getName())) {
+            scheduleWrite();
+        }
+    }
+
+    @Override
+    public synchronized void updated(Item oldElement, Item element) {
+        if (isExposed(element)) {
+            if (addItem(element)) {
+                scheduleWrite();
+            }
+        } else if (removeItem(element.getName())) {
+            scheduleWrite();
+        }
+    }
+
+    @Override
+    public synchronized void allItemsChanged(Collection<String> oldItemNames) {
+        ItemRegistry registry = itemRegistry;
+        if (registry == null) {
+            return;
+        }
+
+        // if we modify our internal map, persist it to disk
+        boolean modified = false;
+        Set<String> taggedItems = new HashSet<>();
+        for (Item item : registry.getItems()) {
+            if (isExposed(item)) {
+                taggedItems.add(item.getName());
+                modified |= addItem(item);
+            }
+        }
+
+        // clean up removed entries
+        for (String itemName : new HashSet<>(ids.keySet())) {
+            if (!taggedItems.contains(itemName)) {
+                modified |= removeItem(itemName);
+            }
+        }
+
+        if (modified) {
+            scheduleWrite();
+        }
+    }
+
+    /**
+     * Adds or refreshes the Hue device of an item
+     *
+     * @return true if a new Hue id has been assigned to the item
+     */
+    private boolean addItem(Item item) {
+        Integer id = ids.get(item.getName());
+        boolean assigned = id == null;
+        if (assigned) {
+            // hue devices are assigned a numeric number starting with 1, if a device is
+            // removed that number is not used again. Not sure how high this id can get
+            // not worrying about it here
+            id = deviceMap.isEmpty() ? 1 : deviceMap.lastKey().intValue() + 1;
+            deviceMap.put(id, item.getName());
+            ids.put(item.getName(), id);
+        }
+        devices.put(id, itemToDevice(item, id));
+        return assigned;
+    }
+
+    /**
+     * Removes the Hue device of an item
+     *
+     * @return true if the item had a Hue id
+     */
+    private boolean removeItem(String itemName) {
+        Integer id = ids.remove(itemName);
+        if (id == null) {
+            return false;
+        }
+        deviceMap.remove(id);
+        devices.remove(id);
+        return true;
+    }
+
+    private boolean isExposed(Item item) {
+        for (String tag : item.getTags()) {
+            if (ArrayUtils.contains(SUPPORTED_TAGS, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converts an Item to a HueDevice
+     */
+    private HueDevice itemToDevice(Item item, Integer key) {
+        State itemState = item.getState();
+        HueState hueState;
+        if (itemState instanceof HSBType) {
+            HSBType color = (HSBType) itemState;
+            hueState = new HueState(color);
+        } else if (itemState instanceof DecimalType) {
+            short bri = (short) ((((DecimalType) itemState).intValue() * 255) / 100);
+            hueState = new HueState(bri);
+        } else if (itemState instanceof OnOffType) {
+            short bri = (short) (((OnOffType) itemState) == OnOffType.ON ? 255 : 0);
+            hueState = new HueState(bri);
+        } else {
+            hueState = new HueState((short) 0);
+        }
+
+        HueDevice d = new HueDevice(hueState, item.getLabel(), key);
+        return d;
+    }
+
+    /**
+     * Persists the Hue ids in the background. Changes made until the write starts are written at once.
+     */
+    private void scheduleWrite() {
+        if (writeScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                writeScheduled.set(false);
+                writeDeviceMap();
+            });
+        }
+    }
+
+    private void writeDeviceMap() {
+        synchronized (writeLock) {
+            JsonWriter writer = null;
+            try {
+                itemFile.getParentFile().mkdirs();
+                writer = new JsonWriter(new FileWriter(itemFile));
+                gson.toJson(new TreeMap<>(deviceMap), new TypeToken<Map<Integer, String>>() {
+                }.getType(), writer);
+            } catch (IOException e) {
+                logger.error("Could not persist item cache", e);
+            } finally {
+                IOUtils.closeQuietly(writer);
+            }
+        }
+    }
+}
@@ -11,6 +11,7 @@ package org.openhab.io.imperihome.internal;
 import java.util.Map;
 
 import org.eclipse.smarthome.core.id.InstanceUUID;
+import org.openhab.io.imperihome.internal.handler.HistoryAggregator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -21,10 +22,14 @@ import org.slf4j.LoggerFactory;
  */
 public class ImperiHomeConfig {
 
+    private static final int DEFAULT_HISTORY_POINTS = 500;
+
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
     private String systemId;
     private String rootUrl;
+    private int historyPoints = DEFAULT_HISTORY_POINTS;
+    private HistoryAggregator.Function historyAggregation = HistoryAggregator.Function.AVG;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -42,6 +47,27 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyPoints = DEFAULT_HISTORY_POINTS;
+        Object historyPointsObj = config.get("history.points");
+        if (historyPointsObj != null) {
+            try {
+                historyPoints = Math.max(0, Integer.parseInt(historyPointsObj.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid history.points '{}', using {}", historyPointsObj, DEFAULT_HISTORY_POINTS);
+            }
+        }
+
+        historyAggregation = HistoryAggregator.Function.AVG;
+        Object historyAggregationObj = config.get("history.aggregation");
+        if (historyAggregationObj != null) {
+            try {
+                historyAggregation = HistoryAggregator.Function
+                        .valueOf(historyAggregationObj.toString().trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid history.aggregation '{}', using avg", historyAggregationObj);
+            }
+        }
+
         logger.info("Configuration updated");
     }
 
@@ -53,4 +79,15 @@ public class ImperiHomeConfig {
         return rootUrl;
     }
 
+    /**
+     * @return Maximum number of points in a history response, 0 if the history is not aggregated.
+     */
+    public int getHistoryPoints() {
+        return historyPoints;
+    }
+
+    public HistoryAggregator.Function getHistoryAggregation() {
+        return historyAggregation;
+    }
+
 }
@@ -8,18 +8,21 @@
  */
 package org.openhab.io.imperihome.internal.handler;
 
-import java.util.Collection;
+import java.io.IOException;
 
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
-import org.openhab.io.imperihome.internal.model.device.DeviceList;
 import org.openhab.io.imperihome.internal.processor.DeviceRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
- * Device list request handler.
+ * Device list request handler. Writes the device list from the JSON cached per device, and answers with
+ * <code>304 Not Modified</code> when the client already has the current list.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -28,23 +31,60 @@ public class DevicesListHandler {
     private final Logger logger = LoggerFactory.getLogger(DevicesListHandler.class);
 
     private final DeviceRegistry deviceRegistry;
+    private final Gson gson;
+
+    /**
+     * Makes the ETags of this instance differ from the ones handed out before a restart.
+     */
+    private final String eTagPrefix = Long.toHexString(System.currentTimeMillis());
 
-    public DevicesListHandler(DeviceRegistry deviceRegistry) {
+    public DevicesListHandler(DeviceRegistry deviceRegistry, Gson gson) {
         this.deviceRegistry = deviceRegistry;
+        this.gson = gson;
     }
 
-    public DeviceList handle(HttpServletRequest req) {
-        DeviceList response = new DeviceList();
+    public void handle(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+        for (AbstractDevice device : deviceRegistry) {
+            device.refreshParams();
+        }
 
-        Collection<AbstractDevice> devices = deviceRegistry.getDevices().values();
-        for (AbstractDevice device : devices) {
-            device.updateParams();
+        // Read after refreshing, so the version covers all changes made by the refresh
+        String eTag = '"' + eTagPrefix + '-' + Long.toHexString(deviceRegistry.getVersion()) + '"';
+        resp.setHeader("ETag", eTag);
+        resp.setHeader("Cache-Control", "no-cache");
+
+        if (matches(req.getHeader("If-None-Match"), eTag)) {
+            logger.debug("Device list not modified: {}", eTag);
+            resp.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
         }
 
-        response.setDevices(devices);
+        StringBuilder response = new StringBuilder("{\"devices\":[");
+        boolean first = true;
+        for (AbstractDevice device : deviceRegistry) {
+            if (!first) {
+                response.append(',');
+            }
+            response.append(device.toJson(gson));
+            first = false;
+        }
+        response.append("]}");
 
         logger.debug("Device list response: {}", response);
-        return response;
+        resp.getWriter().write(response.toString());
+    }
+
+    private boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*") || candidate.equals(eTag) || candidate.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.imperihome.internal.handler;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.persistence.HistoricItem;
+import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.imperihome.internal.model.HistoryItem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lazily converts the numeric values of a persistence query result to {@link HistoryItem}s. When a maximum number of
+ * points is given, the requested period is divided into that many buckets and the values in each bucket are reduced to
+ * a single point using the aggregation {@link Function}.
+ *
+ * Values are read from the query result only while the history items are iterated, and buckets are formed from
+ * consecutive values, so the result may be ordered either way.
+ *
+ * @author agent - Initial contribution
+ */
+public class HistoryAggregator implements Iterator<HistoryItem> {
+
+    /**
+     * Function reducing the values in a bucket to a single point.
+     */
+    public enum Function {
+        /**
+         * Average value at the average time of the values.
+         */
+        AVG,
+        /**
+         * Lowest value at its own time.
+         */
+        MIN,
+        /**
+         * Highest value at its own time.
+         */
+        MAX
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(HistoryAggregator.class);
+
+    private final Iterator<HistoricItem> source;
+    private final long start;
+    private final long bucketWidth;
+    private final Function function;
+
+    private HistoryItem next;
+    private boolean pending;
+    private long pendingTime;
+    private double pendingValue;
+
+    private int sourceCount;
+    private int resultCount;
+    private boolean finished;
+
+    /**
+     * @param source Persistence query result.
+     * @param start Start of the requested period.
+     * @param end End of the requested period.
+     * @param maxPoints Maximum number of points to produce for the period, or 0 to pass on all values.
+     * @param function Aggregation function.
+     */
+    public HistoryAggregator(Iterator<HistoricItem> source, long start, long end, int maxPoints, Function function) {
+        this.source = source;
+        this.start = start;
+        this.bucketWidth = maxPoints > 0 ? Math.max(1, (end - start + maxPoints - 1) / maxPoints) : 0;
+        this.function = function;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = computeNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public HistoryItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        HistoryItem item = next;
+        next = null;
+        return item;
+    }
+
+    private HistoryItem computeNext() {
+        if (!pending && !readValue()) {
+            finish();
+            return null;
+        }
+
+        resultCount++;
+        if (bucketWidth == 0) {
+            pending = false;
+            return new HistoryItem(pendingTime, pendingValue);
+        }
+
+        long bucket = Math.floorDiv(pendingTime - start, bucketWidth);
+        long firstTime = pendingTime;
+        long timeOffsetSum = 0;
+        double valueSum = 0;
+        int count = 0;
+        long time = pendingTime;
+        double value = pendingValue;
+        do {
+            switch (function) {
+                case MIN:
+                    if (pendingValue < value) {
+                        time = pendingTime;
+                        value = pendingValue;
+                    }
+                    break;
+                case MAX:
+                    if (pendingValue > value) {
+                        time = pendingTime;
+                        value = pendingValue;
+                    }
+                    break;
+                default:
+                    timeOffsetSum += pendingTime - firstTime;
+                    valueSum += pendingValue;
+                    count++;
+                    break;
+            }
+            pending = false;
+        } while (readValue() && Math.floorDiv(pendingTime - start, bucketWidth) == bucket);
+
+        if (count > 0) {
+            time = firstTime + timeOffsetSum / count;
+            value = valueSum / count;
+        }
+        return new HistoryItem(time, value);
+    }
+
+    /**
+     * Reads the next numeric value from the query result.
+     *
+     * @return true if a value has been read, false if the query result is exhausted.
+     */
+    private boolean readValue() {
+        while (source.hasNext()) {
+            HistoricItem historicItem = source.next();
+            sourceCount++;
+            State state = historicItem.getState();
+            if (state instanceof DecimalType) {
+                pendingTime = historicItem.getTimestamp().getTime();
+                pendingValue = ((DecimalType) state).doubleValue();
+                pending = true;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        if (sourceCount == 0) {
+            logger.info("Persistence returned no results for history query");
+        } else if (resultCount == 0) {
+            logger.warn("Persistence returned results for history query, but could not be interpreted as DecimalTypes");
+        } else {
+            logger.debug("Served {} history values from {} persisted values", resultCount, sourceCount);
+        }
+    }
+
+}
@@ -8,31 +8,33 @@
  */
 package org.openhab.io.imperihome.internal.model;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Collections;
+
+import org.openhab.io.imperihome.internal.io.HistoryListTypeAdapter;
 
 /**
- * History list data object.
+ * History list data object. The values are iterated only once, while the list is written by the
+ * {@link HistoryListTypeAdapter}, so they can be produced lazily.
  *
  * @author Pepijn de Geus - Initial contribution
  */
 public class HistoryList {
 
-    private List<HistoryItem> values;
+    private Iterable<HistoryItem> values;
 
     public HistoryList() {
-        this(new LinkedList<HistoryItem>());
+        this(Collections.<HistoryItem> emptyList());
     }
 
-    public HistoryList(List<HistoryItem> resultItems) {
+    public HistoryList(Iterable<HistoryItem> resultItems) {
         this.values = resultItems;
     }
 
-    public List<HistoryItem> getValues() {
+    public Iterable<HistoryItem> getValues() {
         return values;
     }
 
-    public void setValues(List<HistoryItem> values) {
+    public void setValues(Iterable<HistoryItem> values) {
         this.values = values;
     }
 
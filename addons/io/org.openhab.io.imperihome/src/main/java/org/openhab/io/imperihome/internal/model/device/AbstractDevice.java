@@ -27,6 +27,8 @@ import org.openhab.io.imperihome.internal.processor.TagType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.gson.Gson;
+
 /**
  * Abstract parent of all devices. Sets up and tears down state listeners and contains parameter and link data.
  *
@@ -50,9 +52,12 @@ public abstract class AbstractDevice implements StateChangeListener {
     private final transient Map<String, String> links;
     private transient Map<String, String> mapping;
 
-    private transient DeviceRegistry deviceRegistry;
+    private transient volatile DeviceRegistry deviceRegistry;
     private transient ActionRegistry actionRegistry;
 
+    private transient volatile boolean paramsOutdated = true;
+    private transient String json;
+
     public AbstractDevice(DeviceType type, Item item) {
         this.type = type;
         this.item = item;
@@ -136,7 +141,18 @@ public abstract class AbstractDevice implements StateChangeListener {
 
     public void addParam(DeviceParam param) {
         logger.trace("Setting param for device {}: {}", this, param);
-        params.set(param);
+        boolean changed;
+        synchronized (this) {
+            changed = !param.equals(params.put(param.getKey(), param));
+            if (changed) {
+                json = null;
+            }
+        }
+
+        DeviceRegistry registry = deviceRegistry;
+        if (changed && registry != null) {
+            registry.deviceChanged(this);
+        }
     }
 
     public Map<String, String> getLinks() {
@@ -189,12 +205,43 @@ public abstract class AbstractDevice implements StateChangeListener {
     /**
      * Can be implemented by Devices that require their state to be updated manually, instead of relying (only) on Item
      * state change events.
-     * This method is called just before serializing the device to JSON.
+     * This method is called before serializing the device to JSON, once after the device has been registered and again
+     * after each {@link #invalidateParams()}, e.g. because a linked device has changed.
      */
     public void updateParams() {
         logger.trace("updateParams on {}", this);
     }
 
+    /**
+     * Marks the params as outdated, so {@link #updateParams()} is called before the device is serialized next.
+     */
+    public void invalidateParams() {
+        paramsOutdated = true;
+    }
+
+    /**
+     * Calls {@link #updateParams()} if the params have been marked outdated.
+     */
+    public void refreshParams() {
+        if (paramsOutdated) {
+            paramsOutdated = false;
+            updateParams();
+        }
+    }
+
+    /**
+     * Serializes this device. The JSON is cached until a param changes.
+     *
+     * @param gson Gson instance to serialize with.
+     * @return JSON representation of this device.
+     */
+    public synchronized String toJson(Gson gson) {
+        if (json == null) {
+            json = gson.toJson(this);
+        }
+        return json;
+    }
+
     /**
      * Performs an action on this device.
      * 
@@ -62,6 +62,9 @@ public class MultiSwitchDevice extends AbstractDevice {
         if (state instanceof DecimalType) {
             itemValue = String.valueOf(((DecimalType) state).intValue());
         }
+
+        // The value param is derived from the mapping in updateParams()
+        invalidateParams();
     }
 
 }
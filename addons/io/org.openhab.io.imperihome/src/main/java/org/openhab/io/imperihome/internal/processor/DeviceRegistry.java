@@ -15,6 +15,7 @@ import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.openhab.io.imperihome.internal.model.Room;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -32,6 +33,7 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
 
     private final Map<String, AbstractDevice> devices;
     private Set<Room> rooms;
+    private final AtomicLong version = new AtomicLong();
 
     public DeviceRegistry() {
         devices = new ConcurrentHashMap<>();
@@ -49,6 +51,14 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         return new HashSet<>(rooms);
     }
 
+    /**
+     * @return Version of the registry contents, changes whenever a device is added or removed or one of its params
+     *         changes.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     public boolean hasDevices() {
         return !devices.isEmpty();
     }
@@ -65,8 +75,11 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
             return;
         }
 
+        device.setDeviceRegistry(this);
         devices.put(device.getId(), device);
         updateRooms();
+        invalidateLinkingDevices(device);
+        version.incrementAndGet();
 
         logger.debug("Device {} added, registry now contains {} total", device.getName(), devices.size());
     }
@@ -75,11 +88,25 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         AbstractDevice removed = devices.remove(deviceId);
         if (removed != null) {
             updateRooms();
+            invalidateLinkingDevices(removed);
+            version.incrementAndGet();
             logger.debug("Device {} removed, registry now contains {} total", removed.getName(), devices.size());
         }
         return removed;
     }
 
+    /**
+     * Called by a device after one of its params has changed.
+     *
+     * @param device The changed device.
+     */
+    public void deviceChanged(AbstractDevice device) {
+        if (devices.get(device.getId()) == device) {
+            invalidateLinkingDevices(device);
+            version.incrementAndGet();
+        }
+    }
+
     @Override
     public Iterator<AbstractDevice> iterator() {
         return devices.values().iterator();
@@ -94,10 +121,23 @@ public class DeviceRegistry implements Iterable<AbstractDevice> {
         if (rooms != null) {
             rooms.clear();
         }
+        version.incrementAndGet();
 
         logger.debug("Device registry cleared");
     }
 
+    /**
+     * Makes the devices linking to the given device update their params before they are serialized next.
+     */
+    private void invalidateLinkingDevices(AbstractDevice device) {
+        String itemName = device.getItemName();
+        for (AbstractDevice linkingDevice : devices.values()) {
+            if (linkingDevice != device && linkingDevice.getLinks().containsValue(itemName)) {
+                linkingDevice.invalidateParams();
+            }
+        }
+    }
+
     private void updateRooms() {
         Set<Room> newRooms = new HashSet<>();
         for (AbstractDevice device : devices.values()) {
@@ -15,27 +15,35 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.api.ContentProvider;
 import org.eclipse.jetty.client.api.Request;
 import org.eclipse.jetty.client.api.Request.FailureListener;
 import org.eclipse.jetty.client.api.Response;
-import org.eclipse.jetty.client.api.Response.ContentListener;
+import org.eclipse.jetty.client.api.Response.AsyncContentListener;
 import org.eclipse.jetty.client.api.Response.HeadersListener;
 import org.eclipse.jetty.client.api.Result;
-import org.eclipse.jetty.client.util.BytesContentProvider;
 import org.eclipse.jetty.http.HttpField;
 import org.eclipse.jetty.http.HttpFields;
 import org.eclipse.jetty.http.HttpMethod;
 import org.eclipse.jetty.http.HttpStatus;
-import org.eclipse.jetty.util.BufferUtil;
+import org.eclipse.jetty.util.Callback;
 import org.eclipse.jetty.util.URIUtil;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.json.JSONException;
@@ -49,6 +57,7 @@ import io.socket.client.Manager;
 import io.socket.client.Socket;
 import io.socket.emitter.Emitter;
 import io.socket.engineio.client.Transport;
+import io.socket.thread.EventThread;
 
 /**
  * This class provides communication between openHAB and the openHAB Cloud service.
@@ -79,6 +88,13 @@ public class CloudClient {
      */
     private static final int HTTP_CLIENT_TIMEOUT = 30000;
 
+    /*
+     * This constant defines the size of the buffers request bodies are encoded into while they are sent to openHAB
+     */
+    private static final int REQUEST_CONTENT_BUFFER_SIZE = 16 * 1024;
+
+    private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
+
     /*
      * This variable holds base URL for the openHAB Cloud connections
      */
@@ -107,7 +123,7 @@ public class CloudClient {
     /*
      * This hashmap holds HTTP requests to local openHAB which are currently running
      */
-    private HashMap<Integer, Request> runningRequests;
+    private Map<Integer, Request> runningRequests;
 
     /*
      * This variable indicates if connection to the openHAB Cloud is currently in an established state
@@ -138,6 +154,26 @@ public class CloudClient {
     private boolean remoteAccessEnabled;
     private Set<String> exposedItems;
 
+    /*
+     * This variable holds the time in milliseconds item updates are collected before they are sent
+     * to the openHAB Cloud, only the last update of an item within that time is sent
+     */
+    private final int itemUpdateInterval;
+
+    /*
+     * These maps hold the latest state of each exposed item, to be sent again after a reconnect,
+     * and the states waiting to be sent. Their size is bound by the number of exposed items.
+     */
+    private final Map<String, String> latestItemStates = new LinkedHashMap<String, String>();
+    private final Map<String, String> pendingItemUpdates = new LinkedHashMap<String, String>();
+    private ScheduledFuture<?> itemUpdateJob;
+
+    /*
+     * This list holds the actions to run when the response content emitted before has been written to the
+     * openHAB Cloud connection. It is only accessed from the Socket.IO event thread.
+     */
+    private final List<Runnable> contentAwaitingDrain = new ArrayList<Runnable>();
+
     /**
      * Constructor of CloudClient
      *
@@ -145,17 +181,20 @@ public class CloudClient {
      * @param secret openHAB's Secret to connect to the openHAB Cloud
      * @param remoteAccessEnabled Allow the openHAB Cloud to be used as a remote proxy
      * @param exposedItems Items that are made available to apps connected to the openHAB Cloud
+     * @param itemUpdateInterval Time in milliseconds item updates are collected before they are sent, 0 to send
+     *            them immediately
      *
      */
     public CloudClient(String uuid, String secret, String baseURL, String localBaseUrl, boolean remoteAccessEnabled,
-            Set<String> exposedItems) {
+            Set<String> exposedItems, int itemUpdateInterval) {
         this.uuid = uuid;
         this.secret = secret;
         this.baseURL = baseURL;
         this.localBaseUrl = localBaseUrl;
         this.remoteAccessEnabled = remoteAccessEnabled;
         this.exposedItems = exposedItems;
-        runningRequests = new HashMap<Integer, Request>();
+        this.itemUpdateInterval = itemUpdateInterval;
+        runningRequests = new ConcurrentHashMap<Integer, Request>();
         jettyClient = new HttpClient();
         jettyClient.setMaxConnectionsPerDestination(HTTP_CLIENT_MAX_CONNECTIONS_PER_DEST);
         jettyClient.setConnectTimeout(HTTP_CLIENT_TIMEOUT);
@@ -193,6 +232,13 @@ public class CloudClient {
                         headers.put("remoteaccess", Arrays.asList(((Boolean) remoteAccessEnabled).toString()));
                     }
                 });
+                transport.on(Transport.EVENT_DRAIN, new Emitter.Listener() {
+                    @Override
+                    public void call(Object... args) {
+                        logger.trace("Transport.EVENT_DRAIN");
+                        onTransportDrain();
+                    }
+                });
             }
         });
         socket.on(Socket.EVENT_CONNECT, new Emitter.Listener() {
@@ -207,6 +253,8 @@ public class CloudClient {
             public void call(Object... args) {
                 logger.debug("Socket.IO disconnected");
                 isConnected = false;
+                // The running requests are aborted, so their content does not need to be waited for
+                contentAwaitingDrain.clear();
                 onDisconnect();
             }
         }).on(Socket.EVENT_ERROR, new Emitter.Listener() {
@@ -249,6 +297,11 @@ public class CloudClient {
                 logger.error("Could not start Jetty client: {}", e.getMessage());
             }
         }
+        // Send the latest states of the exposed items again, they may have changed while we were disconnected
+        synchronized (pendingItemUpdates) {
+            pendingItemUpdates.putAll(latestItemStates);
+        }
+        scheduleItemUpdates();
     }
 
     /**
@@ -351,17 +404,18 @@ public class CloudClient {
                 request.method(HttpMethod.GET);
             } else if (requestMethod.equals("POST")) {
                 request.method(HttpMethod.POST);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(getRequestContent(requestBody));
             } else if (requestMethod.equals("PUT")) {
                 request.method(HttpMethod.PUT);
-                request.content(new BytesContentProvider(requestBody.getBytes()));
+                request.content(getRequestContent(requestBody));
             } else {
                 // TODO: Reject unsupported methods
                 logger.error("Unsupported request method {}", requestMethod);
                 return;
             }
             ResponseListener listener = new ResponseListener(requestId);
-            request.onResponseHeaders(listener).onResponseContent(listener).onRequestFailure(listener).send(listener);
+            request.onResponseHeaders(listener).onResponseContentAsync(listener).onRequestFailure(listener)
+                    .send(listener);
             // If successfully submitted request to http client, add it to the list of currently
             // running requests to be able to cancel it if needed
             runningRequests.put(requestId, request);
@@ -374,6 +428,14 @@ public class CloudClient {
         }
     }
 
+    /**
+     * Provides the request body to openHAB encoded in UTF-8, with its length known up front. The body is encoded
+     * while it is sent, so it is not copied as a whole.
+     */
+    private ContentProvider getRequestContent(String requestBody) {
+        return new Utf8ContentProvider(requestBody);
+    }
+
     private void setRequestHeaders(Request request, JSONObject requestHeadersJson) {
         @SuppressWarnings("unchecked")
         Iterator<String> headersIterator = requestHeadersJson.keys();
@@ -499,25 +561,66 @@ public class CloudClient {
     }
 
     /**
-     * Send item update to openHAB Cloud
+     * Send item update to openHAB Cloud. The update is sent with the other updates received within the
+     * item update interval, replacing previous updates of the same item.
      *
      * @param itemName the name of the item
      * @param itemState updated item state
      *
      */
     public void sendItemUpdate(String itemName, String itemState) {
-        if (isConnected()) {
-            logger.debug("Sending update '{}' for item '{}'", itemState, itemName);
+        synchronized (pendingItemUpdates) {
+            latestItemStates.put(itemName, itemState);
+            if (!isConnected()) {
+                logger.debug("No connection, Item update is sent after reconnecting");
+                return;
+            }
+            pendingItemUpdates.put(itemName, itemState);
+        }
+        scheduleItemUpdates();
+    }
+
+    /**
+     * Schedules sending the pending item updates, unless it is already scheduled
+     */
+    private void scheduleItemUpdates() {
+        if (itemUpdateInterval <= 0) {
+            sendItemUpdates();
+            return;
+        }
+        synchronized (pendingItemUpdates) {
+            if (itemUpdateJob == null && !pendingItemUpdates.isEmpty()) {
+                itemUpdateJob = ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD)
+                        .schedule(this::sendItemUpdates, itemUpdateInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Sends the pending item updates, one after the other
+     */
+    private void sendItemUpdates() {
+        Map<String, String> itemUpdates;
+        synchronized (pendingItemUpdates) {
+            itemUpdateJob = null;
+            if (!isConnected()) {
+                // the latest states are sent after reconnecting
+                pendingItemUpdates.clear();
+                return;
+            }
+            itemUpdates = new LinkedHashMap<String, String>(pendingItemUpdates);
+            pendingItemUpdates.clear();
+        }
+        for (Map.Entry<String, String> itemUpdate : itemUpdates.entrySet()) {
+            logger.debug("Sending update '{}' for item '{}'", itemUpdate.getValue(), itemUpdate.getKey());
             JSONObject itemUpdateMessage = new JSONObject();
             try {
-                itemUpdateMessage.put("itemName", itemName);
-                itemUpdateMessage.put("itemStatus", itemState);
+                itemUpdateMessage.put("itemName", itemUpdate.getKey());
+                itemUpdateMessage.put("itemStatus", itemUpdate.getValue());
                 socket.emit("itemupdate", itemUpdateMessage);
             } catch (JSONException e) {
                 logger.error("{}", e.getMessage());
             }
-        } else {
-            logger.debug("No connection, Item update is not sent");
         }
     }
 
@@ -528,11 +631,46 @@ public class CloudClient {
         return isConnected;
     }
 
+    /**
+     * Runs the action once the events emitted before have been written to the openHAB Cloud connection
+     *
+     * @param action action to run, outside of the Socket.IO event thread
+     */
+    private void runWhenWritten(Runnable action) {
+        // Socket.IO passes the emitted events on to the transport on its event thread, in the order they were
+        // emitted. So once this runs, the events have been written or wait for the transport to drain.
+        EventThread.exec(() -> contentAwaitingDrain.add(action));
+    }
+
+    /**
+     * Callback method for the Socket.IO transport which is called on the event thread when it has written the events
+     */
+    private void onTransportDrain() {
+        if (contentAwaitingDrain.isEmpty()) {
+            return;
+        }
+        List<Runnable> actions = new ArrayList<Runnable>(contentAwaitingDrain);
+        contentAwaitingDrain.clear();
+        // The events waiting for the drain are passed on to the transport right after it, so run the actions then
+        EventThread.nextTick(() -> ThreadPoolManager.getScheduledPool(THREADPOOL_OPENHABCLOUD).execute(() -> {
+            for (Runnable action : actions) {
+                action.run();
+            }
+        }));
+    }
+
     /**
      * Disconnect from openHAB Cloud
      */
     public void shutdown() {
         logger.info("Shutting down openHAB Cloud service connection");
+        synchronized (pendingItemUpdates) {
+            if (itemUpdateJob != null) {
+                itemUpdateJob.cancel(false);
+                itemUpdateJob = null;
+            }
+            pendingItemUpdates.clear();
+        }
         try {
             jettyClient.stop();
         } catch (Exception e) {
@@ -554,12 +692,13 @@ public class CloudClient {
     }
 
     /*
-     * An internal class which forwards response headers and data back to the openHAB Cloud
+     * An internal class which forwards response headers and data back to the openHAB Cloud.
+     * Further content is only read from openHAB once the previous content has been written to
+     * the openHAB Cloud connection, so a slow connection does not fill up the memory.
      */
     private class ResponseListener
-            implements Response.CompleteListener, HeadersListener, ContentListener, FailureListener {
+            implements Response.CompleteListener, HeadersListener, AsyncContentListener, FailureListener {
 
-        private static final String THREADPOOL_OPENHABCLOUD = "openhabcloud";
         private int mRequestId;
         private boolean mHeadersSent = false;
 
@@ -627,17 +766,23 @@ public class CloudClient {
         }
 
         @Override
-        public void onContent(Response response, ByteBuffer content) {
+        public void onContent(Response response, ByteBuffer content, Callback callback) {
             logger.debug("Jetty received response content of size {}", String.valueOf(content.remaining()));
+            byte[] body = new byte[content.remaining()];
+            content.get(body);
             JSONObject responseJson = new JSONObject();
             try {
                 responseJson.put("id", mRequestId);
-                responseJson.put("body", BufferUtil.toArray(content));
+                responseJson.put("body", body);
                 socket.emit("responseContentBinary", responseJson);
                 logger.debug("Sent content to request {}", mRequestId);
             } catch (JSONException e) {
                 logger.error("{}", e.getMessage());
+                callback.failed(e);
+                return;
             }
+            // Jetty reads further content when the callback succeeds
+            runWhenWritten(callback::succeeded);
         }
 
         @Override
@@ -662,4 +807,70 @@ public class CloudClient {
             }
         }
     }
+
+    /*
+     * An internal class which provides a string as content encoded in UTF-8. The length is calculated
+     * up front, and the string is encoded in buffers of REQUEST_CONTENT_BUFFER_SIZE bytes while it is sent.
+     */
+    private static class Utf8ContentProvider implements ContentProvider {
+
+        private final String mContent;
+        private final long mLength;
+
+        public Utf8ContentProvider(String content) {
+            mContent = content;
+            mLength = getEncodedLength(content);
+        }
+
+        private static long getEncodedLength(String content) {
+            long length = 0;
+            for (int i = 0; i < content.length(); i++) {
+                char c = content.charAt(i);
+                if (c < 0x80) {
+                    length += 1;
+                } else if (c < 0x800) {
+                    length += 2;
+                } else if (Character.isHighSurrogate(c) && i + 1 < content.length()
+                        && Character.isLowSurrogate(content.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else if (Character.isSurrogate(c)) {
+                    // Replaced with '?', like String.getBytes does
+                    length += 1;
+                } else {
+                    length += 3;
+                }
+            }
+            return length;
+        }
+
+        @Override
+        public long getLength() {
+            return mLength;
+        }
+
+        @Override
+        public Iterator<ByteBuffer> iterator() {
+            CharBuffer chars = CharBuffer.wrap(mContent);
+            CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            return new Iterator<ByteBuffer>() {
+                @Override
+                public boolean hasNext() {
+                    return chars.hasRemaining();
+                }
+
+                @Override
+                public ByteBuffer next() {
+                    if (!chars.hasRemaining()) {
+                        throw new NoSuchElementException();
+                    }
+                    ByteBuffer buffer = ByteBuffer.allocate(REQUEST_CONTENT_BUFFER_SIZE);
+                    encoder.encode(chars, buffer, true);
+                    buffer.flip();
+                    return buffer;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.internal.RegisterArrayWrappingInputRegister;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import net.wimpi.modbus.procimg.InputRegister;
+import net.wimpi.modbus.procimg.SimpleInputRegister;
+
+/**
+ * Benchmark decoding all values of a poll response, as done by the data things of a poller.
+ *
+ * Registers are wrapped the same way as with the real responses.
+ *
+ * @author agent - Initial contribution
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ExtractStateFromRegistersBenchmark {
+
+    private static final int REGISTER_COUNT = 100;
+
+    @Param({ "INT16", "UINT32", "FLOAT32", "FLOAT32_SWAP" })
+    public ValueType type;
+
+    private ModbusRegisterArray registers;
+    private int[] indices;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(0);
+        InputRegister[] wrapped = new InputRegister[REGISTER_COUNT];
+        for (int i = 0; i < wrapped.length; i++) {
+            wrapped[i] = new SimpleInputRegister(random.nextInt(0x10000));
+        }
+        registers = new RegisterArrayWrappingInputRegister(wrapped);
+
+        int registersPerValue = Math.max(1, type.getBits() / 16);
+        int itemsPerRegister = Math.max(1, 16 / type.getBits());
+        indices = new int[REGISTER_COUNT / registersPerValue * itemsPerRegister];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i * registersPerValue;
+        }
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(LegacyBitUtilities.extractStateFromRegisters(registers, index, type));
+        }
+    }
+
+    @Benchmark
+    public void extractState(Blackhole blackhole) {
+        for (int index : indices) {
+            blackhole.consume(ModbusBitUtilities.extractStateFromRegisters(registers, index, type));
+        }
+    }
+
+    @Benchmark
+    public void extractPrimitive(Blackhole blackhole) {
+        boolean isFloat = type == ValueType.FLOAT32 || type == ValueType.FLOAT32_SWAP;
+        for (int index : indices) {
+            if (isFloat) {
+                blackhole.consume(ModbusBitUtilities.extractFloatFromRegisters(registers, index, type));
+            } else {
+                blackhole.consume(ModbusBitUtilities.extractIntegerFromRegisters(registers, index, type));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+
+/**
+ * Copy of the previous, <code>ByteBuffer</code> based, implementation of
+ * {@link ModbusBitUtilities#extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}. Used as
+ * baseline in the benchmarks.
+ *
+ * @author Sami Salonen - Initial contribution
+ */
+@NonNullByDefault
+public class LegacyBitUtilities {
+
+    public static DecimalType extractStateFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+        switch (type) {
+            case BIT:
+                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+            case INT8:
+                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+            case UINT8:
+                return new DecimalType(
+                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
+            case INT16: {
+                ByteBuffer buff = ByteBuffer.allocate(2);
+                buff.put(registers.getRegister(index).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
+            }
+            case UINT16:
+                return new DecimalType(registers.getRegister(index).toUnsignedShort());
+            case INT32: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
+            }
+            case UINT32: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.position(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
+            }
+            case FLOAT32: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index).getBytes());
+                buff.put(registers.getRegister(index + 1).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
+            }
+            case INT32_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
+            }
+            case UINT32_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(8);
+                buff.position(4);
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
+            }
+            case FLOAT32_SWAP: {
+                ByteBuffer buff = ByteBuffer.allocate(4);
+                buff.put(registers.getRegister(index + 1).getBytes());
+                buff.put(registers.getRegister(index).getBytes());
+                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
+            }
+            default:
+                throw new IllegalArgumentException(type.getConfigValue());
+        }
+    }
+
+}
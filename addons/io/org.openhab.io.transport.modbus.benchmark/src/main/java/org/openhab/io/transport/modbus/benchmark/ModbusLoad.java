@@ -0,0 +1,166 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicModbusWriteRegisterRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BasicWriteTask;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusResponse;
+import org.openhab.io.transport.modbus.ModbusWriteCallback;
+import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.ModbusManagerImpl;
+
+/**
+ * ModbusManager under load: regular polls registered with the slaves, and writes on demand
+ *
+ * The slaves are configured without delay between transactions, and the connections are kept open. This way the
+ * measurements reflect the overhead of the transport itself, not the configured waits.
+ *
+ * @author agent - Initial contribution
+ */
+public class ModbusLoad extends ModbusManagerImpl implements AutoCloseable {
+
+    /**
+     * Number of registers read by each poll
+     */
+    public static final int REGISTERS_PER_POLL = 10;
+
+    private static final int WRITE_TIMEOUT_MILLIS = 10_000;
+
+    private final List<ModbusSlaveEndpoint> endpoints;
+    private final List<PollTask> polls = new ArrayList<>();
+    private final LongAdder completedPolls = new LongAdder();
+    private final LongAdder failedPolls = new LongAdder();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /**
+     * Activate the manager
+     *
+     * @param endpoints endpoints of the slaves
+     * @param configProperties configuration of the manager
+     */
+    public ModbusLoad(List<ModbusSlaveEndpoint> endpoints, Map<String, Object> configProperties) {
+        this.endpoints = new ArrayList<>(endpoints);
+        activate(configProperties);
+        for (ModbusSlaveEndpoint endpoint : endpoints) {
+            EndpointPoolConfiguration configuration = new EndpointPoolConfiguration();
+            configuration.setInterTransactionDelayMillis(0);
+            configuration.setReconnectAfterMillis(-1);
+            configuration.setConnectMaxTries(3);
+            setEndpointPoolConfiguration(endpoint, configuration);
+        }
+    }
+
+    /**
+     * Register regular polls, distributed evenly between the slaves
+     *
+     * Each poll reads different registers, and the polls are started at different times within the poll period.
+     *
+     * @param pollCount number of polls to register
+     * @param pollPeriodMillis poll period
+     */
+    public void registerPolls(int pollCount, long pollPeriodMillis) {
+        ModbusReadCallback callback = new ModbusReadCallback() {
+
+            @Override
+            public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                completedPolls.increment();
+            }
+
+            @Override
+            public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                failedPolls.increment();
+            }
+
+            @Override
+            public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                completedPolls.increment();
+            }
+        };
+        for (int i = 0; i < pollCount; i++) {
+            ModbusSlaveEndpoint endpoint = endpoints.get(i % endpoints.size());
+            int reference = (i / endpoints.size() * REGISTERS_PER_POLL) % ModbusSlaveSimulator.DATA_SIZE;
+            PollTask task = new BasicPollTaskImpl(endpoint,
+                    new BasicModbusReadRequestBlueprint(ModbusSlaveSimulator.SLAVE_UNIT_ID,
+                            ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, reference, REGISTERS_PER_POLL, 1),
+                    callback);
+            polls.add(task);
+            registerRegularPoll(task, pollPeriodMillis, pollPeriodMillis * i / pollCount);
+        }
+    }
+
+    /**
+     * Write single register and wait for the response
+     *
+     * @param endpoint slave to write to
+     * @param reference register to write
+     * @param value value to write
+     * @return whether the write succeeded
+     * @throws InterruptedException
+     */
+    public boolean write(ModbusSlaveEndpoint endpoint, int reference, int value) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean success = new AtomicBoolean();
+        submitOneTimeWrite(new BasicWriteTask(endpoint,
+                new BasicModbusWriteRegisterRequestBlueprint(ModbusSlaveSimulator.SLAVE_UNIT_ID, reference,
+                        new BasicModbusRegisterArray(value), false, 1),
+                new ModbusWriteCallback() {
+
+                    @Override
+                    public void onWriteResponse(ModbusWriteRequestBlueprint request, ModbusResponse response) {
+                        success.set(true);
+                        done.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusWriteRequestBlueprint request, Exception error) {
+                        done.countDown();
+                    }
+                }));
+        return done.await(WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS) && success.get();
+    }
+
+    public List<ModbusSlaveEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public long getCompletedPolls() {
+        return completedPolls.sum();
+    }
+
+    public long getFailedPolls() {
+        return failedPolls.sum();
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            polls.forEach(this::unregisterRegularPoll);
+            deactivate();
+        }
+    }
+}
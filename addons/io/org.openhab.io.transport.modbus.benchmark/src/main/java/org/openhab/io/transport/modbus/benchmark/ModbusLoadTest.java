@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusTransactionMetrics;
+import org.openhab.io.transport.modbus.benchmark.ModbusSlaveSimulator.Transport;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.LatencyHistogramRecorder;
+
+/**
+ * Sustained load test of ModbusManager with in-process slaves
+ *
+ * Registers the given number of regular polls and runs concurrent writers for the given duration. Reports the
+ * transaction rate, transaction and write latencies, poll jitter and allocation rate every ten seconds, and at the
+ * end.
+ *
+ * Parameters are given as <code>key=value</code> arguments:
+ * <ul>
+ * <li><code>transport</code>: TCP or UDP (default TCP)</li>
+ * <li><code>slaves</code>: number of slaves (default 4 with TCP, 1 with UDP)</li>
+ * <li><code>polls</code>: number of regular polls (default 500)</li>
+ * <li><code>period</code>: poll period in milliseconds (default 1000)</li>
+ * <li><code>writers</code>: number of threads writing continuously (default 4)</li>
+ * <li><code>duration</code>: duration of the test in seconds (default 60)</li>
+ * <li>any configuration parameter of the transport, e.g. <code>pollCoalescingMaxGap</code> or
+ * <code>adaptivePollScheduling</code></li>
+ * </ul>
+ *
+ * @author agent - Initial contribution
+ */
+public class ModbusLoadTest {
+
+    private static final long REPORT_INTERVAL_MILLIS = 10_000;
+
+    private final Map<String, String> parameters = new HashMap<>();
+    private final LongAdder writes = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final LatencyHistogramRecorder writeLatency = new LatencyHistogramRecorder();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+
+    private String getParameter(String key, String defaultValue) {
+        return parameters.getOrDefault(key, defaultValue);
+    }
+
+    private void run() throws Exception {
+        Transport transport = Transport.valueOf(getParameter("transport", "TCP"));
+        int slaves = Integer.parseInt(getParameter("slaves", transport == Transport.TCP ? "4" : "1"));
+        int polls = Integer.parseInt(getParameter("polls", "500"));
+        long period = Long.parseLong(getParameter("period", "1000"));
+        int writers = Integer.parseInt(getParameter("writers", "4"));
+        long durationMillis = TimeUnit.SECONDS.toMillis(Long.parseLong(getParameter("duration", "60")));
+        Map<String, Object> config = new HashMap<>(parameters);
+
+        System.out.printf("Running %s with %d slaves, %d polls every %d ms, and %d writers for %d s. Config %s%n",
+                transport, slaves, polls, period, writers, TimeUnit.MILLISECONDS.toSeconds(durationMillis), config);
+        try (ModbusSlaveSimulator simulator = new ModbusSlaveSimulator(transport, slaves);
+                ModbusLoad load = new ModbusLoad(simulator.getEndpoints(), config)) {
+            load.registerPolls(polls, period);
+            List<Thread> writerThreads = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                ModbusSlaveEndpoint endpoint = simulator.getEndpoints().get(i % slaves);
+                int reference = ModbusSlaveSimulator.DATA_SIZE - 1 - i;
+                Thread writer = new Thread(() -> write(load, endpoint, reference), "ModbusLoadTestWriter-" + i);
+                writer.start();
+                writerThreads.add(writer);
+            }
+
+            long start = System.currentTimeMillis();
+            Snapshot first = new Snapshot(load);
+            Snapshot previous = first;
+            while (System.currentTimeMillis() - start < durationMillis) {
+                Thread.sleep(Math.min(REPORT_INTERVAL_MILLIS, durationMillis - (System.currentTimeMillis() - start)));
+                Snapshot current = new Snapshot(load);
+                report("interval", previous, current);
+                previous = current;
+            }
+            running.set(false);
+            for (Thread writer : writerThreads) {
+                writer.join();
+            }
+            report("total", first, previous);
+            printLatencies(load);
+        }
+    }
+
+    private void write(ModbusLoad load, ModbusSlaveEndpoint endpoint, int reference) {
+        int value = 0;
+        while (running.get()) {
+            long start = System.currentTimeMillis();
+            try {
+                value = (value + 1) & 0xFFFF;
+                if (load.write(endpoint, reference, value)) {
+                    writes.increment();
+                    writeLatency.record(System.currentTimeMillis() - start);
+                } else {
+                    failedWrites.increment();
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Counters at a point of time
+     */
+    private class Snapshot {
+        private final long millis = System.currentTimeMillis();
+        private final long transactions;
+        private final long errors;
+        private final long completedPolls;
+        private final long failedPolls;
+        private final long writes;
+        private final long allocatedBytes;
+
+        private Snapshot(ModbusLoad load) {
+            Collection<ModbusTransactionMetrics> metrics = load.getEndpointMetrics().values();
+            transactions = metrics.stream().mapToLong(ModbusTransactionMetrics::getTransactionCount).sum();
+            errors = metrics.stream().mapToLong(ModbusTransactionMetrics::getErrorCount).sum();
+            completedPolls = load.getCompletedPolls();
+            failedPolls = load.getFailedPolls();
+            writes = ModbusLoadTest.this.writes.sum();
+            allocatedBytes = allocatedBytes();
+        }
+    }
+
+    /**
+     * Bytes allocated by the live threads. Allocations of threads that have terminated are not accounted.
+     */
+    private long allocatedBytes() {
+        long total = 0;
+        for (long allocated : threadMXBean.getThreadAllocatedBytes(threadMXBean.getAllThreadIds())) {
+            total += Math.max(0, allocated);
+        }
+        return total;
+    }
+
+    private void report(String title, Snapshot from, Snapshot to) {
+        double seconds = Math.max(1, to.millis - from.millis) / 1000.0;
+        System.out.printf(
+                "%-8s: %8.1f transactions/s (%d errors), %8.1f polls/s (%d failed), %8.1f writes/s (%d failed), allocation %6.1f MB/s%n",
+                title, (to.transactions - from.transactions) / seconds, to.errors - from.errors,
+                (to.completedPolls - from.completedPolls) / seconds, to.failedPolls - from.failedPolls,
+                (to.writes - from.writes) / seconds, failedWrites.sum(),
+                (to.allocatedBytes - from.allocatedBytes) / seconds / (1024 * 1024));
+    }
+
+    private void printLatencies(ModbusLoad load) {
+        Collection<ModbusTransactionMetrics> metrics = load.getEndpointMetrics().values();
+        printHistogram("transaction latency",
+                merge(metrics.stream().map(ModbusTransactionMetrics::getTransactionLatency).toArray(
+                        ModbusLatencyHistogram[]::new)));
+        printHistogram("connection borrow wait",
+                merge(metrics.stream().map(ModbusTransactionMetrics::getConnectionBorrowWait).toArray(
+                        ModbusLatencyHistogram[]::new)));
+        printHistogram("poll jitter", merge(
+                metrics.stream().map(ModbusTransactionMetrics::getPollJitter).toArray(ModbusLatencyHistogram[]::new)));
+        printHistogram("write round trip", writeLatency.snapshot());
+    }
+
+    private static ModbusLatencyHistogram merge(ModbusLatencyHistogram... histograms) {
+        long[] counts = new long[ModbusLatencyHistogram.BUCKET_COUNT];
+        long total = 0;
+        long max = 0;
+        for (ModbusLatencyHistogram histogram : histograms) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += histogram.getBucketCount(i);
+            }
+            total += histogram.getTotalMillis();
+            max = Math.max(max, histogram.getMaxMillis());
+        }
+        return new ModbusLatencyHistogram(counts, total, max);
+    }
+
+    private static void printHistogram(String title, ModbusLatencyHistogram histogram) {
+        System.out.printf("%-24s: count %d, mean %.2f ms, p50 <= %d ms, p99 <= %d ms, max %d ms%n", title,
+                histogram.getCount(), histogram.getMeanMillis(), histogram.getPercentileMillis(50),
+                histogram.getPercentileMillis(99), histogram.getMaxMillis());
+    }
+
+    public static void main(String[] args) throws Exception {
+        ModbusLoadTest test = new ModbusLoadTest();
+        for (String arg : args) {
+            String[] keyValue = arg.split("=", 2);
+            if (keyValue.length != 2) {
+                System.err.println("Invalid argument '" + arg + "', expecting key=value");
+                System.exit(1);
+            }
+            test.parameters.put(keyValue[0], keyValue[1]);
+        }
+        test.run();
+        System.exit(0);
+    }
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openhab.io.transport.modbus.benchmark.ModbusSlaveSimulator.Transport;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of writes executed by ModbusManager, while hundreds of regular polls are polling the same slaves
+ *
+ * Throughput mode reports the sustained write rate, and sample time mode the latency distribution (p50, p99, ...) of
+ * the writes. Use <code>-prof gc</code> to report allocation rate. Note that the allocations of the in-process
+ * slaves are included.
+ *
+ * @author agent - Initial contribution
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class ModbusManagerBenchmark {
+
+    private static final long POLL_PERIOD_MILLIS = 1000;
+
+    /**
+     * Transport and number of slaves. Only one UDP slave is supported, see {@link ModbusSlaveSimulator}
+     */
+    @Param({ "TCP:1", "TCP:4", "UDP:1" })
+    public String slaves;
+
+    @Param({ "100", "500" })
+    public int polls;
+
+    private ModbusSlaveSimulator simulator;
+    private ModbusLoad load;
+    private final AtomicInteger writerIndex = new AtomicInteger();
+    private long pollsAtIterationStart;
+    private long iterationStartMillis;
+
+    @State(Scope.Thread)
+    public static class Writer {
+        private ModbusSlaveEndpoint endpoint;
+        private int reference;
+        private int value;
+
+        @Setup
+        public void setUp(ModbusManagerBenchmark benchmark) {
+            // Spread the writers evenly between the slaves
+            int index = benchmark.writerIndex.getAndIncrement();
+            endpoint = benchmark.load.getEndpoints().get(index % benchmark.load.getEndpoints().size());
+            reference = ModbusSlaveSimulator.DATA_SIZE - 1 - index;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        String[] transportAndCount = slaves.split(":");
+        simulator = new ModbusSlaveSimulator(Transport.valueOf(transportAndCount[0]),
+                Integer.parseInt(transportAndCount[1]));
+        load = new ModbusLoad(simulator.getEndpoints(), Collections.emptyMap());
+        load.registerPolls(polls, POLL_PERIOD_MILLIS);
+    }
+
+    @Setup(Level.Iteration)
+    public void startIteration() {
+        pollsAtIterationStart = load.getCompletedPolls();
+        iterationStartMillis = System.currentTimeMillis();
+    }
+
+    @TearDown(Level.Iteration)
+    public void endIteration() {
+        // Writes are prioritized, make sure polls are still executed as well
+        double pollsPerSecond = (load.getCompletedPolls() - pollsAtIterationStart) * 1000.0
+                / Math.max(1, System.currentTimeMillis() - iterationStartMillis);
+        System.out.printf(" [polls completed %.1f/s, failed %d in total]", pollsPerSecond, load.getFailedPolls());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        load.close();
+        simulator.close();
+    }
+
+    @Benchmark
+    public boolean write(Writer writer) throws InterruptedException {
+        writer.value = (writer.value + 1) & 0xFFFF;
+        return load.write(writer.endpoint, writer.reference, writer.value);
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.benchmark;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+
+import net.wimpi.modbus.ModbusCoupler;
+import net.wimpi.modbus.net.ModbusTCPListener;
+import net.wimpi.modbus.net.ModbusUDPListener;
+import net.wimpi.modbus.procimg.SimpleDigitalIn;
+import net.wimpi.modbus.procimg.SimpleDigitalOut;
+import net.wimpi.modbus.procimg.SimpleProcessImage;
+import net.wimpi.modbus.procimg.SimpleRegister;
+
+/**
+ * In-process Modbus slaves for the benchmarks, using jamod slave implementation
+ *
+ * Each slave listens on a separate port of the loopback interface, and thus is a separate endpoint for the
+ * ModbusManager. All the slaves share the same process image (jamod limitation).
+ *
+ * Only one UDP slave is supported: jamod UDP master connections bind to fixed local port, and thus only one UDP
+ * endpoint can be connected at a time.
+ *
+ * @author agent - Initial contribution
+ */
+public class ModbusSlaveSimulator implements AutoCloseable {
+
+    public enum Transport {
+        TCP,
+        UDP
+    }
+
+    public static final int SLAVE_UNIT_ID = 1;
+
+    /**
+     * Number of registers, coils and discrete inputs in the process image
+     */
+    public static final int DATA_SIZE = 10_000;
+
+    private static final int TCP_SERVER_THREADS = 4;
+    private static final long STARTUP_TIMEOUT_MILLIS = 10_000;
+
+    private final Transport transport;
+    private final List<ModbusTCPListener> tcpListeners = new ArrayList<>();
+    private final List<ModbusUDPListener> udpListeners = new ArrayList<>();
+    private final List<ModbusSlaveEndpoint> endpoints = new ArrayList<>();
+
+    /**
+     * Start slaves
+     *
+     * @param transport transport of the slaves
+     * @param slaveCount number of slaves (endpoints) to start
+     * @throws IllegalArgumentException when more than one UDP slave is requested
+     */
+    public ModbusSlaveSimulator(Transport transport, int slaveCount) throws IOException, InterruptedException {
+        if (transport == Transport.UDP && slaveCount > 1) {
+            throw new IllegalArgumentException("Only one UDP slave is supported");
+        }
+        this.transport = transport;
+        SimpleProcessImage processImage = new SimpleProcessImage();
+        for (int i = 0; i < DATA_SIZE; i++) {
+            processImage.addRegister(new SimpleRegister(i % 0x10000));
+            processImage.addInputRegister(new SimpleRegister(i % 0x10000));
+            processImage.addDigitalOut(new SimpleDigitalOut(i % 2 == 0));
+            processImage.addDigitalIn(new SimpleDigitalIn(i % 3 == 0));
+        }
+        ModbusCoupler.getReference().setProcessImage(processImage);
+        ModbusCoupler.getReference().setMaster(false);
+        ModbusCoupler.getReference().setUnitID(SLAVE_UNIT_ID);
+
+        InetAddress address = InetAddress.getByName("127.0.0.1");
+        for (int i = 0; i < slaveCount; i++) {
+            if (transport == Transport.TCP) {
+                ModbusTCPListener listener = new ModbusTCPListener(TCP_SERVER_THREADS, address);
+                listener.setPort(0);
+                listener.start();
+                tcpListeners.add(listener);
+                waitFor(() -> listener.getLocalPort() > 0);
+                endpoints.add(new ModbusTCPSlaveEndpoint(address.getHostAddress(), listener.getLocalPort()));
+            } else {
+                // UDP listener does not report the port bound, pick a free port ourselves
+                int port;
+                try (DatagramSocket socket = new DatagramSocket(0, address)) {
+                    port = socket.getLocalPort();
+                }
+                ModbusUDPListener listener = new ModbusUDPListener(address);
+                listener.setPort(port);
+                listener.start();
+                udpListeners.add(listener);
+                waitFor(listener::isListening);
+                endpoints.add(new ModbusUDPSlaveEndpoint(address.getHostAddress(), port));
+            }
+        }
+    }
+
+    private static void waitFor(BooleanSupplier started) throws InterruptedException {
+        // Listener binds the port in a separate thread
+        long deadline = System.currentTimeMillis() + STARTUP_TIMEOUT_MILLIS;
+        while (!started.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Slave simulator did not start");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    public Transport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Get endpoints of the slaves
+     *
+     * @return endpoints, one per slave
+     */
+    public List<ModbusSlaveEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    @Override
+    public void close() {
+        tcpListeners.forEach(ModbusTCPListener::stop);
+        udpListeners.forEach(ModbusUDPListener::stop);
+        tcpListeners.clear();
+        udpListeners.clear();
+        endpoints.clear();
+    }
+}
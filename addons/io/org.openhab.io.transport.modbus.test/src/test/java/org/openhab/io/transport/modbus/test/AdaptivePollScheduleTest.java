@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.internal.AdaptivePollSchedule;
+
+public class AdaptivePollScheduleTest {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private AdaptivePollSchedule schedule(long pollPeriodMillis) {
+        // Polls are not started, completions are reported manually
+        return new AdaptivePollSchedule(executor, pollPeriodMillis, (schedule, due) -> {
+        });
+    }
+
+    @Test
+    public void testHealthyKeepsPeriod() {
+        AdaptivePollSchedule schedule = schedule(100);
+        schedule.pollCompleted(5, true);
+        schedule.pollCompleted(10, true);
+        assertThat(schedule.getNextDelayMillis(), is(equalTo(100L)));
+        schedule.cancel(false);
+    }
+
+    @Test
+    public void testSlowResponsesStretchPeriod() {
+        AdaptivePollSchedule schedule = schedule(100);
+        schedule.pollCompleted(200, true);
+        assertThat(schedule.getEffectivePeriodMillis(), is(equalTo(400L)));
+        schedule.cancel(false);
+    }
+
+    @Test
+    public void testExponentialBackoff() {
+        AdaptivePollSchedule schedule = schedule(1000);
+        schedule.pollCompleted(10, false);
+        assertThat(schedule.getNextDelayMillis(), is(equalTo(2000L)));
+        schedule.pollCompleted(10, false);
+        assertThat(schedule.getNextDelayMillis(), is(equalTo(4000L)));
+        for (int i = 0; i < 100; i++) {
+            schedule.pollCompleted(10, false);
+        }
+        assertThat(schedule.getConsecutiveFailures(), is(equalTo(102)));
+        assertThat(schedule.getNextDelayMillis(), is(equalTo(AdaptivePollSchedule.MAX_BACKOFF_MILLIS)));
+
+        // Success restores the period
+        schedule.pollCompleted(10, true);
+        assertThat(schedule.getNextDelayMillis(), is(equalTo(1000L)));
+        schedule.cancel(false);
+    }
+
+    @Test
+    public void testBackoffNeverShortensPeriod() {
+        AdaptivePollSchedule schedule = schedule(2 * AdaptivePollSchedule.MAX_BACKOFF_MILLIS);
+        schedule.pollCompleted(10, false);
+        assertThat(schedule.getNextDelayMillis(), is(equalTo(2 * AdaptivePollSchedule.MAX_BACKOFF_MILLIS)));
+        schedule.cancel(false);
+    }
+
+    @Test
+    public void testPollsSubmittedUntilCancelled() throws InterruptedException {
+        AtomicInteger polls = new AtomicInteger();
+        CountDownLatch polled = new CountDownLatch(3);
+        AdaptivePollSchedule schedule = new AdaptivePollSchedule(executor, 10, (self, due) -> {
+            polls.incrementAndGet();
+            polled.countDown();
+            self.pollCompleted(1, true);
+        }).start(0);
+        assertTrue(polled.await(5, TimeUnit.SECONDS));
+        assertTrue(schedule.cancel(false));
+        assertTrue(schedule.isDone());
+        // Let possibly ongoing poll finish
+        Thread.sleep(20);
+        int pollsAtCancel = polls.get();
+        Thread.sleep(50);
+        assertThat(polls.get(), is(equalTo(pollsAtCancel)));
+    }
+}
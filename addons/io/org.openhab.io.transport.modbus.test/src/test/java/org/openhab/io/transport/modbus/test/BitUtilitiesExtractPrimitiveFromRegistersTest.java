@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.ModbusBitUtilities;
+import org.openhab.io.transport.modbus.ModbusConstants.ValueType;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.internal.RegisterArraySlice;
+import org.openhab.io.transport.modbus.internal.RegisterArrayWrappingInputRegister;
+
+import net.wimpi.modbus.procimg.InputRegister;
+import net.wimpi.modbus.procimg.SimpleInputRegister;
+
+public class BitUtilitiesExtractPrimitiveFromRegistersTest {
+
+    private static ModbusRegisterArray wrappedInputRegisters(int... values) {
+        InputRegister[] registers = new InputRegister[values.length];
+        for (int i = 0; i < values.length; i++) {
+            registers[i] = new SimpleInputRegister(values[i]);
+        }
+        return new RegisterArrayWrappingInputRegister(registers);
+    }
+
+    @Test
+    public void testExtractPrimitives() {
+        ModbusRegisterArray registers = wrappedInputRegisters(0x8000, 0x0001, 0xC0A0, 0x0000);
+        assertThat(ModbusBitUtilities.extractIntegerFromRegisters(registers, 0, ValueType.INT32),
+                is(equalTo((long) 0x80000001)));
+        assertThat(ModbusBitUtilities.extractIntegerFromRegisters(registers, 0, ValueType.UINT32),
+                is(equalTo(0x80000001L)));
+        assertThat(ModbusBitUtilities.extractIntegerFromRegisters(registers, 0, ValueType.INT32_SWAP),
+                is(equalTo(0x00018000L)));
+        assertThat(ModbusBitUtilities.extractIntegerFromRegisters(registers, 31, ValueType.BIT), is(equalTo(0L)));
+        assertThat(ModbusBitUtilities.extractIntegerFromRegisters(registers, 15, ValueType.BIT), is(equalTo(1L)));
+        assertThat(ModbusBitUtilities.extractFloatFromRegisters(registers, 2, ValueType.FLOAT32), is(equalTo(-5.0f)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtractFloatAsInteger() {
+        ModbusBitUtilities.extractIntegerFromRegisters(new BasicModbusRegisterArray(1, 2), 0, ValueType.FLOAT32);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExtractIntegerAsFloat() {
+        ModbusBitUtilities.extractFloatFromRegisters(new BasicModbusRegisterArray(1, 2), 0, ValueType.INT32);
+    }
+
+    @Test
+    public void testUnsignedShortOfSlice() {
+        ModbusRegisterArray slice = new RegisterArraySlice(wrappedInputRegisters(1, 0xFFFE, 3), 1, 2);
+        assertThat(slice.getUnsignedShort(0), is(equalTo(0xFFFE)));
+        assertThat(slice.getUnsignedShort(1), is(equalTo(3)));
+        assertThat(ModbusBitUtilities.extractIntegerFromRegisters(slice, 0, ValueType.INT16), is(equalTo(-2L)));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testUnsignedShortOfSliceOutOfBounds() {
+        new RegisterArraySlice(wrappedInputRegisters(1, 2, 3), 1, 1).getUnsignedShort(1);
+    }
+}
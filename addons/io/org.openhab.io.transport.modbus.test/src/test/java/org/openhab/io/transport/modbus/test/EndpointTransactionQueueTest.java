@@ -0,0 +1,222 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Test;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointTransactionQueue;
+import org.openhab.io.transport.modbus.internal.EndpointTransactionQueue.Priority;
+
+public class EndpointTransactionQueueTest {
+
+    private EndpointTransactionQueue queue = new EndpointTransactionQueue(new ModbusTCPSlaveEndpoint("127.0.0.1", 502),
+            "EndpointTransactionQueueTest");
+
+    @After
+    public void tearDown() {
+        queue.shutdown();
+    }
+
+    /**
+     * Submit operation blocking the worker until the returned latch is released
+     */
+    private CountDownLatch blockWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        queue.submit(Priority.REGULAR_POLL, null, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    public void testPriorityOrder() throws InterruptedException {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(5);
+        CountDownLatch release = blockWorker();
+
+        queue.submit(Priority.REGULAR_POLL, null, () -> {
+            executed.add("poll1");
+            done.countDown();
+        });
+        queue.submit(Priority.ONE_OFF_POLL, null, () -> {
+            executed.add("oneOff");
+            done.countDown();
+        });
+        queue.submit(Priority.WRITE, null, () -> {
+            executed.add("write1");
+            done.countDown();
+        });
+        queue.submit(Priority.REGULAR_POLL, null, () -> {
+            executed.add("poll2");
+            done.countDown();
+        });
+        queue.submit(Priority.WRITE, null, () -> {
+            executed.add("write2");
+            done.countDown();
+        });
+        assertThat(queue.size(), is(equalTo(5)));
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(executed, is(equalTo(Arrays.asList("write1", "write2", "oneOff", "poll1", "poll2"))));
+        assertThat(queue.size(), is(equalTo(0)));
+    }
+
+    @Test
+    public void testDeadlineOrder() throws InterruptedException {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(4);
+        CountDownLatch release = blockWorker();
+
+        queue.submit(Priority.REGULAR_POLL, 300, null, () -> {
+            executed.add("poll300");
+            done.countDown();
+        });
+        queue.submit(Priority.REGULAR_POLL, 100, null, () -> {
+            executed.add("poll100");
+            done.countDown();
+        });
+        queue.submit(Priority.REGULAR_POLL, null, () -> {
+            executed.add("pollWithoutDeadline");
+            done.countDown();
+        });
+        queue.submit(Priority.REGULAR_POLL, 200, null, () -> {
+            executed.add("poll200");
+            done.countDown();
+        });
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(executed, is(equalTo(Arrays.asList("poll100", "poll200", "poll300", "pollWithoutDeadline"))));
+    }
+
+    @Test
+    public void testDeduplication() throws InterruptedException {
+        List<String> executed = new CopyOnWriteArrayList<>();
+        CountDownLatch release = blockWorker();
+
+        assertTrue(queue.submit(Priority.REGULAR_POLL, "task", () -> executed.add("first")));
+        assertFalse(queue.submit(Priority.REGULAR_POLL, "task", () -> executed.add("second")));
+        release.countDown();
+
+        CountDownLatch done = new CountDownLatch(1);
+        queue.submit(Priority.REGULAR_POLL, null, () -> done.countDown());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertThat(executed, is(equalTo(Arrays.asList("first"))));
+
+        // Once executed, the operation can be queued again
+        CountDownLatch doneAgain = new CountDownLatch(1);
+        assertTrue(queue.submit(Priority.REGULAR_POLL, "task", () -> doneAgain.countDown()));
+        assertTrue(doneAgain.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testErrorDoesNotStopProcessing() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        queue.submit(Priority.WRITE, null, () -> {
+            throw new IllegalStateException("error on purpose");
+        });
+        queue.submit(Priority.WRITE, null, () -> done.countDown());
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFutureCompletesWhenExecuted() throws Exception {
+        AtomicBoolean executed = new AtomicBoolean();
+        CountDownLatch release = blockWorker();
+
+        ScheduledFuture<?> future = queue.submit(Priority.WRITE, () -> executed.set(true));
+        assertFalse(future.isDone());
+        release.countDown();
+
+        future.get(5, TimeUnit.SECONDS);
+        assertTrue(executed.get());
+        assertTrue(future.isDone());
+    }
+
+    @Test
+    public void testCancelledFutureIsNotExecuted() throws InterruptedException {
+        AtomicBoolean executed = new AtomicBoolean();
+        CountDownLatch done = new CountDownLatch(1);
+        CountDownLatch release = blockWorker();
+
+        ScheduledFuture<?> future = queue.submit(Priority.WRITE, () -> executed.set(true));
+        queue.submit(Priority.REGULAR_POLL, null, done::countDown);
+        assertTrue(future.cancel(false));
+        release.countDown();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(executed.get());
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testCancelWithInterruptDoesNotAbortNextOperation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean nextInterrupted = new AtomicBoolean(true);
+        CountDownLatch nextCalledBack = new CountDownLatch(1);
+
+        ScheduledFuture<?> future = queue.submit(Priority.ONE_OFF_POLL, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(5000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                // Keep the interrupt flag set, like the transport does when it aborts an operation
+                Thread.currentThread().interrupt();
+            }
+        });
+        // Like ModbusManagerImpl.executeOperation, the next operation aborts without callback if interrupted
+        queue.submit(Priority.REGULAR_POLL, null, () -> {
+            nextInterrupted.set(Thread.interrupted());
+            if (!nextInterrupted.get()) {
+                nextCalledBack.countDown();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(future.cancel(true));
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertTrue(nextCalledBack.await(5, TimeUnit.SECONDS));
+        assertFalse(nextInterrupted.get());
+        assertTrue(future.isCancelled());
+    }
+
+    @Test
+    public void testShutdownCancelsQueuedFutures() throws InterruptedException {
+        CountDownLatch release = blockWorker();
+
+        ScheduledFuture<?> future = queue.submit(Priority.ONE_OFF_POLL, () -> {
+        });
+        queue.shutdown();
+        release.countDown();
+
+        assertTrue(future.isCancelled());
+    }
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+import org.openhab.io.transport.modbus.ModbusTransactionMetrics;
+import org.openhab.io.transport.modbus.internal.LatencyHistogramRecorder;
+import org.openhab.io.transport.modbus.internal.TransactionMetricsRecorder;
+
+import net.wimpi.modbus.ModbusIOException;
+
+public class ModbusLatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        ModbusLatencyHistogram histogram = new LatencyHistogramRecorder().snapshot();
+        assertThat(histogram.getCount(), is(equalTo(0L)));
+        assertThat(histogram.getMeanMillis(), is(equalTo(0.0)));
+        assertThat(histogram.getPercentileMillis(99), is(equalTo(0L)));
+    }
+
+    @Test
+    public void testBuckets() {
+        assertThat(ModbusLatencyHistogram.getBucketIndex(0), is(equalTo(0)));
+        assertThat(ModbusLatencyHistogram.getBucketIndex(1), is(equalTo(1)));
+        assertThat(ModbusLatencyHistogram.getBucketIndex(3), is(equalTo(3)));
+        assertThat(ModbusLatencyHistogram.getBucketUpperBoundMillis(3), is(equalTo(5L)));
+        assertThat(ModbusLatencyHistogram.getBucketIndex(Long.MAX_VALUE),
+                is(equalTo(ModbusLatencyHistogram.BUCKET_COUNT - 1)));
+        assertThat(ModbusLatencyHistogram.getBucketUpperBoundMillis(ModbusLatencyHistogram.BUCKET_COUNT - 1),
+                is(equalTo(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogramRecorder recorder = new LatencyHistogramRecorder();
+        for (int i = 0; i < 98; i++) {
+            recorder.record(4);
+        }
+        recorder.record(150);
+        recorder.record(30000);
+        recorder.record(-5);
+        ModbusLatencyHistogram histogram = recorder.snapshot();
+        assertThat(histogram.getCount(), is(equalTo(101L)));
+        assertThat(histogram.getBucketCount(0), is(equalTo(1L)));
+        assertThat(histogram.getTotalMillis(), is(equalTo(98 * 4L + 150 + 30000)));
+        assertThat(histogram.getMaxMillis(), is(equalTo(30000L)));
+        // Percentile estimates are upper bounds of the buckets
+        assertThat(histogram.getPercentileMillis(50), is(equalTo(5L)));
+        assertThat(histogram.getPercentileMillis(99), is(equalTo(200L)));
+        // ...but never exceed the largest value recorded
+        assertThat(histogram.getPercentileMillis(100), is(equalTo(30000L)));
+    }
+
+    @Test
+    public void testTransactionMetrics() {
+        TransactionMetricsRecorder recorder = new TransactionMetricsRecorder();
+        recorder.recordTransaction(10, null);
+        recorder.recordTransaction(3000, new ModbusIOException("I/O exception: SocketTimeoutException Read timed out"));
+        recorder.recordTransaction(5, new ModbusIOException("I/O exception: EOFException"));
+        recorder.recordConnectionError();
+        assertThat(recorder.recordPollStart(1000, 100), is(equalTo(-1L)));
+        assertThat(recorder.recordPollStart(1120, 100), is(equalTo(20L)));
+        assertThat(recorder.recordPollStart(1210, 100), is(equalTo(10L)));
+
+        ModbusTransactionMetrics metrics = recorder.snapshot();
+        assertThat(metrics.getTransactionCount(), is(equalTo(3L)));
+        assertThat(metrics.getErrorCount(), is(equalTo(2L)));
+        assertThat(metrics.getTimeoutCount(), is(equalTo(1L)));
+        assertThat(metrics.getConnectionErrorCount(), is(equalTo(1L)));
+        assertThat(metrics.getTransactionLatency().getMaxMillis(), is(equalTo(3000L)));
+        assertThat(metrics.getPollJitter().getCount(), is(equalTo(2L)));
+        assertThat(metrics.getPollJitter().getMaxMillis(), is(equalTo(20L)));
+    }
+}
@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.test;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.openhab.io.transport.modbus.BasicBitArray;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.BasicModbusRegisterArray;
+import org.openhab.io.transport.modbus.BasicPollTaskImpl;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.CoalescedPollTask;
+import org.openhab.io.transport.modbus.internal.ModbusPollCoalescer;
+
+public class ModbusPollCoalescerTest {
+
+    private ModbusSlaveEndpoint endpoint = new ModbusTCPSlaveEndpoint("127.0.0.1", 502);
+
+    private PollTask task(ModbusReadFunctionCode functionCode, int start, int length) {
+        return task(endpoint, 1, functionCode, start, length, mock(ModbusReadCallback.class));
+    }
+
+    private PollTask task(ModbusSlaveEndpoint endpoint, int unitId, ModbusReadFunctionCode functionCode, int start,
+            int length, ModbusReadCallback callback) {
+        return new BasicPollTaskImpl(endpoint,
+                new BasicModbusReadRequestBlueprint(unitId, functionCode, start, length, 1), callback);
+    }
+
+    @Test
+    public void testAdjacentAndOverlappingMerged() {
+        PollTask task1 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5);
+        PollTask task3 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 8, 4);
+        List<PollTask> planned = ModbusPollCoalescer.coalesce(Arrays.asList(task3, task1, task2), 0);
+        assertThat(planned.size(), is(equalTo(1)));
+        assertTrue(planned.get(0) instanceof CoalescedPollTask);
+        assertThat(planned.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(12)));
+        assertThat(((CoalescedPollTask) planned.get(0)).getTasks(), is(equalTo(Arrays.asList(task1, task2, task3))));
+    }
+
+    @Test
+    public void testGap() {
+        PollTask task1 = task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 0, 5);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 8, 2);
+        assertThat(ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2), 2),
+                is(equalTo(Arrays.asList(task1, task2))));
+
+        List<PollTask> planned = ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2), 3);
+        assertThat(planned.size(), is(equalTo(1)));
+        assertThat(planned.get(0).getRequest().getReference(), is(equalTo(0)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(10)));
+    }
+
+    @Test
+    public void testDifferentFunctionCodeUnitIdOrEndpointNotMerged() {
+        PollTask task1 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_INPUT_REGISTERS, 5, 5);
+        PollTask task3 = task(endpoint, 2, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5,
+                mock(ModbusReadCallback.class));
+        PollTask task4 = task(new ModbusTCPSlaveEndpoint("127.0.0.2", 502), 1,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 5, 5, mock(ModbusReadCallback.class));
+        assertThat(ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2, task3, task4), 10),
+                is(equalTo(Arrays.asList(task1, task2, task3, task4))));
+    }
+
+    @Test
+    public void testMaxLengthRespected() {
+        PollTask task1 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 100);
+        PollTask task2 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 100, 25);
+        PollTask task3 = task(ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 125, 1);
+        List<PollTask> planned = ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2, task3), 0);
+        assertThat(planned.size(), is(equalTo(2)));
+        assertThat(planned.get(0).getRequest().getDataLength(), is(equalTo(ModbusPollCoalescer.MAX_REGISTERS_PER_READ)));
+        assertThat(planned.get(1), is(equalTo(task3)));
+
+        PollTask coils1 = task(ModbusReadFunctionCode.READ_COILS, 0, 1000);
+        PollTask coils2 = task(ModbusReadFunctionCode.READ_COILS, 1000, 1000);
+        assertThat(ModbusPollCoalescer.coalesce(Arrays.asList(coils1, coils2), 0).size(), is(equalTo(1)));
+    }
+
+    @Test
+    public void testRegistersDelegatedAsSlices() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(endpoint, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 10, 2, callback1);
+        PollTask task2 = task(endpoint, 1, ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 13, 2, callback2);
+        PollTask planned = ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2), 1).get(0);
+
+        planned.getCallback().onRegisters(planned.getRequest(), new BasicModbusRegisterArray(1, 2, 3, 4, 5));
+
+        ArgumentCaptor<ModbusRegisterArray> registers1 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback1).onRegisters(eq(task1.getRequest()), registers1.capture());
+        assertThat(registers1.getValue().size(), is(equalTo(2)));
+        assertThat(registers1.getValue().getRegister(0).getValue(), is(equalTo(1)));
+        assertThat(registers1.getValue().getRegister(1).getValue(), is(equalTo(2)));
+
+        ArgumentCaptor<ModbusRegisterArray> registers2 = ArgumentCaptor.forClass(ModbusRegisterArray.class);
+        verify(callback2).onRegisters(eq(task2.getRequest()), registers2.capture());
+        assertThat(registers2.getValue().size(), is(equalTo(2)));
+        assertThat(registers2.getValue().getRegister(0).getValue(), is(equalTo(4)));
+        assertThat(registers2.getValue().getRegister(1).getValue(), is(equalTo(5)));
+    }
+
+    @Test
+    public void testBitsAndErrorsDelegated() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask task2 = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 1, 3, callback2);
+        PollTask planned = ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2), 0).get(0);
+
+        planned.getCallback().onBits(planned.getRequest(), new BasicBitArray(true, false, true, true));
+        verify(callback1).onBits(task1.getRequest(), new BasicBitArray(true, false));
+        verify(callback2).onBits(task2.getRequest(), new BasicBitArray(false, true, true));
+        verify(callback1, never()).onRegisters(any(), any());
+
+        Exception error = new Exception();
+        planned.getCallback().onError(planned.getRequest(), error);
+        verify(callback1).onError(task1.getRequest(), error);
+        verify(callback2).onError(task2.getRequest(), error);
+    }
+
+    @Test
+    public void testShortResponse() {
+        ModbusReadCallback callback1 = mock(ModbusReadCallback.class);
+        ModbusReadCallback callback2 = mock(ModbusReadCallback.class);
+        PollTask task1 = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 0, 2, callback1);
+        PollTask task2 = task(endpoint, 1, ModbusReadFunctionCode.READ_COILS, 2, 2, callback2);
+        PollTask planned = ModbusPollCoalescer.coalesce(Arrays.asList(task1, task2), 0).get(0);
+
+        planned.getCallback().onBits(planned.getRequest(), new BasicBitArray(true, false, true));
+        verify(callback1).onBits(task1.getRequest(), new BasicBitArray(true, false));
+        ArgumentCaptor<BitArray> bits2 = ArgumentCaptor.forClass(BitArray.class);
+        verify(callback2).onBits(eq(task2.getRequest()), bits2.capture());
+        assertThat(bits2.getValue().size(), is(equalTo(1)));
+    }
+}
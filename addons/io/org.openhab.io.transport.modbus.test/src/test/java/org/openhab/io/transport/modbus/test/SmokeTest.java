@@ -11,6 +11,9 @@ package org.openhab.io.transport.modbus.test;
 import static org.hamcrest.CoreMatchers.*;
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -29,6 +32,7 @@ import org.openhab.io.transport.modbus.ModbusRegisterArray;
 import org.openhab.io.transport.modbus.ModbusResponse;
 import org.openhab.io.transport.modbus.ModbusSlaveErrorResponseException;
 import org.openhab.io.transport.modbus.ModbusSlaveIOException;
+import org.openhab.io.transport.modbus.ModbusTransactionMetrics;
 import org.openhab.io.transport.modbus.ModbusWriteCallback;
 import org.openhab.io.transport.modbus.BasicModbusWriteCoilRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
@@ -38,11 +42,13 @@ import org.openhab.io.transport.modbus.endpoint.EndpointPoolConfiguration;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.internal.BitArrayWrappingBitVector;
+import org.openhab.io.transport.modbus.internal.ModbusManagerImpl;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableSet;
 
 import net.wimpi.modbus.msg.ModbusRequest;
+import net.wimpi.modbus.msg.ReadMultipleRegistersRequest;
 import net.wimpi.modbus.msg.WriteCoilRequest;
 import net.wimpi.modbus.msg.WriteMultipleCoilsRequest;
 import net.wimpi.modbus.procimg.SimpleDigitalIn;
@@ -905,4 +911,189 @@ public class SmokeTest extends IntegrationTestSupport {
         assertThat(modbusManager.getRegisteredRegularPolls(), is(equalTo(ImmutableSet.of(task2))));
 
     }
+
+    @Test
+    public void testRegularReadCoalesced() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        modbusManager.close();
+        modbusManager = new NonOSGIModbusManager(
+                Collections.singletonMap(ModbusManagerImpl.CONFIG_POLL_COALESCING_MAX_GAP, "0"));
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(6);
+        List<BasicPollTaskImpl> tasks = new ArrayList<>();
+        for (int start : new int[] { 1, 6 }) {
+            tasks.add(new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                    ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, start, 5, 1), new ModbusReadCallback() {
+
+                        @Override
+                        public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                            try {
+                                assertThat(request.getReference(), is(equalTo(start)));
+                                assertThat(registers.size(), is(equalTo(5)));
+                                testHoldingValues(registers, start);
+                            } catch (AssertionError e) {
+                                unexpectedCount.incrementAndGet();
+                            }
+                            callbackCalled.countDown();
+                        }
+
+                        @Override
+                        public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }
+
+                        @Override
+                        public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                            unexpectedCount.incrementAndGet();
+                            callbackCalled.countDown();
+                        }
+                    }));
+        }
+        tasks.forEach(task -> modbusManager.registerRegularPoll(task, 150, 0));
+        assertThat(modbusManager.getRegisteredRegularPolls(), is(equalTo(ImmutableSet.copyOf(tasks))));
+        callbackCalled.await(5, TimeUnit.SECONDS);
+        tasks.forEach(task -> modbusManager.unregisterRegularPoll(task));
+
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        assertThat(callbackCalled.getCount(), is(equalTo(0L)));
+        // First task might have been polled alone before the second task was registered. After that, requests
+        // received by the slave should cover both of the poll tasks
+        List<ModbusRequest> requests = modbustRequestCaptor.getAllReturnValues();
+        assertTrue(requests.size() >= 3);
+        for (ModbusRequest request : requests.subList(1, requests.size())) {
+            assertThat(((ReadMultipleRegistersRequest) request).getReference(), is(equalTo(1)));
+            assertThat(((ReadMultipleRegistersRequest) request).getWordCount(), is(equalTo(10)));
+        }
+    }
+
+    @Test
+    public void testMetricsOfRegularPoll() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        CountDownLatch callbackCalled = new CountDownLatch(5);
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 5, 1), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                    }
+                });
+        modbusManager.registerRegularPoll(task, 50, 0);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+
+        ModbusTransactionMetrics taskMetrics = modbusManager.getPollTaskMetrics().get(task);
+        assertNotNull(taskMetrics);
+        // Callback might be called before the last transaction is accounted
+        assertTrue(taskMetrics.toString(), taskMetrics.getTransactionCount() >= 4);
+        assertThat(taskMetrics.getErrorCount(), is(equalTo(0L)));
+        assertThat(taskMetrics.getConnectionErrorCount(), is(equalTo(0L)));
+        assertThat(taskMetrics.getTransactionLatency().getCount(), is(equalTo(taskMetrics.getTransactionCount())));
+        assertTrue(taskMetrics.toString(), taskMetrics.getConnectionBorrowWait().getCount() >= 5);
+        assertTrue(taskMetrics.toString(), taskMetrics.getPollJitter().getCount() >= 4);
+
+        ModbusTransactionMetrics endpointMetrics = modbusManager.getEndpointMetrics().get(endpoint);
+        assertNotNull(endpointMetrics);
+        assertTrue(endpointMetrics.toString(),
+                endpointMetrics.getTransactionCount() >= taskMetrics.getTransactionCount());
+        assertTrue(endpointMetrics.toString(), endpointMetrics.getPollJitter().getCount() >= 4);
+
+        modbusManager.unregisterRegularPoll(task);
+        assertThat(modbusManager.getPollTaskMetrics().containsKey(task), is(equalTo(false)));
+        assertThat(modbusManager.getEndpointMetrics().containsKey(endpoint), is(equalTo(true)));
+    }
+
+    @Test
+    public void testMetricsOfErrorResponse() throws InterruptedException {
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        CountDownLatch callbackCalled = new CountDownLatch(1);
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 0, 5, 2), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                    }
+                });
+        modbusManager.submitOneTimePoll(task);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+
+        ModbusTransactionMetrics metrics = modbusManager.getEndpointMetrics().get(endpoint);
+        assertNotNull(metrics);
+        // Both tries are accounted
+        assertThat(metrics.toString(), metrics.getTransactionCount(), is(equalTo(2L)));
+        assertThat(metrics.getErrorCount(), is(equalTo(2L)));
+        assertThat(metrics.getTimeoutCount(), is(equalTo(0L)));
+        // The retry is delayed, as well as the borrow if there were transactions before
+        assertTrue(metrics.toString(), metrics.getInterTransactionDelay().getCount() >= 1);
+        // One-off polls are not accounted as poll tasks
+        assertThat(modbusManager.getPollTaskMetrics().isEmpty(), is(equalTo(true)));
+    }
+
+    @Test
+    public void testRegularReadAdaptive() throws InterruptedException {
+        generateData();
+        ModbusSlaveEndpoint endpoint = getEndpoint();
+        modbusManager.close();
+        modbusManager = new NonOSGIModbusManager(
+                Collections.singletonMap(ModbusManagerImpl.CONFIG_ADAPTIVE_POLL_SCHEDULING, "true"));
+
+        AtomicInteger unexpectedCount = new AtomicInteger();
+        CountDownLatch callbackCalled = new CountDownLatch(5);
+        BasicPollTaskImpl task = new BasicPollTaskImpl(endpoint, new BasicModbusReadRequestBlueprint(SLAVE_UNIT_ID,
+                ModbusReadFunctionCode.READ_MULTIPLE_REGISTERS, 1, 5, 1), new ModbusReadCallback() {
+
+                    @Override
+                    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+                        try {
+                            testHoldingValues(registers, 1);
+                        } catch (AssertionError e) {
+                            unexpectedCount.incrementAndGet();
+                        }
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+
+                    @Override
+                    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+                        unexpectedCount.incrementAndGet();
+                        callbackCalled.countDown();
+                    }
+                });
+        long start = System.currentTimeMillis();
+        modbusManager.registerRegularPoll(task, 50, 0);
+        assertTrue(callbackCalled.await(5, TimeUnit.SECONDS));
+        long end = System.currentTimeMillis();
+        modbusManager.unregisterRegularPoll(task);
+
+        assertThat(unexpectedCount.get(), is(equalTo(0)));
+        // Healthy slave is polled at the configured rate
+        float averagePollPeriodMillis = ((float) (end - start)) / 4;
+        assertTrue(String.valueOf(averagePollPeriodMillis), averagePollPeriodMillis > 45);
+        assertTrue(String.valueOf(averagePollPeriodMillis), averagePollPeriodMillis < 100);
+    }
 }
@@ -9,8 +9,6 @@
 package org.openhab.io.transport.modbus;
 
 import java.math.BigDecimal;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.util.Optional;
 
@@ -82,72 +80,105 @@ public class ModbusBitUtilities {
      */
     public static DecimalType extractStateFromRegisters(ModbusRegisterArray registers, int index,
             ModbusConstants.ValueType type) {
-        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
-        // each register has 16 bits
-        int lastValidIndex = registers.size() * 16 - 1;
-        if (endBitIndex > lastValidIndex || index < 0) {
-            throw new IllegalArgumentException(
-                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
-                            registers.size()));
+        switch (type) {
+            case FLOAT32:
+            case FLOAT32_SWAP:
+                return new DecimalType(extractFloatFromRegisters(registers, index, type));
+            default:
+                return new DecimalType(extractIntegerFromRegisters(registers, index, type));
         }
+    }
+
+    /**
+     * Read integer data from registers
+     *
+     * Same as {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)} but the value is
+     * returned as primitive, and no objects are allocated in the process.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based item index, see
+     *            {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}
+     * @param type item type. Floating point types are not supported, see
+     *            {@link #extractFloatFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)}
+     * @return queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or when <tt>type</tt> is a
+     *             floating point type
+     */
+    public static long extractIntegerFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
         switch (type) {
             case BIT:
-                return new DecimalType((registers.getRegister(index / 16).toUnsignedShort() >> (index % 16)) & 1);
+                return (registers.getUnsignedShort(index / 16) >> (index % 16)) & 1;
             case INT8:
-                return new DecimalType(registers.getRegister(index / 2).getBytes()[1 - (index % 2)]);
+                return (byte) (registers.getUnsignedShort(index / 2) >> (8 * (index % 2)));
             case UINT8:
-                return new DecimalType(
-                        (registers.getRegister(index / 2).toUnsignedShort() >> (8 * (index % 2))) & 0xff);
-            case INT16: {
-                ByteBuffer buff = ByteBuffer.allocate(2);
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getShort(0));
-            }
+                return (registers.getUnsignedShort(index / 2) >> (8 * (index % 2))) & 0xff;
+            case INT16:
+                return (short) registers.getUnsignedShort(index);
             case UINT16:
-                return new DecimalType(registers.getRegister(index).toUnsignedShort());
-            case INT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index).getBytes());
-                buff.put(registers.getRegister(index + 1).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
-            case INT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getInt(0));
-            }
-            case UINT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(8);
-                buff.position(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getLong(0));
-            }
-            case FLOAT32_SWAP: {
-                ByteBuffer buff = ByteBuffer.allocate(4);
-                buff.put(registers.getRegister(index + 1).getBytes());
-                buff.put(registers.getRegister(index).getBytes());
-                return new DecimalType(buff.order(ByteOrder.BIG_ENDIAN).getFloat(0));
-            }
+                return registers.getUnsignedShort(index);
+            case INT32:
+                return toInt(registers.getUnsignedShort(index), registers.getUnsignedShort(index + 1));
+            case UINT32:
+                return toInt(registers.getUnsignedShort(index), registers.getUnsignedShort(index + 1)) & 0xffffffffL;
+            case INT32_SWAP:
+                return toInt(registers.getUnsignedShort(index + 1), registers.getUnsignedShort(index));
+            case UINT32_SWAP:
+                return toInt(registers.getUnsignedShort(index + 1), registers.getUnsignedShort(index)) & 0xffffffffL;
+            default:
+                throw new IllegalArgumentException(
+                        String.format("Type %s cannot be extracted as integer", type.getConfigValue()));
+        }
+    }
+
+    /**
+     * Read floating point data from registers
+     *
+     * Same as {@link #extractStateFromRegisters(ModbusRegisterArray, int, ModbusConstants.ValueType)} but the value is
+     * returned as primitive, and no objects are allocated in the process.
+     *
+     * @param registers list of registers, each register represent 16bit of data
+     * @param index zero based register index
+     * @param type item type, either <tt>FLOAT32</tt> or <tt>FLOAT32_SWAP</tt>
+     * @return queried value
+     * @throws IllegalArgumentException when <tt>index</tt> is out of bounds of registers, or when <tt>type</tt> is not
+     *             a floating point type
+     */
+    public static float extractFloatFromRegisters(ModbusRegisterArray registers, int index,
+            ModbusConstants.ValueType type) {
+        checkBounds(registers, index, type);
+        switch (type) {
+            case FLOAT32:
+                return Float.intBitsToFloat(
+                        toInt(registers.getUnsignedShort(index), registers.getUnsignedShort(index + 1)));
+            case FLOAT32_SWAP:
+                return Float.intBitsToFloat(
+                        toInt(registers.getUnsignedShort(index + 1), registers.getUnsignedShort(index)));
             default:
-                throw new IllegalArgumentException(type.getConfigValue());
+                throw new IllegalArgumentException(
+                        String.format("Type %s cannot be extracted as float", type.getConfigValue()));
         }
     }
 
+    private static void checkBounds(ModbusRegisterArray registers, int index, ModbusConstants.ValueType type) {
+        int endBitIndex = (type.getBits() >= 16 ? 16 * index : type.getBits() * index) + type.getBits() - 1;
+        // each register has 16 bits
+        int lastValidIndex = registers.size() * 16 - 1;
+        if (endBitIndex > lastValidIndex || index < 0) {
+            throw new IllegalArgumentException(
+                    String.format("Index=%d with type=%s is out-of-bounds given registers of size %d", index, type,
+                            registers.size()));
+        }
+    }
+
+    /**
+     * Combine two 16 bit registers to 32 bit integer, high register first
+     */
+    private static int toInt(int highRegister, int lowRegister) {
+        return (highRegister << 16) | lowRegister;
+    }
+
     /**
      * Read data from registers and convert the result to StringType
      * Strings should start the the first byte of a register, but could
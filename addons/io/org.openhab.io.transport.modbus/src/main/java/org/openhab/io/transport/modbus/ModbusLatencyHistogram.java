@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import java.util.Arrays;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of durations, in milliseconds, collected into fixed buckets
+ *
+ * Bucket i contains the durations d for which <code>upperBound(i-1) < d <= upperBound(i)</code>. The last bucket has
+ * no upper bound.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusLatencyHistogram {
+
+    private static final long[] BUCKET_UPPER_BOUNDS_MILLIS = { 0, 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000,
+            10000 };
+
+    /**
+     * Number of buckets in the histogram
+     */
+    public static final int BUCKET_COUNT = BUCKET_UPPER_BOUNDS_MILLIS.length + 1;
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final long[] bucketCounts;
+    private final long count;
+    private final long totalMillis;
+    private final long maxMillis;
+
+    /**
+     * Construct histogram
+     *
+     * @param bucketCounts counts of the buckets, should have {@link #BUCKET_COUNT} elements
+     * @param totalMillis sum of the durations
+     * @param maxMillis largest duration
+     */
+    public ModbusLatencyHistogram(long[] bucketCounts, long totalMillis, long maxMillis) {
+        if (bucketCounts.length != BUCKET_COUNT) {
+            throw new IllegalArgumentException(
+                    String.format("Expecting %d buckets, got %d", BUCKET_COUNT, bucketCounts.length));
+        }
+        this.bucketCounts = bucketCounts.clone();
+        this.count = Arrays.stream(bucketCounts).sum();
+        this.totalMillis = totalMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Get index of the bucket for a duration
+     *
+     * @param millis duration in milliseconds
+     * @return index of the bucket
+     */
+    public static int getBucketIndex(long millis) {
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_MILLIS.length; i++) {
+            if (millis <= BUCKET_UPPER_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_UPPER_BOUNDS_MILLIS.length;
+    }
+
+    /**
+     * Get (inclusive) upper bound of a bucket
+     *
+     * @param bucketIndex index of the bucket
+     * @return upper bound of the bucket in milliseconds, or {@link Long#MAX_VALUE} with the last bucket
+     */
+    public static long getBucketUpperBoundMillis(int bucketIndex) {
+        return bucketIndex < BUCKET_UPPER_BOUNDS_MILLIS.length ? BUCKET_UPPER_BOUNDS_MILLIS[bucketIndex]
+                : Long.MAX_VALUE;
+    }
+
+    /**
+     * Get number of durations in a bucket
+     *
+     * @param bucketIndex index of the bucket
+     * @return number of durations in the bucket
+     */
+    public long getBucketCount(int bucketIndex) {
+        return bucketCounts[bucketIndex];
+    }
+
+    /**
+     * Get number of recorded durations
+     *
+     * @return number of durations
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Get sum of recorded durations
+     *
+     * @return sum of durations in milliseconds
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Get largest recorded duration
+     *
+     * @return largest duration in milliseconds, or zero if nothing has been recorded
+     */
+    public long getMaxMillis() {
+        return maxMillis;
+    }
+
+    /**
+     * Get mean of recorded durations
+     *
+     * @return mean duration in milliseconds, or zero if nothing has been recorded
+     */
+    public double getMeanMillis() {
+        return count == 0 ? 0 : (double) totalMillis / count;
+    }
+
+    /**
+     * Estimate percentile of the recorded durations
+     *
+     * The estimate is the upper bound of the bucket containing the percentile, limited by the largest recorded
+     * duration. The estimate is thus never smaller than the real value.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return estimated percentile in milliseconds, or zero if nothing has been recorded
+     */
+    public long getPercentileMillis(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be between 0 and 100");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long cumulativeCount = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            cumulativeCount += bucketCounts[i];
+            if (cumulativeCount >= rank) {
+                return Math.min(getBucketUpperBoundMillis(i), maxMillis);
+            }
+        }
+        return maxMillis;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("count", count).append("mean", getMeanMillis())
+                .append("p50", getPercentileMillis(50)).append("p99", getPercentileMillis(99))
+                .append("max", maxMillis).toString();
+    }
+}
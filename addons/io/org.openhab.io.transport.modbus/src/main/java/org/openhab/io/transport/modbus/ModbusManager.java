@@ -8,6 +8,7 @@
  */
 package org.openhab.io.transport.modbus;
 
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ScheduledFuture;
 
@@ -28,6 +29,10 @@ public interface ModbusManager {
      * Submit one-time poll task. The method returns immediately, and the execution of the poll task will happen in
      * background.
      *
+     * The returned future completes when the transaction with the slave has been executed. The callback of the task is
+     * called asynchronously, and might not have been called yet when the future completes. Cancelling the future
+     * before the transaction has been started prevents its execution.
+     *
      * @param task
      * @return future representing the polled task
      */
@@ -55,6 +60,10 @@ public interface ModbusManager {
      * Submit one-time write task. The method returns immediately, and the execution of the task will happen in
      * background.
      *
+     * The returned future completes when the transaction with the slave has been executed. The callback of the task is
+     * called asynchronously, and might not have been called yet when the future completes. Cancelling the future
+     * before the transaction has been started prevents its execution.
+     *
      * @param task
      * @return future representing the task
      */
@@ -100,4 +109,23 @@ public interface ModbusManager {
      */
     public Set<PollTask> getRegisteredRegularPolls();
 
+    /**
+     * Get snapshot of transaction metrics of the endpoints
+     *
+     * Metrics are collected for each endpoint the manager has communicated with.
+     *
+     * @return metrics per endpoint
+     */
+    public Map<ModbusSlaveEndpoint, ModbusTransactionMetrics> getEndpointMetrics();
+
+    /**
+     * Get snapshot of transaction metrics of the registered regular polls
+     *
+     * Metrics of a poll task are collected from its registration. Metrics are discarded when the poll task is
+     * unregistered.
+     *
+     * @return metrics per poll task
+     */
+    public Map<PollTask, ModbusTransactionMetrics> getPollTaskMetrics();
+
 }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus;
+
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Immutable snapshot of transaction metrics of single endpoint or poll task
+ *
+ * All the values are cumulative since the metrics were started, i.e. since the first transaction with the endpoint, or
+ * since the registration of the poll task.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusTransactionMetrics {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final long transactionCount;
+    private final long errorCount;
+    private final long timeoutCount;
+    private final long connectionErrorCount;
+    private final ModbusLatencyHistogram transactionLatency;
+    private final ModbusLatencyHistogram connectionBorrowWait;
+    private final ModbusLatencyHistogram interTransactionDelay;
+    private final ModbusLatencyHistogram pollJitter;
+
+    public ModbusTransactionMetrics(long transactionCount, long errorCount, long timeoutCount,
+            long connectionErrorCount, ModbusLatencyHistogram transactionLatency,
+            ModbusLatencyHistogram connectionBorrowWait, ModbusLatencyHistogram interTransactionDelay,
+            ModbusLatencyHistogram pollJitter) {
+        this.transactionCount = transactionCount;
+        this.errorCount = errorCount;
+        this.timeoutCount = timeoutCount;
+        this.connectionErrorCount = connectionErrorCount;
+        this.transactionLatency = transactionLatency;
+        this.connectionBorrowWait = connectionBorrowWait;
+        this.interTransactionDelay = interTransactionDelay;
+        this.pollJitter = pollJitter;
+    }
+
+    /**
+     * Get number of executed transactions. Each try counts as a separate transaction.
+     *
+     * @return number of transactions
+     */
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    /**
+     * Get number of failed transactions, including timeouts
+     *
+     * @return number of failed transactions
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Get number of transactions that failed since the slave did not respond in time
+     *
+     * @return number of timed out transactions
+     */
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * Get number of times connection to the endpoint could not be established
+     *
+     * @return number of connection errors
+     */
+    public long getConnectionErrorCount() {
+        return connectionErrorCount;
+    }
+
+    /**
+     * Get durations of the transactions, from sending the request until the response was received (or error occurred)
+     *
+     * @return histogram of transaction durations
+     */
+    public ModbusLatencyHistogram getTransactionLatency() {
+        return transactionLatency;
+    }
+
+    /**
+     * Get durations of waiting for a connection from the connection pool. The wait includes establishing the
+     * connection, and the inter-transaction delay.
+     *
+     * @return histogram of connection borrow durations
+     */
+    public ModbusLatencyHistogram getConnectionBorrowWait() {
+        return connectionBorrowWait;
+    }
+
+    /**
+     * Get time spent sleeping to ensure delay between transactions, and retries
+     *
+     * With endpoints, both the sleeps before giving out a connection and the sleeps between retries are included. With
+     * poll tasks, only the sleeps between retries are included since the connection pool is shared by all the tasks
+     * of the endpoint.
+     *
+     * @return histogram of inter-transaction sleeps
+     */
+    public ModbusLatencyHistogram getInterTransactionDelay() {
+        return interTransactionDelay;
+    }
+
+    /**
+     * Get deviation of the observed regular poll period from the configured poll period. Deviation is measured from
+     * the start of previous poll to the start of the next poll.
+     *
+     * @return histogram of absolute poll period deviations
+     */
+    public ModbusLatencyHistogram getPollJitter() {
+        return pollJitter;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("transactionCount", transactionCount)
+                .append("errorCount", errorCount).append("timeoutCount", timeoutCount)
+                .append("connectionErrorCount", connectionErrorCount).append("transactionLatency", transactionLatency)
+                .append("connectionBorrowWait", connectionBorrowWait)
+                .append("interTransactionDelay", interTransactionDelay).append("pollJitter", pollJitter).toString();
+    }
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedule of a regular poll adapting to the responsiveness of the slave
+ *
+ * Polls of responsive slaves are executed at the configured rate. The period is stretched with slaves responding
+ * slowly, such that single poll does not occupy the endpoint more than half of the time. On consecutive failures
+ * (e.g. timeouts), the polls are backed off exponentially, up to {@link #MAX_BACKOFF_MILLIS}. First successful poll
+ * restores the normal rate.
+ *
+ * Next poll is scheduled only after the previous poll has completed. The poll is submitted using
+ * {@link PollSubmitter}, which must report the completion of the poll with {@link #pollCompleted(long, boolean)}, or
+ * {@link #pollSkipped()} in case poll was not executed.
+ *
+ * The schedule acts as {@link ScheduledFuture} of the whole poll series, and is cancelled using
+ * {@link #cancel(boolean)}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class AdaptivePollSchedule implements ScheduledFuture<Object> {
+
+    /**
+     * Submitter of the polls
+     */
+    @FunctionalInterface
+    public interface PollSubmitter {
+
+        /**
+         * Submit poll for execution
+         *
+         * @param schedule schedule of the poll, to be notified on completion
+         * @param dueMillis time when the poll was due
+         */
+        public void submit(AdaptivePollSchedule schedule, long dueMillis);
+    }
+
+    /**
+     * Maximum delay between polls with failing slaves. Poll period is never shortened, however.
+     */
+    public static final long MAX_BACKOFF_MILLIS = 60_000;
+
+    /**
+     * Weight of the latest response time in the average response time
+     */
+    private static final double RESPONSE_TIME_SMOOTHING = 0.25;
+
+    private static final int MAX_BACKOFF_EXPONENT = 16;
+
+    private final Logger logger = LoggerFactory.getLogger(AdaptivePollSchedule.class);
+
+    private final ScheduledExecutorService executor;
+    private final long pollPeriodMillis;
+    private final PollSubmitter pollSubmitter;
+    private final CountDownLatch cancelled = new CountDownLatch(1);
+
+    private int consecutiveFailures;
+    private double averageResponseMillis = -1;
+    private long nextDueMillis;
+    private volatile @Nullable ScheduledFuture<?> nextPoll;
+
+    /**
+     * Construct schedule
+     *
+     * @param executor executor for the polls
+     * @param pollPeriodMillis configured poll period
+     * @param pollSubmitter submitter of polls
+     */
+    public AdaptivePollSchedule(ScheduledExecutorService executor, long pollPeriodMillis, PollSubmitter pollSubmitter) {
+        this.executor = executor;
+        this.pollPeriodMillis = pollPeriodMillis;
+        this.pollSubmitter = pollSubmitter;
+    }
+
+    /**
+     * Start polling
+     *
+     * @param initialDelayMillis delay of the first poll
+     * @return this schedule
+     */
+    public synchronized AdaptivePollSchedule start(long initialDelayMillis) {
+        nextDueMillis = System.currentTimeMillis() + initialDelayMillis;
+        scheduleNext();
+        return this;
+    }
+
+    /**
+     * Report completion of the poll, and schedule the next one
+     *
+     * @param durationMillis duration of the poll
+     * @param success whether the poll succeeded
+     */
+    public synchronized void pollCompleted(long durationMillis, boolean success) {
+        averageResponseMillis = averageResponseMillis < 0 ? durationMillis
+                : RESPONSE_TIME_SMOOTHING * durationMillis + (1 - RESPONSE_TIME_SMOOTHING) * averageResponseMillis;
+        long now = System.currentTimeMillis();
+        if (success) {
+            consecutiveFailures = 0;
+            // Keep the rate, unless the previous polls have been delayed more than a period
+            nextDueMillis = Math.max(now, nextDueMillis + getEffectivePeriodMillis());
+        } else {
+            consecutiveFailures++;
+            nextDueMillis = now + getNextDelayMillis();
+            logger.debug("Poll failed {} times in a row, backing off. Next poll in {} ms (configured period {} ms)",
+                    consecutiveFailures, nextDueMillis - now, pollPeriodMillis);
+        }
+        scheduleNext();
+    }
+
+    /**
+     * Report that the poll was not executed, and schedule the next one using the configured period
+     */
+    public synchronized void pollSkipped() {
+        nextDueMillis = Math.max(System.currentTimeMillis(), nextDueMillis + pollPeriodMillis);
+        scheduleNext();
+    }
+
+    /**
+     * Get poll period considering the response times of the slave
+     *
+     * @return configured poll period, or longer period in case the slave responds slowly
+     */
+    public synchronized long getEffectivePeriodMillis() {
+        return Math.max(pollPeriodMillis, (long) (2 * averageResponseMillis));
+    }
+
+    /**
+     * Get delay before the next poll, considering the failures
+     *
+     * @return delay in milliseconds
+     */
+    public synchronized long getNextDelayMillis() {
+        long periodMillis = getEffectivePeriodMillis();
+        if (consecutiveFailures == 0) {
+            return periodMillis;
+        }
+        long maxDelayMillis = Math.max(periodMillis, MAX_BACKOFF_MILLIS);
+        int exponent = Math.min(consecutiveFailures, MAX_BACKOFF_EXPONENT);
+        if (periodMillis > maxDelayMillis >> exponent) {
+            return maxDelayMillis;
+        }
+        return periodMillis << exponent;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    private void scheduleNext() {
+        if (isCancelled()) {
+            return;
+        }
+        long dueMillis = nextDueMillis;
+        try {
+            nextPoll = executor.schedule(() -> {
+                if (!isCancelled()) {
+                    pollSubmitter.submit(this, dueMillis);
+                }
+            }, Math.max(0, dueMillis - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Could not schedule next poll, executor has been shut down");
+            cancel(false);
+        }
+    }
+
+    @Override
+    public long getDelay(@Nullable TimeUnit unit) {
+        ScheduledFuture<?> nextPoll = this.nextPoll;
+        return nextPoll == null ? 0 : nextPoll.getDelay(unit);
+    }
+
+    @Override
+    public int compareTo(@Nullable Delayed other) {
+        if (other == null) {
+            return 1;
+        }
+        return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (isCancelled()) {
+            return false;
+        }
+        cancelled.countDown();
+        ScheduledFuture<?> nextPoll = this.nextPoll;
+        if (nextPoll != null) {
+            nextPoll.cancel(mayInterruptIfRunning);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled.getCount() == 0;
+    }
+
+    @Override
+    public boolean isDone() {
+        return isCancelled();
+    }
+
+    /**
+     * Wait until the schedule is cancelled
+     *
+     * @throws CancellationException when the schedule has been cancelled
+     */
+    @Override
+    public Object get() throws InterruptedException {
+        cancelled.await();
+        throw new CancellationException();
+    }
+
+    /**
+     * Wait until the schedule is cancelled
+     *
+     * @throws CancellationException when the schedule has been cancelled
+     * @throws TimeoutException when the schedule was not cancelled within the timeout
+     */
+    @Override
+    public Object get(long timeout, @Nullable TimeUnit unit) throws InterruptedException, TimeoutException {
+        if (unit == null || !cancelled.await(timeout, unit)) {
+            throw new TimeoutException();
+        }
+        throw new CancellationException();
+    }
+}
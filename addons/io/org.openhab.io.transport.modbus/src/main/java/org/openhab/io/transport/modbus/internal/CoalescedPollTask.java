@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.apache.commons.lang.builder.StandardToStringStyle;
+import org.apache.commons.lang.builder.ToStringBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BitArray;
+import org.openhab.io.transport.modbus.ModbusReadCallback;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusRegisterArray;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link PollTask} reading a single block of data on behalf of many poll tasks.
+ *
+ * The task acts as callback of its own request: the received data is sliced and forwarded to the callbacks of the
+ * original tasks, each callback receiving the original request and the data it requested. Errors are forwarded to all
+ * the original callbacks.
+ *
+ * Instances are constructed with {@link ModbusPollCoalescer}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class CoalescedPollTask implements PollTask, ModbusReadCallback {
+
+    private static StandardToStringStyle toStringStyle = new StandardToStringStyle();
+    static {
+        toStringStyle.setUseShortClassName(true);
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(CoalescedPollTask.class);
+
+    private ModbusSlaveEndpoint endpoint;
+    private ModbusReadRequestBlueprint request;
+    private List<PollTask> tasks;
+
+    /**
+     * Construct coalesced task
+     *
+     * @param endpoint endpoint of all the tasks
+     * @param request request covering the data of all the tasks
+     * @param tasks original tasks
+     */
+    public CoalescedPollTask(ModbusSlaveEndpoint endpoint, ModbusReadRequestBlueprint request, List<PollTask> tasks) {
+        this.endpoint = endpoint;
+        this.request = request;
+        this.tasks = Collections.unmodifiableList(tasks);
+    }
+
+    @Override
+    public ModbusSlaveEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    @Override
+    public ModbusReadRequestBlueprint getRequest() {
+        return request;
+    }
+
+    @Override
+    public ModbusReadCallback getCallback() {
+        return this;
+    }
+
+    /**
+     * Get the original poll tasks served by this task
+     *
+     * @return unmodifiable list of poll tasks
+     */
+    public List<PollTask> getTasks() {
+        return tasks;
+    }
+
+    @Override
+    public void onRegisters(ModbusReadRequestBlueprint request, ModbusRegisterArray registers) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            int offset = taskRequest.getReference() - this.request.getReference();
+            // Be lenient with too short responses, similar to uncoalesced requests
+            int length = Math.max(0, Math.min(taskRequest.getDataLength(), registers.size() - offset));
+            invokeSafely(task, () -> callback.onRegisters(taskRequest,
+                    new RegisterArraySlice(registers, Math.min(offset, registers.size()), length)));
+        }
+    }
+
+    @Override
+    public void onBits(ModbusReadRequestBlueprint request, BitArray bits) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            ModbusReadRequestBlueprint taskRequest = task.getRequest();
+            int offset = taskRequest.getReference() - this.request.getReference();
+            int length = Math.max(0, Math.min(taskRequest.getDataLength(), bits.size() - offset));
+            invokeSafely(task, () -> callback.onBits(taskRequest,
+                    new BitArraySlice(bits, Math.min(offset, bits.size()), length)));
+        }
+    }
+
+    @Override
+    public void onError(ModbusReadRequestBlueprint request, Exception error) {
+        for (PollTask task : tasks) {
+            ModbusReadCallback callback = task.getCallback();
+            if (callback == null) {
+                continue;
+            }
+            invokeSafely(task, () -> callback.onError(task.getRequest(), error));
+        }
+    }
+
+    /**
+     * Invoke callback of single task, making sure that issues with one callback do not prevent calling the others
+     */
+    private void invokeSafely(PollTask task, Runnable invocation) {
+        try {
+            invocation.run();
+        } catch (RuntimeException e) {
+            logger.error("Unhandled exception in callback of task {} (coalesced read {}): {} {}", task, request,
+                    e.getClass().getName(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(53, 13).append(request).append(endpoint).append(tasks).toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, toStringStyle).append("request", request).append("endpoint", endpoint)
+                .append("tasks", tasks.size()).toString();
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+        if (obj == null) {
+            return false;
+        }
+        if (obj == this) {
+            return true;
+        }
+        if (obj.getClass() != getClass()) {
+            return false;
+        }
+        CoalescedPollTask rhs = (CoalescedPollTask) obj;
+        return new EqualsBuilder().append(request, rhs.request).append(endpoint, rhs.endpoint).append(tasks, rhs.tasks)
+                .isEquals();
+    }
+
+}
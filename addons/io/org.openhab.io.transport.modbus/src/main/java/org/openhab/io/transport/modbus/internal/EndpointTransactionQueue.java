@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.NamedThreadFactory;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Ordered queue of transactions with single endpoint.
+ *
+ * The queued operations are executed one at a time by a worker dedicated to the endpoint. This way threads do not
+ * block waiting for a busy endpoint, and the waits between transactions with one endpoint do not delay transactions
+ * with other endpoints.
+ *
+ * Operations with higher priority (e.g. writes) are executed first. Operations with equal priority are executed in
+ * the order of their deadlines (earliest deadline first), and operations without deadline in the order they were
+ * submitted.
+ *
+ * The worker thread is stopped when the queue has been idle for a while, and started again on demand.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class EndpointTransactionQueue {
+
+    /**
+     * Priority of queued operations, in the order of execution
+     */
+    public static enum Priority {
+        WRITE,
+        ONE_OFF_POLL,
+        REGULAR_POLL
+    }
+
+    private static class QueuedOperation implements Comparable<QueuedOperation> {
+        private final Priority priority;
+        private final long deadlineMillis;
+        private final long sequence;
+        private final @Nullable Object deduplicationKey;
+        private final Runnable operation;
+
+        public QueuedOperation(Priority priority, long deadlineMillis, long sequence,
+                @Nullable Object deduplicationKey, Runnable operation) {
+            this.priority = priority;
+            this.deadlineMillis = deadlineMillis;
+            this.sequence = sequence;
+            this.deduplicationKey = deduplicationKey;
+            this.operation = operation;
+        }
+
+        @Override
+        public int compareTo(QueuedOperation other) {
+            int priorityComparison = priority.compareTo(other.priority);
+            if (priorityComparison != 0) {
+                return priorityComparison;
+            }
+            int deadlineComparison = Long.compare(deadlineMillis, other.deadlineMillis);
+            return deadlineComparison != 0 ? deadlineComparison : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    /**
+     * Future of a queued operation, completed when the operation has been executed
+     */
+    private class OperationFuture extends FutureTask<@Nullable Void> implements ScheduledFuture<@Nullable Void> {
+
+        public OperationFuture(Runnable operation) {
+            super(operation, null);
+        }
+
+        @Override
+        public long getDelay(@Nullable TimeUnit unit) {
+            // Operation is due as soon as the worker gets to it
+            return 0;
+        }
+
+        @Override
+        public int compareTo(@Nullable Delayed other) {
+            return other == null ? 1 : Long.compare(0, other.getDelay(TimeUnit.MILLISECONDS));
+        }
+
+        @Override
+        protected void setException(@Nullable Throwable t) {
+            logger.error("Unexpected error with queued operation of endpoint {}: {} {}", endpoint,
+                    t == null ? null : t.getClass().getName(), t == null ? null : t.getMessage(), t);
+            super.setException(t);
+        }
+    }
+
+    private static final long WORKER_KEEP_ALIVE_MILLIS = 60_000;
+
+    private final Logger logger = LoggerFactory.getLogger(EndpointTransactionQueue.class);
+
+    private final ModbusSlaveEndpoint endpoint;
+    private final PriorityBlockingQueue<QueuedOperation> queue = new PriorityBlockingQueue<>();
+    private final Set<Object> queuedKeys = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ThreadPoolExecutor worker;
+
+    public EndpointTransactionQueue(ModbusSlaveEndpoint endpoint, String threadName) {
+        this.endpoint = endpoint;
+        worker = new ThreadPoolExecutor(1, 1, WORKER_KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(threadName));
+        worker.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Submit operation for execution, without deadline and deduplication. The returned future completes when the
+     * operation has been executed. Cancelling the future before the execution prevents the execution, and cancelling
+     * it with interruption interrupts an ongoing execution. The interruption does not affect the operations executed
+     * after it.
+     *
+     * @param priority priority of the operation
+     * @param operation operation to execute
+     * @return future representing the operation
+     * @throws java.util.concurrent.RejectedExecutionException if the queue has been shut down
+     */
+    public ScheduledFuture<?> submit(Priority priority, Runnable operation) {
+        OperationFuture future = new OperationFuture(operation);
+        submit(priority, null, future);
+        return future;
+    }
+
+    /**
+     * Submit operation for execution, without deadline
+     *
+     * @param priority priority of the operation
+     * @param deduplicationKey key for the operation. Operation is not queued if an operation with equal key is
+     *            already waiting in the queue. Use null to always queue the operation.
+     * @param operation operation to execute
+     * @return whether the operation was queued
+     * @throws java.util.concurrent.RejectedExecutionException if the queue has been shut down
+     */
+    public boolean submit(Priority priority, @Nullable Object deduplicationKey, Runnable operation) {
+        return submit(priority, Long.MAX_VALUE, deduplicationKey, operation);
+    }
+
+    /**
+     * Submit operation for execution
+     *
+     * @param priority priority of the operation
+     * @param deadlineMillis time (in epoch milliseconds) when the operation should be executed at the latest. Among
+     *            operations of equal priority, the operation with earliest deadline is executed first.
+     * @param deduplicationKey key for the operation. Operation is not queued if an operation with equal key is
+     *            already waiting in the queue. Use null to always queue the operation.
+     * @param operation operation to execute
+     * @return whether the operation was queued
+     * @throws java.util.concurrent.RejectedExecutionException if the queue has been shut down
+     */
+    public boolean submit(Priority priority, long deadlineMillis, @Nullable Object deduplicationKey,
+            Runnable operation) {
+        if (deduplicationKey != null && !queuedKeys.add(deduplicationKey)) {
+            logger.debug("Not queuing {} with endpoint {} since it is already waiting in the queue", deduplicationKey,
+                    endpoint);
+            return false;
+        }
+        queue.add(new QueuedOperation(priority, deadlineMillis, sequence.getAndIncrement(), deduplicationKey,
+                operation));
+        startDraining();
+        return true;
+    }
+
+    private void startDraining() {
+        if (draining.compareAndSet(false, true)) {
+            worker.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            QueuedOperation queued;
+            while ((queued = queue.poll()) != null) {
+                Object deduplicationKey = queued.deduplicationKey;
+                if (deduplicationKey != null) {
+                    queuedKeys.remove(deduplicationKey);
+                }
+                try {
+                    queued.operation.run();
+                } catch (RuntimeException e) {
+                    logger.error("Unexpected error with queued operation of endpoint {}: {} {}", endpoint,
+                            e.getClass().getName(), e.getMessage(), e);
+                } finally {
+                    // The worker is shared by all queued operations. Clear the interrupt of a cancelled operation,
+                    // so that it does not abort the operations executed after it.
+                    Thread.interrupted();
+                }
+            }
+        } finally {
+            draining.set(false);
+        }
+        // Operation might have been submitted after the queue was found empty, but before draining flag was reset
+        if (!queue.isEmpty() && !worker.isShutdown()) {
+            startDraining();
+        }
+    }
+
+    /**
+     * Get number of operations waiting in the queue
+     *
+     * @return number of queued operations
+     */
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Discard the queued operations and stop the worker. Operation under execution is not interrupted. Futures of the
+     * discarded operations are cancelled.
+     */
+    public void shutdown() {
+        worker.shutdown();
+        QueuedOperation queued;
+        while ((queued = queue.poll()) != null) {
+            if (queued.operation instanceof Future) {
+                ((Future<?>) queued.operation).cancel(false);
+            }
+        }
+        queuedKeys.clear();
+    }
+
+}
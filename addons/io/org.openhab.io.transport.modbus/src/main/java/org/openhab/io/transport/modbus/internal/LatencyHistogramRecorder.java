@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.io.transport.modbus.ModbusLatencyHistogram;
+
+/**
+ * Thread-safe recorder of durations
+ *
+ * Recording does not allocate, and does not block other recording threads.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LatencyHistogramRecorder {
+
+    private final AtomicLongArray bucketCounts = new AtomicLongArray(ModbusLatencyHistogram.BUCKET_COUNT);
+    private final LongAdder totalMillis = new LongAdder();
+    private final AtomicLong maxMillis = new AtomicLong();
+
+    /**
+     * Record duration
+     *
+     * @param millis duration in milliseconds. Negative durations (e.g. due to clock adjustments) are recorded as
+     *            zero.
+     */
+    public void record(long millis) {
+        long nonNegativeMillis = Math.max(0, millis);
+        bucketCounts.incrementAndGet(ModbusLatencyHistogram.getBucketIndex(nonNegativeMillis));
+        totalMillis.add(nonNegativeMillis);
+        maxMillis.accumulateAndGet(nonNegativeMillis, Math::max);
+    }
+
+    /**
+     * Take snapshot of the recorded durations
+     *
+     * Snapshot taken while other threads are recording might not be fully consistent, e.g. the total might include a
+     * duration not yet counted in the buckets.
+     *
+     * @return snapshot of recorded durations
+     */
+    public ModbusLatencyHistogram snapshot() {
+        long[] counts = new long[bucketCounts.length()];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = bucketCounts.get(i);
+        }
+        return new ModbusLatencyHistogram(counts, totalMillis.sum(), maxMillis.get());
+    }
+}
@@ -10,6 +10,8 @@ package org.openhab.io.transport.modbus.internal;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -18,13 +20,18 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import javax.imageio.IIOException;
 
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
 import org.apache.commons.pool2.KeyedObjectPool;
 import org.apache.commons.pool2.SwallowedExceptionListener;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
@@ -40,6 +47,7 @@ import org.openhab.io.transport.modbus.ModbusManagerListener;
 import org.openhab.io.transport.modbus.ModbusReadCallback;
 import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
 import org.openhab.io.transport.modbus.ModbusRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusTransactionMetrics;
 import org.openhab.io.transport.modbus.ModbusUnexpectedTransactionIdException;
 import org.openhab.io.transport.modbus.ModbusWriteCallback;
 import org.openhab.io.transport.modbus.ModbusWriteRequestBlueprint;
@@ -52,6 +60,7 @@ import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpointVisitor;
 import org.openhab.io.transport.modbus.endpoint.ModbusTCPSlaveEndpoint;
 import org.openhab.io.transport.modbus.endpoint.ModbusUDPSlaveEndpoint;
+import org.openhab.io.transport.modbus.internal.EndpointTransactionQueue.Priority;
 import org.openhab.io.transport.modbus.internal.pooling.ModbusSlaveConnectionFactoryImpl;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -75,6 +84,10 @@ import net.wimpi.modbus.net.ModbusSlaveConnection;
  * important with serial slaves but practice has shown that even many tcp slaves have limited
  * capability to handle many connections at the same time
  *
+ * All transactions with an endpoint are executed in order by a worker dedicated to the endpoint (see
+ * {@link EndpointTransactionQueue}). Scheduled polls and one-off operations only queue the operation, and thus never
+ * block waiting for a busy endpoint.
+ *
  * @author Sami Salonen - Initial contribution
  */
 @Component(service = ModbusManager.class, immediate = true, configurationPid = "transport.modbus")
@@ -89,6 +102,41 @@ public class ModbusManagerImpl implements ModbusManager {
         private static final long serialVersionUID = 6939730579178506885L;
     }
 
+    /**
+     * Regular polls of single endpoint, sharing the same poll period. Only polls within the same group can be
+     * coalesced.
+     */
+    private static class PollGroupKey {
+        private ModbusSlaveEndpoint endpoint;
+        private long pollPeriodMillis;
+
+        public PollGroupKey(ModbusSlaveEndpoint endpoint, long pollPeriodMillis) {
+            this.endpoint = endpoint;
+            this.pollPeriodMillis = pollPeriodMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(17, 37).append(endpoint).append(pollPeriodMillis).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            PollGroupKey rhs = (PollGroupKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(pollPeriodMillis, rhs.pollPeriodMillis)
+                    .isEquals();
+        }
+    }
+
     @FunctionalInterface
     private interface ModbusOperation<T> {
 
@@ -234,6 +282,10 @@ public class ModbusManagerImpl implements ModbusManager {
      * Thread naming for executing callbacks
      */
     private static final String MODBUS_POLLER_CALLBACK_THREAD_POOL_NAME = "modbusManagerCallbackThreadPool";
+    /**
+     * Thread naming for endpoint workers executing the transactions
+     */
+    private static final String MODBUS_ENDPOINT_WORKER_THREAD_NAME = "modbusManagerEndpointWorker";
 
     /**
      * Log message with WARN level if the task queues exceed this limit.
@@ -250,6 +302,24 @@ public class ModbusManagerImpl implements ModbusManager {
     private static final long WARN_QUEUE_SIZE = 500;
     private static final long MONITOR_QUEUE_INTERVAL_MILLIS = 10000;
 
+    /**
+     * Configuration property for coalescing regular polls.
+     *
+     * Regular polls of the same endpoint, unit id, function code and poll period are merged into single read when the
+     * gap between the requested data is at most this many registers (or bits). Zero merges only overlapping and
+     * adjacent polls. Negative value (default) disables coalescing.
+     */
+    public static final String CONFIG_POLL_COALESCING_MAX_GAP = "pollCoalescingMaxGap";
+    private static final int DEFAULT_POLL_COALESCING_MAX_GAP = -1;
+
+    /**
+     * Configuration property for adaptive scheduling of regular polls.
+     *
+     * When enabled, polls of slow or failing slaves are delayed such that they do not hold up the other slaves of the
+     * same endpoint (e.g. serial line). See {@link AdaptivePollSchedule}. Disabled by default.
+     */
+    public static final String CONFIG_ADAPTIVE_POLL_SCHEDULING = "adaptivePollScheduling";
+
     private final PollOperation pollOperation = new PollOperation();
     private final WriteOperation writeOperation = new WriteOperation();
 
@@ -269,6 +339,16 @@ public class ModbusManagerImpl implements ModbusManager {
     @Nullable
     private volatile ModbusSlaveConnectionFactoryImpl connectionFactory;
     private volatile Map<PollTask, ScheduledFuture<?>> scheduledPollTasks = new ConcurrentHashMap<>();
+    /**
+     * Groups of registered regular polls, used only when polls are coalesced
+     */
+    private volatile Map<PollTask, PollGroupKey> pollGroups = new ConcurrentHashMap<>();
+    /**
+     * Actually executed (possibly coalesced) regular polls per group, used only when polls are coalesced
+     */
+    private volatile Map<PollGroupKey, Map<PollTask, ScheduledFuture<?>>> coalescedPollTasks = new ConcurrentHashMap<>();
+    private volatile int pollCoalescingMaxGap = DEFAULT_POLL_COALESCING_MAX_GAP;
+    private volatile boolean adaptivePollScheduling;
     /**
      * Executor for requests
      */
@@ -279,6 +359,18 @@ public class ModbusManagerImpl implements ModbusManager {
      */
     @Nullable
     private volatile ExecutorService callbackThreadPool;
+    /**
+     * Transaction queues of endpoints
+     */
+    private volatile Map<ModbusSlaveEndpoint, EndpointTransactionQueue> transactionQueues = new ConcurrentHashMap<>();
+    /**
+     * Transaction metrics of endpoints
+     */
+    private volatile Map<ModbusSlaveEndpoint, TransactionMetricsRecorder> endpointMetrics = new ConcurrentHashMap<>();
+    /**
+     * Transaction metrics of registered regular polls
+     */
+    private volatile Map<PollTask, TransactionMetricsRecorder> pollTaskMetrics = new ConcurrentHashMap<>();
     private volatile Collection<ModbusManagerListener> listeners = new CopyOnWriteArraySet<>();
     @Nullable
     private volatile ScheduledFuture<?> monitorFuture;
@@ -315,6 +407,8 @@ public class ModbusManagerImpl implements ModbusManager {
                 }
             });
         });
+        connectionFactory.setInterTransactionDelayListener((endpoint, waited) -> getEndpointMetricsRecorder(endpoint)
+                .recordInterTransactionDelay(waited));
 
         GenericKeyedObjectPool<ModbusSlaveEndpoint, ModbusSlaveConnection> genericKeyedObjectPool = new ModbusConnectionPool(
                 connectionFactory);
@@ -418,8 +512,15 @@ public class ModbusManagerImpl implements ModbusManager {
 
         ModbusRequestBlueprint request = task.getRequest();
         Optional<ModbusSlaveConnection> connection = borrowConnection(endpoint);
+        long connectionBorrowMillis = System.currentTimeMillis() - connectionBorrowStart;
         logger.trace("Executing task {} (oneOff={})! Connection received in {} ms [operation ID {}]", task, oneOffTask,
-                System.currentTimeMillis() - connectionBorrowStart, operationId);
+                connectionBorrowMillis, operationId);
+        recordMetrics(task, metrics -> {
+            metrics.recordConnectionBorrowWait(connectionBorrowMillis);
+            if (!connection.isPresent()) {
+                metrics.recordConnectionError();
+            }
+        });
         ExecutorService callbackPool = callbackThreadPool;
         if (callbackPool == null) {
             // manager deactivated
@@ -469,7 +570,8 @@ public class ModbusManagerImpl implements ModbusManager {
     }
 
     private void verifyTaskIsRegistered(PollTask task) throws PollTaskUnregistered {
-        if (!this.scheduledPollTasks.containsKey(task)) {
+        if (!this.scheduledPollTasks.containsKey(task)
+                && !this.coalescedPollTasks.values().stream().anyMatch(tasks -> tasks.containsKey(task))) {
             String msg = String.format("Poll task %s is unregistered", task);
             logger.debug(msg);
             throw new PollTaskUnregistered(msg);
@@ -489,14 +591,15 @@ public class ModbusManagerImpl implements ModbusManager {
      * @param task
      * @param oneOffTask
      * @param operation
+     * @return whether the operation succeeded
      */
-    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> void executeOperation(
+    private <R extends ModbusRequestBlueprint, C extends ModbusCallback, T extends TaskWithEndpoint<R, C>> boolean executeOperation(
             @NonNull T task, boolean oneOffTask, ModbusOperation<T> operation) {
         ModbusSlaveConnectionFactoryImpl connectionFactory = this.connectionFactory;
         if (connectionFactory == null) {
             // deactivated manager
             logger.trace("Deactivated manager - aborting operation.");
-            return;
+            return false;
         }
         logTaskQueueInfo();
         R request = task.getRequest();
@@ -524,14 +627,14 @@ public class ModbusManagerImpl implements ModbusManager {
                 // Could not acquire connection, time to abort
                 // Error logged already, error callback called as well
                 logger.trace("Initial connection was not successful, aborting. [operation ID {}]", operationId);
-                return;
+                return false;
             }
 
             ExecutorService callbackThreadPool = this.callbackThreadPool;
             if (callbackThreadPool == null) {
                 logger.debug("Manager has been shut down, aborting proecssing request {} [operation ID {}]", request,
                         operationId);
-                return;
+                return false;
             }
 
             int tryIndex = 0;
@@ -549,11 +652,11 @@ public class ModbusManagerImpl implements ModbusManager {
                     // re-established. Error has been logged, time to abort.
                     logger.trace("Try {} out of {}. Connection was not successful, aborting. [operation ID {}]",
                             tryIndex + 1, maxTries, operationId);
-                    return;
+                    return false;
                 }
                 if (Thread.interrupted()) {
                     logger.warn("Thread interrupted. Aborting operation [operation ID {}]", operationId);
-                    return;
+                    return false;
                 }
                 // Check poll task is still registered (this is all asynchronous)
                 if (!oneOffTask && task instanceof PollTask) {
@@ -565,8 +668,12 @@ public class ModbusManagerImpl implements ModbusManager {
                         operationId);
                 long slept = ModbusSlaveConnectionFactoryImpl.waitAtleast(lastTryMillis, retryDelay);
                 logger.trace("Sleep ended, slept {} [operation ID {}]", slept, operationId);
+                if (lastTryMillis != null) {
+                    recordMetrics(task, metrics -> metrics.recordInterTransactionDelay(slept));
+                }
 
                 boolean willRetry = false;
+                long tryStartMillis = System.currentTimeMillis();
                 try {
                     tryIndex++;
                     willRetry = tryIndex < maxTries;
@@ -654,6 +761,9 @@ public class ModbusManagerImpl implements ModbusManager {
                     continue;
                 } finally {
                     lastTryMillis = System.currentTimeMillis();
+                    long tryMillis = lastTryMillis - tryStartMillis;
+                    Exception tryError = lastError.get();
+                    recordMetrics(task, metrics -> metrics.recordTransaction(tryMillis, tryError));
                     // Connection was reseted in error handling and needs to be reconnected.
                     // Try to re-establish connection.
                     if (willRetry && !connection.isPresent()) {
@@ -669,17 +779,20 @@ public class ModbusManagerImpl implements ModbusManager {
                         invokeCallbackWithError(request, callback, exception);
                     });
                 }
+                return false;
             }
+            return true;
         } catch (PollTaskUnregistered e) {
             logger.warn("Poll task was unregistered -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
-            return;
+            return false;
         } catch (InterruptedException e) {
             logger.warn("Poll task was canceled -- not executing/proceeding with the poll: {} [operation ID {}]",
                     e.getMessage(), operationId);
             // Invalidate connection, and empty (so that new connection is acquired before new retry)
             invalidate(endpoint, connection);
             connection = Optional.empty();
+            return false;
         } finally {
             returnConnection(endpoint, connection);
             logger.trace("Connection was returned to the pool, ending operation [operation ID {}]", operationId);
@@ -692,13 +805,11 @@ public class ModbusManagerImpl implements ModbusManager {
         Objects.requireNonNull(executor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off poll task {}", task);
-        ScheduledFuture<?> future = executor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off poll task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
+        return getTransactionQueue(task.getEndpoint()).submit(Priority.ONE_OFF_POLL, () -> {
+            long millisInQueue = System.currentTimeMillis() - scheduleTime;
+            logger.debug("Will now execute one-off poll task {}, waited in queue for {}", task, millisInQueue);
             executeOperation(task, true, pollOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
-        return future;
+        });
     }
 
     @Override
@@ -712,23 +823,132 @@ public class ModbusManagerImpl implements ModbusManager {
                 logger.trace("Unregistering previous poll task (possibly with different period)");
                 unregisterRegularPoll(task);
             }
-            ScheduledFuture<?> future = executor.scheduleWithFixedDelay(() -> {
-                long started = System.currentTimeMillis();
-                logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}", pollPeriodMillis, task,
-                        started);
-                executeOperation(task, false, pollOperation);
-                long finished = System.currentTimeMillis();
-                logger.debug(
-                        "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
-                        pollPeriodMillis, task, finished, started, finished - started);
-            }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
-
-            scheduledPollTasks.put(task, future);
+            pollTaskMetrics.put(task, new TransactionMetricsRecorder());
+            if (pollCoalescingMaxGap >= 0) {
+                PollGroupKey group = new PollGroupKey(task.getEndpoint(), pollPeriodMillis);
+                pollGroups.put(task, group);
+                replanCoalescedPolls(executor, group, initialDelayMillis);
+            } else {
+                ScheduledFuture<?> future = schedulePollTask(executor, task, pollPeriodMillis, initialDelayMillis);
+                scheduledPollTasks.put(task, future);
+            }
             logger.trace("Registered poll task {} with period {} using initial delay {}", task, pollPeriodMillis,
                     initialDelayMillis);
         }
     }
 
+    private ScheduledFuture<?> schedulePollTask(ScheduledExecutorService executor, PollTask task,
+            long pollPeriodMillis, long initialDelayMillis) {
+        if (adaptivePollScheduling) {
+            return scheduleAdaptivePollTask(executor, task, pollPeriodMillis, initialDelayMillis);
+        }
+        return executor.scheduleWithFixedDelay(() -> {
+            long scheduled = System.currentTimeMillis();
+            // Poll task is queued only once. In case the previous poll has not been executed yet (busy endpoint),
+            // there is no point in queuing another one. Queued polls are executed in the order of their deadlines,
+            // i.e. the time of the next poll.
+            long deadline = scheduled + pollPeriodMillis;
+            getTransactionQueue(task.getEndpoint()).submit(Priority.REGULAR_POLL, deadline, task, () -> {
+                executeScheduledPoll(task, pollPeriodMillis, scheduled);
+            });
+        }, initialDelayMillis, pollPeriodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schedule regular poll using {@link AdaptivePollSchedule}
+     *
+     * Next poll is scheduled only after the previous poll has been executed, with the delay depending on the
+     * success and the duration of the previous polls.
+     */
+    private ScheduledFuture<?> scheduleAdaptivePollTask(ScheduledExecutorService executor, PollTask task,
+            long pollPeriodMillis, long initialDelayMillis) {
+        AdaptivePollSchedule schedule = new AdaptivePollSchedule(executor, pollPeriodMillis, (self, due) -> {
+            long scheduled = System.currentTimeMillis();
+            long deadline = due + pollPeriodMillis;
+            boolean queued;
+            try {
+                queued = getTransactionQueue(task.getEndpoint()).submit(Priority.REGULAR_POLL, deadline, task, () -> {
+                    long started = System.currentTimeMillis();
+                    boolean success = false;
+                    try {
+                        success = executeScheduledPoll(task, pollPeriodMillis, scheduled);
+                    } finally {
+                        self.pollCompleted(System.currentTimeMillis() - started, success);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                logger.debug("Transaction queue of endpoint {} has been shut down, stopping poll task {}",
+                        task.getEndpoint(), task);
+                self.cancel(false);
+                return;
+            }
+            if (!queued) {
+                // Equal poll task (e.g. previous registration of the task) is still waiting in the queue
+                self.pollSkipped();
+            }
+        });
+        return schedule.start(initialDelayMillis);
+    }
+
+    /**
+     * Execute scheduled regular poll
+     *
+     * @param task task to execute
+     * @param pollPeriodMillis configured poll period
+     * @param scheduled time when the poll was queued
+     * @return whether the poll succeeded
+     */
+    private boolean executeScheduledPoll(PollTask task, long pollPeriodMillis, long scheduled) {
+        long started = System.currentTimeMillis();
+        logger.debug("Executing scheduled ({}ms) poll task {}. Current millis: {}. Waited in queue for {}",
+                pollPeriodMillis, task, started, started - scheduled);
+        recordPollStart(task, started, pollPeriodMillis);
+        boolean success = executeOperation(task, false, pollOperation);
+        long finished = System.currentTimeMillis();
+        logger.debug(
+                "Execution of scheduled ({}ms) poll task {} finished at {}. Was started at millis: {} (=duration of {} millis)",
+                pollPeriodMillis, task, finished, started, finished - started);
+        return success;
+    }
+
+    /**
+     * Re-plan the reads of a group of regular polls
+     *
+     * Previously scheduled reads of the group are canceled, and the registered polls of the group are scheduled again
+     * using reads planned by {@link ModbusPollCoalescer}.
+     *
+     * @param executor executor for the reads
+     * @param group group to re-plan
+     * @param initialDelayMillis initial delay for the new reads
+     */
+    private void replanCoalescedPolls(ScheduledExecutorService executor, PollGroupKey group, long initialDelayMillis) {
+        Map<PollTask, ScheduledFuture<?>> previousTasks = coalescedPollTasks.remove(group);
+        if (previousTasks != null) {
+            // Let ongoing reads finish normally, they are not rescheduled anymore
+            previousTasks.values().forEach(future -> future.cancel(false));
+        }
+        List<PollTask> tasks = pollGroups.entrySet().stream().filter(entry -> entry.getValue().equals(group))
+                .map(Map.Entry::getKey).collect(Collectors.toList());
+        if (tasks.isEmpty()) {
+            return;
+        }
+        Map<PollTask, ScheduledFuture<?>> plannedTasks = new ConcurrentHashMap<>();
+        coalescedPollTasks.put(group, plannedTasks);
+        for (PollTask plannedTask : ModbusPollCoalescer.coalesce(tasks, pollCoalescingMaxGap)) {
+            ScheduledFuture<?> future = schedulePollTask(executor, plannedTask, group.pollPeriodMillis,
+                    initialDelayMillis);
+            plannedTasks.put(plannedTask, future);
+            List<PollTask> originalTasks = plannedTask instanceof CoalescedPollTask
+                    ? ((CoalescedPollTask) plannedTask).getTasks()
+                    : Collections.singletonList(plannedTask);
+            if (originalTasks.size() > 1) {
+                logger.debug("Coalesced {} poll tasks of endpoint {} into single read {}", originalTasks.size(),
+                        group.endpoint, plannedTask.getRequest());
+            }
+            originalTasks.forEach(originalTask -> scheduledPollTasks.put(originalTask, future));
+        }
+    }
+
     @SuppressWarnings({ "null", "unused" })
     @Override
     public boolean unregisterRegularPoll(PollTask task) {
@@ -747,12 +967,20 @@ public class ModbusManagerImpl implements ModbusManager {
                 return false;
             }
             logger.info("Unregistering regular poll task {} (interrupting if necessary)", task);
+            pollTaskMetrics.remove(task);
 
             // Make sure connections to this endpoint are closed when they are returned to pool (which
             // is usually pretty soon as transactions should be relatively short-lived)
             factory.disconnectOnReturn(task.getEndpoint(), System.currentTimeMillis());
 
-            future.cancel(true);
+            PollGroupKey group = pollGroups.remove(task);
+            if (group == null) {
+                future.cancel(true);
+            } else {
+                // The read might be shared with other polls. Re-plan the remaining polls of the group, keeping the
+                // poll rate.
+                replanCoalescedPolls(executor, group, group.pollPeriodMillis);
+            }
 
             logger.info("Poll task {} canceled", task);
 
@@ -777,13 +1005,80 @@ public class ModbusManagerImpl implements ModbusManager {
         Objects.requireNonNull(scheduledThreadPoolExecutor, "Not activated!");
         long scheduleTime = System.currentTimeMillis();
         logger.debug("Scheduling one-off write task {}", task);
-        ScheduledFuture<?> future = scheduledThreadPoolExecutor.schedule(() -> {
-            long millisInThreadPoolWaiting = System.currentTimeMillis() - scheduleTime;
-            logger.debug("Will now execute one-off write task {}, waited in thread pool for {}", task,
-                    millisInThreadPoolWaiting);
+        return getTransactionQueue(task.getEndpoint()).submit(Priority.WRITE, () -> {
+            long millisInQueue = System.currentTimeMillis() - scheduleTime;
+            logger.debug("Will now execute one-off write task {}, waited in queue for {}", task, millisInQueue);
             executeOperation(task, true, writeOperation);
-        }, 0L, TimeUnit.MILLISECONDS);
-        return future;
+        });
+    }
+
+    private TransactionMetricsRecorder getEndpointMetricsRecorder(ModbusSlaveEndpoint endpoint) {
+        return endpointMetrics.computeIfAbsent(endpoint, ep -> new TransactionMetricsRecorder());
+    }
+
+    /**
+     * Record metrics of the endpoint of the task, and the registered regular polls executed by the task
+     *
+     * @param task task executed
+     * @param recording recording of the metrics, called once per each recorder
+     */
+    private void recordMetrics(TaskWithEndpoint<?, ?> task, Consumer<TransactionMetricsRecorder> recording) {
+        recording.accept(getEndpointMetricsRecorder(task.getEndpoint()));
+        if (task instanceof CoalescedPollTask) {
+            for (PollTask originalTask : ((CoalescedPollTask) task).getTasks()) {
+                recordPollTaskMetrics(originalTask, recording);
+            }
+        } else if (task instanceof PollTask) {
+            recordPollTaskMetrics((PollTask) task, recording);
+        }
+    }
+
+    private void recordPollTaskMetrics(PollTask task, Consumer<TransactionMetricsRecorder> recording) {
+        TransactionMetricsRecorder metrics = pollTaskMetrics.get(task);
+        if (metrics != null) {
+            recording.accept(metrics);
+        }
+    }
+
+    /**
+     * Record start of scheduled poll, for measuring the poll jitter
+     *
+     * Jitter is recorded with the polled endpoint as well.
+     *
+     * @param task task executed, possibly coalesced
+     * @param started start time of the poll
+     * @param pollPeriodMillis configured poll period
+     */
+    private void recordPollStart(PollTask task, long started, long pollPeriodMillis) {
+        List<PollTask> originalTasks = task instanceof CoalescedPollTask ? ((CoalescedPollTask) task).getTasks()
+                : Collections.singletonList(task);
+        long jitter = -1;
+        for (PollTask originalTask : originalTasks) {
+            TransactionMetricsRecorder metrics = pollTaskMetrics.get(originalTask);
+            if (metrics != null) {
+                jitter = Math.max(jitter, metrics.recordPollStart(started, pollPeriodMillis));
+            }
+        }
+        if (jitter >= 0) {
+            getEndpointMetricsRecorder(task.getEndpoint()).recordPollJitter(jitter);
+        }
+    }
+
+    @Override
+    public Map<ModbusSlaveEndpoint, ModbusTransactionMetrics> getEndpointMetrics() {
+        return endpointMetrics.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().snapshot()));
+    }
+
+    @Override
+    public Map<PollTask, ModbusTransactionMetrics> getPollTaskMetrics() {
+        return pollTaskMetrics.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().snapshot()));
+    }
+
+    private EndpointTransactionQueue getTransactionQueue(ModbusSlaveEndpoint endpoint) {
+        return transactionQueues.computeIfAbsent(endpoint,
+                ep -> new EndpointTransactionQueue(ep, MODBUS_ENDPOINT_WORKER_THREAD_NAME));
     }
 
     @Override
@@ -821,6 +1116,10 @@ public class ModbusManagerImpl implements ModbusManager {
     protected void activate(Map<String, Object> configProperties) {
         synchronized (this) {
             logger.info("Modbus manager activated");
+            pollCoalescingMaxGap = parsePollCoalescingMaxGap(configProperties.get(CONFIG_POLL_COALESCING_MAX_GAP));
+            Object adaptivePollSchedulingValue = configProperties.get(CONFIG_ADAPTIVE_POLL_SCHEDULING);
+            adaptivePollScheduling = adaptivePollSchedulingValue != null
+                    && Boolean.parseBoolean(adaptivePollSchedulingValue.toString().trim());
             if (connectionPool == null) {
                 constructConnectionPool();
             }
@@ -843,6 +1142,18 @@ public class ModbusManagerImpl implements ModbusManager {
         }
     }
 
+    private int parsePollCoalescingMaxGap(@Nullable Object value) {
+        if (value == null) {
+            return DEFAULT_POLL_COALESCING_MAX_GAP;
+        }
+        try {
+            return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, poll coalescing disabled", value, CONFIG_POLL_COALESCING_MAX_GAP);
+            return DEFAULT_POLL_COALESCING_MAX_GAP;
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         synchronized (this) {
@@ -861,6 +1172,10 @@ public class ModbusManagerImpl implements ModbusManager {
                 monitorFuture.cancel(true);
                 monitorFuture = null;
             }
+            transactionQueues.values().forEach(EndpointTransactionQueue::shutdown);
+            transactionQueues.clear();
+            endpointMetrics.clear();
+            pollTaskMetrics.clear();
             // Note that it is not allowed to shutdown the executor, since they will be reused when
             // when pool is received from ThreadPoolManager is called
             scheduledThreadPoolExecutor = null;
@@ -890,6 +1205,18 @@ public class ModbusManagerImpl implements ModbusManager {
                         task.getRequest().getDataLength(), future.isDone(), future.isCancelled(),
                         future.getDelay(TimeUnit.MILLISECONDS), task);
             });
+            this.transactionQueues.forEach((endpoint, queue) -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {} transaction queue size: {}", endpoint,
+                        queue.size());
+                if (queue.size() >= WARN_QUEUE_SIZE) {
+                    pollMonitorLogger.warn(
+                            "Many ({}) transactions queued with endpoint {}! The endpoint is not able to keep up with the requests.",
+                            queue.size(), endpoint);
+                }
+            });
+            this.endpointMetrics.forEach((endpoint, metrics) -> {
+                pollMonitorLogger.trace("POLL MONITOR: endpoint {} metrics: {}", endpoint, metrics.snapshot());
+            });
             if (callbackThreadPool instanceof QueueingThreadPoolExecutor) {
                 QueueingThreadPoolExecutor callbackPool = ((QueueingThreadPoolExecutor) callbackThreadPool);
                 pollMonitorLogger.trace(
@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.builder.EqualsBuilder;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.BasicModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.ModbusReadFunctionCode;
+import org.openhab.io.transport.modbus.ModbusReadRequestBlueprint;
+import org.openhab.io.transport.modbus.PollTask;
+import org.openhab.io.transport.modbus.endpoint.ModbusSlaveEndpoint;
+
+/**
+ * Planner merging poll tasks reading nearby data into fewer reads.
+ *
+ * Tasks are merged only if they share the endpoint, unit id and function code. Two tasks are merged when the gap
+ * between the requested data is at most <code>maxGap</code> registers (or bits), and the merged request does not exceed
+ * the maximum data length allowed by the Modbus specification.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ModbusPollCoalescer {
+
+    /**
+     * Maximum number of registers to read in single request (function codes 3 and 4) as per Modbus specification
+     */
+    public static final int MAX_REGISTERS_PER_READ = 125;
+
+    /**
+     * Maximum number of coils or discrete inputs to read in single request (function codes 1 and 2) as per Modbus
+     * specification
+     */
+    public static final int MAX_BITS_PER_READ = 2000;
+
+    /**
+     * Key for tasks that can be potentially merged
+     */
+    private static class CoalescingKey {
+        private ModbusSlaveEndpoint endpoint;
+        private int unitId;
+        private ModbusReadFunctionCode functionCode;
+
+        public CoalescingKey(PollTask task) {
+            this.endpoint = task.getEndpoint();
+            this.unitId = task.getRequest().getUnitID();
+            this.functionCode = task.getRequest().getFunctionCode();
+        }
+
+        @Override
+        public int hashCode() {
+            return new HashCodeBuilder(29, 7).append(endpoint).append(unitId).append(functionCode).toHashCode();
+        }
+
+        @Override
+        public boolean equals(@Nullable Object obj) {
+            if (obj == null) {
+                return false;
+            }
+            if (obj == this) {
+                return true;
+            }
+            if (obj.getClass() != getClass()) {
+                return false;
+            }
+            CoalescingKey rhs = (CoalescingKey) obj;
+            return new EqualsBuilder().append(endpoint, rhs.endpoint).append(unitId, rhs.unitId)
+                    .append(functionCode, rhs.functionCode).isEquals();
+        }
+    }
+
+    /**
+     * Get maximum number of registers or bits that can be read with single request
+     *
+     * @param functionCode function code of the request
+     * @return maximum data length
+     */
+    public static int getMaxDataLength(ModbusReadFunctionCode functionCode) {
+        switch (functionCode) {
+            case READ_COILS:
+            case READ_INPUT_DISCRETES:
+                return MAX_BITS_PER_READ;
+            case READ_MULTIPLE_REGISTERS:
+            case READ_INPUT_REGISTERS:
+                return MAX_REGISTERS_PER_READ;
+            default:
+                throw new IllegalArgumentException(String.format("Unexpected function code %s", functionCode));
+        }
+    }
+
+    /**
+     * Plan reads for the given poll tasks
+     *
+     * Tasks that cannot be merged with other tasks are returned as is. Merged tasks are represented by
+     * {@link CoalescedPollTask}, taking care of delegating the data to the original callbacks.
+     *
+     * @param tasks tasks to plan
+     * @param maxGap maximum number of unrequested registers (or bits) that can be read in order to merge two tasks
+     * @return tasks to execute, covering all the given tasks
+     */
+    public static List<PollTask> coalesce(Collection<PollTask> tasks, int maxGap) {
+        Map<CoalescingKey, List<PollTask>> groups = new LinkedHashMap<>();
+        for (PollTask task : tasks) {
+            groups.computeIfAbsent(new CoalescingKey(task), key -> new ArrayList<>()).add(task);
+        }
+
+        List<PollTask> planned = new ArrayList<>();
+        for (List<PollTask> group : groups.values()) {
+            group.sort(Comparator.<PollTask> comparingInt(task -> task.getRequest().getReference())
+                    .thenComparingInt(task -> task.getRequest().getDataLength()));
+            int maxLength = getMaxDataLength(group.get(0).getRequest().getFunctionCode());
+
+            List<PollTask> block = new ArrayList<>();
+            int blockStart = 0;
+            int blockEnd = 0;
+            for (PollTask task : group) {
+                ModbusReadRequestBlueprint request = task.getRequest();
+                int start = request.getReference();
+                int end = start + request.getDataLength();
+                if (!block.isEmpty() && start - blockEnd <= maxGap
+                        && Math.max(blockEnd, end) - blockStart <= maxLength) {
+                    block.add(task);
+                    blockEnd = Math.max(blockEnd, end);
+                    continue;
+                }
+                if (!block.isEmpty()) {
+                    planned.add(toPlannedTask(block, blockStart, blockEnd));
+                }
+                block = new ArrayList<>();
+                block.add(task);
+                blockStart = start;
+                blockEnd = end;
+            }
+            if (!block.isEmpty()) {
+                planned.add(toPlannedTask(block, blockStart, blockEnd));
+            }
+        }
+        return planned;
+    }
+
+    private static PollTask toPlannedTask(List<PollTask> block, int blockStart, int blockEnd) {
+        if (block.size() == 1) {
+            return block.get(0);
+        }
+        PollTask first = block.get(0);
+        ModbusReadRequestBlueprint firstRequest = first.getRequest();
+        int maxTries = block.stream().mapToInt(task -> task.getRequest().getMaxTries()).max().getAsInt();
+        BasicModbusReadRequestBlueprint request = new BasicModbusReadRequestBlueprint(firstRequest.getUnitID(),
+                firstRequest.getFunctionCode(), blockStart, blockEnd - blockStart, maxTries);
+        return new CoalescedPollTask(first.getEndpoint(), request, block);
+    }
+
+}
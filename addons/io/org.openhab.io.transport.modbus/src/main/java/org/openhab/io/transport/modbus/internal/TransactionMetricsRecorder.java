@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.modbus.internal;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.io.transport.modbus.ModbusTransactionMetrics;
+
+/**
+ * Thread-safe recorder of transaction metrics of single endpoint or poll task
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TransactionMetricsRecorder {
+
+    private final LongAdder transactionCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder connectionErrorCount = new LongAdder();
+    private final LatencyHistogramRecorder transactionLatency = new LatencyHistogramRecorder();
+    private final LatencyHistogramRecorder connectionBorrowWait = new LatencyHistogramRecorder();
+    private final LatencyHistogramRecorder interTransactionDelay = new LatencyHistogramRecorder();
+    private final LatencyHistogramRecorder pollJitter = new LatencyHistogramRecorder();
+    /**
+     * Start time of previous regular poll, or -1 if not polled yet
+     */
+    private final AtomicLong lastPollStartMillis = new AtomicLong(-1);
+
+    /**
+     * Record executed transaction
+     *
+     * @param durationMillis duration of the transaction
+     * @param error error of the transaction, or null if transaction succeeded
+     */
+    public void recordTransaction(long durationMillis, @Nullable Exception error) {
+        transactionCount.increment();
+        transactionLatency.record(durationMillis);
+        if (error != null) {
+            errorCount.increment();
+            if (isTimeout(error)) {
+                timeoutCount.increment();
+            }
+        }
+    }
+
+    public void recordConnectionError() {
+        connectionErrorCount.increment();
+    }
+
+    public void recordConnectionBorrowWait(long durationMillis) {
+        connectionBorrowWait.record(durationMillis);
+    }
+
+    public void recordInterTransactionDelay(long durationMillis) {
+        interTransactionDelay.record(durationMillis);
+    }
+
+    public void recordPollJitter(long jitterMillis) {
+        pollJitter.record(jitterMillis);
+    }
+
+    /**
+     * Record start of regular poll, and the jitter compared to the previous start
+     *
+     * @param startMillis start time of the poll
+     * @param pollPeriodMillis configured poll period
+     * @return jitter in milliseconds, or -1 if this is the first poll
+     */
+    public long recordPollStart(long startMillis, long pollPeriodMillis) {
+        long previousStartMillis = lastPollStartMillis.getAndSet(startMillis);
+        if (previousStartMillis < 0) {
+            return -1;
+        }
+        long jitterMillis = Math.abs(startMillis - previousStartMillis - pollPeriodMillis);
+        pollJitter.record(jitterMillis);
+        return jitterMillis;
+    }
+
+    public ModbusTransactionMetrics snapshot() {
+        return new ModbusTransactionMetrics(transactionCount.sum(), errorCount.sum(), timeoutCount.sum(),
+                connectionErrorCount.sum(), transactionLatency.snapshot(), connectionBorrowWait.snapshot(),
+                interTransactionDelay.snapshot(), pollJitter.snapshot());
+    }
+
+    /**
+     * Check whether the error was caused by slave not responding in time
+     *
+     * jamod reports socket timeouts as ModbusIOException, with the original exception only mentioned in the message.
+     *
+     * @param error error to check
+     * @return whether the error represents a timeout
+     */
+    static boolean isTimeout(Throwable error) {
+        for (@Nullable
+        Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedIOException) {
+                return true;
+            }
+            String message = cause.getMessage();
+            if (message != null) {
+                String lowerCaseMessage = message.toLowerCase();
+                if (lowerCaseMessage.contains("timed out") || lowerCaseMessage.contains("timeout")) {
+                    return true;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -13,6 +13,7 @@ import java.net.UnknownHostException;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 
 import org.apache.commons.pool2.BaseKeyedPooledObjectFactory;
 import org.apache.commons.pool2.PooledObject;
@@ -80,6 +81,8 @@ public class ModbusSlaveConnectionFactoryImpl
     private volatile Map<ModbusSlaveEndpoint, Long> lastConnectMillis = new ConcurrentHashMap<>();
     private volatile Map<ModbusSlaveEndpoint, Long> disconnectIfConnectedBefore = new ConcurrentHashMap<>();
     private volatile Function<ModbusSlaveEndpoint, @Nullable EndpointPoolConfiguration> defaultPoolConfigurationFactory = endpoint -> null;
+    private volatile ObjLongConsumer<ModbusSlaveEndpoint> interTransactionDelayListener = (endpoint, waited) -> {
+    };
 
     private @Nullable InetAddress getInetAddress(ModbusIPSlaveEndpoint key) {
         try {
@@ -170,6 +173,7 @@ public class ModbusSlaveConnectionFactoryImpl
                 logger.trace(
                         "Waited {}ms (interTransactionDelayMillis {}ms) before giving returning connection {} for endpoint {}, to ensure delay between transactions.",
                         waited, config.getInterTransactionDelayMillis(), obj.getObject(), endpoint);
+                interTransactionDelayListener.accept(endpoint, waited);
             }
         } catch (InterruptedException e) {
             // Someone wants to cancel us, reset the connection and abort
@@ -264,6 +268,17 @@ public class ModbusSlaveConnectionFactoryImpl
         this.defaultPoolConfigurationFactory = defaultPoolConfigurationFactory;
     }
 
+    /**
+     * Set listener for the time waited before activating a connection, to ensure delay between transactions
+     *
+     * The listener is called in the thread borrowing the connection.
+     *
+     * @param interTransactionDelayListener listener receiving the endpoint and the waited time in milliseconds
+     */
+    public void setInterTransactionDelayListener(ObjLongConsumer<ModbusSlaveEndpoint> interTransactionDelayListener) {
+        this.interTransactionDelayListener = interTransactionDelayListener;
+    }
+
     private void tryConnect(ModbusSlaveEndpoint endpoint, PooledObject<ModbusSlaveConnection> obj,
             ModbusSlaveConnection connection, @Nullable EndpointPoolConfiguration config) throws Exception {
         if (connection.isConnected()) {
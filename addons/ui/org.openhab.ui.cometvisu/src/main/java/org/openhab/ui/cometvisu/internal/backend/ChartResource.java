@@ -8,15 +8,22 @@
  */
 package org.openhab.ui.cometvisu.internal.backend;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -31,8 +38,10 @@ import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
+import org.apache.commons.io.output.TeeOutputStream;
 import org.eclipse.smarthome.core.items.GroupItem;
 import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemNotFoundException;
@@ -57,6 +66,11 @@ import org.slf4j.LoggerFactory;
  * handles requests for chart series data from the CometVisu client
  * used by the diagram plugin
  *
+ * The series are reduced to at most {@link #MAX_POINTS} points: series of the generic persistence services by a
+ * {@link SeriesDownsampler}, RRD series by fetching them with a coarser resolution, which lets RRD consolidate the
+ * values with the requested function. The result is streamed to the client while it is computed and kept in a small
+ * cache, so that charts refreshed by several clients do not query the persistence service each time.
+ *
  * @author Tobias Bräutigam
  *
  */
@@ -69,6 +83,16 @@ public class ChartResource implements RESTResource {
 
     static final DecimalFormat df;
 
+    /**
+     * maximum number of points of a series sent to the client
+     */
+    static final int MAX_POINTS = 1000;
+
+    /**
+     * number of series kept in the cache
+     */
+    private static final int CACHE_SIZE = 50;
+
     protected static final String RRD_FOLDER = org.eclipse.smarthome.config.core.ConfigConstants.getUserDataFolder()
             + File.separator + "persistence" + File.separator + "rrd4j";
 
@@ -82,6 +106,19 @@ public class ChartResource implements RESTResource {
 
     private ItemRegistry itemRegistry;
 
+    /**
+     * JSON of the series by item, range and resolution
+     */
+    private final Map<String, byte[]> seriesCache = Collections
+            .synchronizedMap(new LinkedHashMap<String, byte[]>(CACHE_SIZE, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
     @Context
     private UriInfo uriInfo;
 
@@ -160,13 +197,35 @@ public class ChartResource implements RESTResource {
             } else {
                 logger.debug("using {} persistence for item {}", persistenceService.getId(), itemName);
             }
-            Object data = null;
-            if (persistenceService.getId().equals("rrd4j")) {
-                data = getRrdSeries(persistenceService, item, consilidationFunction, startTime, endTime, resolution);
-            } else {
-                data = getPersistenceSeries(persistenceService, item, startTime, endTime, resolution);
+
+            // the range is rounded to the width of the buckets the series is reduced to, so that a refreshed chart
+            // gets the cached series until a new bucket has started
+            long bucketWidth = getBucketWidth(startTime, endTime, resolution);
+            String cacheKey = persistenceService.getId() + ":" + item.getName() + ":" + consilidationFunction + ":"
+                    + resolution + ":" + Math.floorDiv(startTime.getTime(), bucketWidth) + ":"
+                    + Math.floorDiv(endTime.getTime(), bucketWidth);
+            byte[] cachedSeries = seriesCache.get(cacheKey);
+            if (cachedSeries != null) {
+                logger.debug("using cached series for item '{}'", itemName);
+                return Response.ok(cachedSeries, responseType).build();
             }
-            return Response.ok(data, responseType).build();
+
+            final QueryablePersistenceService seriesService = persistenceService;
+            final Item seriesItem = item;
+            StreamingOutput stream = output -> {
+                ByteArrayOutputStream copy = new ByteArrayOutputStream();
+                Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(new TeeOutputStream(output, copy), StandardCharsets.UTF_8));
+                if (seriesService.getId().equals("rrd4j")) {
+                    writeRrdSeries(writer, seriesService, seriesItem, consilidationFunction, startTime, endTime,
+                            resolution);
+                } else {
+                    writePersistenceSeries(writer, seriesService, seriesItem, startTime, endTime, resolution);
+                }
+                writer.flush();
+                seriesCache.put(cacheKey, copy.toByteArray());
+            };
+            return Response.ok(stream, responseType).build();
         } catch (ItemNotFoundException e1) {
             logger.error("Item '{}' not found error while requesting series data.", itemName);
 
@@ -174,10 +233,20 @@ public class ChartResource implements RESTResource {
         return Response.serverError().build();
     }
 
-    public Object getPersistenceSeries(QueryablePersistenceService persistenceService, Item item, Date timeBegin,
-            Date timeEnd, long resolution) {
-        Map<Long, ArrayList<String>> data = new HashMap<Long, ArrayList<String>>();
-
+    /**
+     * writes the series data of a generic persistence service, an array of [[timestamp,[data]]], reduced to at most
+     * {@link #MAX_POINTS} points
+     *
+     * @param writer
+     * @param persistenceService
+     * @param item
+     * @param timeBegin
+     * @param timeEnd
+     * @param resolution
+     * @throws IOException
+     */
+    public void writePersistenceSeries(Writer writer, QueryablePersistenceService persistenceService, Item item,
+            Date timeBegin, Date timeEnd, long resolution) throws IOException {
         // Define the data filter
         FilterCriteria filter = new FilterCriteria();
         filter.setBeginDate(timeBegin);
@@ -189,37 +258,43 @@ public class ChartResource implements RESTResource {
         Iterable<HistoricItem> result = persistenceService.query(filter);
         Iterator<HistoricItem> it = result.iterator();
 
-        // Iterate through the data
+        // Iterate through the data, passing on the reduced series as it is computed
+        SeriesWriter seriesWriter = new SeriesWriter(writer);
+        SeriesDownsampler downsampler = new SeriesDownsampler(getBucketWidth(timeBegin, timeEnd, resolution),
+                (time, value) -> seriesWriter
+                        .writeRow(time, Collections.singletonList(formatDouble(value, "null", true))));
         int dataCounter = 0;
         while (it.hasNext()) {
             dataCounter++;
             HistoricItem historicItem = it.next();
             org.eclipse.smarthome.core.types.State state = historicItem.getState();
             if (state instanceof DecimalType) {
-                ArrayList<String> vals = new ArrayList<String>();
-                vals.add(formatDouble(((DecimalType) state).doubleValue(), "null", true));
-                data.put(historicItem.getTimestamp().getTime(), vals);
+                downsampler.add(historicItem.getTimestamp().getTime(), ((DecimalType) state).doubleValue());
             }
         }
+        downsampler.flush();
+        seriesWriter.close();
         logger.debug("'{}' querying item '{}' from '{}' to '{}' => '{}' results", persistenceService.getId(),
                 filter.getItemName(), filter.getBeginDate(), filter.getEndDate(), dataCounter);
-        return convertToRrd(data);
     }
 
     /**
-     * returns a rrd series data, an array of [[timestamp,data1,data2,...]]
+     * writes the rrd series data, an array of [[timestamp,[data1,data2,...]]]. The data is fetched with a resolution
+     * which results in at most {@link #MAX_POINTS} rows.
      *
+     * @param writer
      * @param persistenceService
      * @param item
      * @param consilidationFunction
      * @param timeBegin
      * @param timeEnd
      * @param resolution
-     * @return
+     * @throws IOException
      */
-    public Object getRrdSeries(QueryablePersistenceService persistenceService, Item item,
-            ConsolFun consilidationFunction, Date timeBegin, Date timeEnd, long resolution) {
+    public void writeRrdSeries(Writer writer, QueryablePersistenceService persistenceService, Item item,
+            ConsolFun consilidationFunction, Date timeBegin, Date timeEnd, long resolution) throws IOException {
         Map<Long, ArrayList<String>> data = new TreeMap<Long, ArrayList<String>>();
+        long rrdResolution = Math.max(resolution, (timeEnd.getTime() - timeBegin.getTime()) / 1000L / MAX_POINTS);
         try {
             List<String> itemNames = new ArrayList<String>();
 
@@ -232,31 +307,33 @@ public class ChartResource implements RESTResource {
                 itemNames.add(item.getName());
             }
             for (String itemName : itemNames) {
-                addRrdData(data, itemName, consilidationFunction, timeBegin, timeEnd, resolution);
+                addRrdData(data, itemName, consilidationFunction, timeBegin, timeEnd, rrdResolution);
             }
 
         } catch (FileNotFoundException e) {
             // rrd file does not exist, fallback to generic persistance service
             logger.debug("no rrd file found '{}'", (RRD_FOLDER + File.separator + item.getName() + ".rrd"));
-            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution);
+            writePersistenceSeries(writer, persistenceService, item, timeBegin, timeEnd, resolution);
+            return;
         } catch (Exception e) {
             logger.error("{}: fallback to generic persistance service", e.getLocalizedMessage());
-            return getPersistenceSeries(persistenceService, item, timeBegin, timeEnd, resolution);
+            writePersistenceSeries(writer, persistenceService, item, timeBegin, timeEnd, resolution);
+            return;
+        }
+        SeriesWriter seriesWriter = new SeriesWriter(writer);
+        for (Entry<Long, ArrayList<String>> row : data.entrySet()) {
+            seriesWriter.writeRow(row.getKey(), row.getValue());
         }
-        return convertToRrd(data);
+        seriesWriter.close();
     }
 
-    private ArrayList<Object> convertToRrd(Map<Long, ArrayList<String>> data) {
-        // sort data by key
-        Map<Long, ArrayList<String>> treeMap = new TreeMap<Long, ArrayList<String>>(data);
-        ArrayList<Object> rrd = new ArrayList<Object>();
-        for (Long time : treeMap.keySet()) {
-            Object[] entry = new Object[2];
-            entry[0] = time;
-            entry[1] = data.get(time);
-            rrd.add(entry);
-        }
-        return rrd;
+    /**
+     * returns the width of the buckets in milliseconds a series is reduced to
+     */
+    private static long getBucketWidth(Date timeBegin, Date timeEnd, long resolution) {
+        // a bucket contributes up to two points, its minimum and its maximum
+        long width = (timeEnd.getTime() - timeBegin.getTime()) / (MAX_POINTS / 2);
+        return Math.max(1, Math.max(width, resolution * 1000L));
     }
 
     private Map<Long, ArrayList<String>> addRrdData(Map<Long, ArrayList<String>> data, String itemName,
@@ -290,6 +367,39 @@ public class ChartResource implements RESTResource {
         return data;
     }
 
+    /**
+     * writes a series as JSON array of [timestamp,[data1,data2,...]] rows
+     */
+    private static class SeriesWriter {
+        private final Writer writer;
+        private boolean empty = true;
+
+        SeriesWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            writer.write('[');
+        }
+
+        void writeRow(long time, List<String> values) throws IOException {
+            writer.write(empty ? "[" : ",[");
+            empty = false;
+            writer.write(Long.toString(time));
+            writer.write(",[");
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write('"');
+                writer.write(values.get(i));
+                writer.write('"');
+            }
+            writer.write("]]");
+        }
+
+        void close() throws IOException {
+            writer.write(']');
+        }
+    }
+
     static String formatDouble(double x, String nanString, boolean forceExponents) {
         if (Double.isNaN(x)) {
             return nanString;
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.smarthome.core.types.State;
+import org.glassfish.jersey.media.sse.EventOutput;
+import org.openhab.ui.cometvisu.internal.Config;
+
+/**
+ * SSE connection of a CometVisu client and the items it has requested.
+ *
+ * The client requests items by their CometVisu address, which is either the item name or the item name prefixed by
+ * the type the state has to be converted to (e.g. "number:Light_Dimmer"). The states sent last are remembered, so that
+ * the client only gets states which differ from what it already knows.
+ *
+ * @author agent
+ */
+public class ClientSubscription {
+
+    private final EventOutput eventOutput;
+
+    /**
+     * item name -> CometVisu address -> state class to convert the state to (null if no conversion)
+     */
+    private final Map<String, Map<String, Class<? extends State>>> addresses = new HashMap<String, Map<String, Class<? extends State>>>();
+
+    private final Map<String, String> sentStates = new ConcurrentHashMap<String, String>();
+
+    /**
+     * @param eventOutput
+     *            - the SSE connection of the client
+     * @param cvItemNames
+     *            - the CometVisu addresses requested by the client
+     */
+    public ClientSubscription(EventOutput eventOutput, List<String> cvItemNames) {
+        this.eventOutput = eventOutput;
+        for (String cvItemName : cvItemNames) {
+            String[] parts = cvItemName.split(":");
+            String ohItemName = cvItemName;
+            Class<? extends State> stateClass = null;
+            if (parts.length == 2) {
+                stateClass = Config.itemTypeMapper.get(parts[0].toLowerCase());
+                ohItemName = parts[1];
+            }
+            Map<String, Class<? extends State>> itemAddresses = addresses.get(ohItemName);
+            if (itemAddresses == null) {
+                itemAddresses = new HashMap<String, Class<? extends State>>();
+                addresses.put(ohItemName, itemAddresses);
+            }
+            itemAddresses.put(cvItemName, stateClass);
+        }
+    }
+
+    public EventOutput getEventOutput() {
+        return eventOutput;
+    }
+
+    /**
+     * @return names of the openHAB items requested by the client
+     */
+    public Set<String> getItemNames() {
+        return Collections.unmodifiableSet(addresses.keySet());
+    }
+
+    /**
+     * @param itemName
+     *            - name of an openHAB item
+     * @return the CometVisu addresses of the item with the state class to convert to, or null if the client has not
+     *         requested the item
+     */
+    public Map<String, Class<? extends State>> getAddresses(String itemName) {
+        return addresses.get(itemName);
+    }
+
+    /**
+     * Remembers the state as sent to the client
+     *
+     * @param cvItemName
+     *            - the CometVisu address
+     * @param state
+     *            - the state
+     * @return true if the state differs from the one sent before
+     */
+    public boolean updateState(String cvItemName, String state) {
+        return !state.equals(sentStates.put(cvItemName, state));
+    }
+
+    public boolean isClosed() {
+        return eventOutput.isClosed();
+    }
+}
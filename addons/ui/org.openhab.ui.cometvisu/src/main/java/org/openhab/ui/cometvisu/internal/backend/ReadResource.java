@@ -12,11 +12,16 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -35,7 +40,6 @@ import org.eclipse.smarthome.core.items.ItemRegistry;
 import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.io.rest.RESTResource;
 import org.glassfish.jersey.media.sse.EventOutput;
-import org.glassfish.jersey.media.sse.SseBroadcaster;
 import org.glassfish.jersey.media.sse.SseFeature;
 import org.openhab.ui.cometvisu.internal.Config;
 import org.openhab.ui.cometvisu.internal.backend.beans.StateBean;
@@ -48,22 +52,35 @@ import org.slf4j.LoggerFactory;
  * handles read request from the CometVisu client every request initializes a
  * SSE communication
  *
+ * State changes are not sent one by one: the changed items are collected for
+ * {@link #PUSH_DELAY} milliseconds, then every client gets one event with the
+ * latest states of the changed items it has requested.
+ *
  * @author Tobias Bräutigam
  */
 @Path(Config.COMETVISU_BACKEND_ALIAS + "/" + Config.COMETVISU_BACKEND_READ_ALIAS)
 public class ReadResource implements EventBroadcaster, RESTResource {
     private final Logger logger = LoggerFactory.getLogger(ReadResource.class);
 
-    private SseBroadcaster broadcaster = new SseBroadcaster();
+    /**
+     * time in milliseconds state changes are collected before they are pushed to the clients
+     */
+    public static final long PUSH_DELAY = 50;
 
-    private final ExecutorService executorService;
+    private final ScheduledExecutorService executorService;
 
     private ItemRegistry itemRegistry;
 
     private StateEventListener stateEventListener;
 
-    private List<String> itemNames = new ArrayList<String>();
-    private Map<Item, Map<String, Class<? extends State>>> items = new HashMap<Item, Map<String, Class<? extends State>>>();
+    private final List<ClientSubscription> clients = new CopyOnWriteArrayList<ClientSubscription>();
+
+    /**
+     * items changed since the last push, by name
+     */
+    private final Map<String, Item> changedItems = new ConcurrentHashMap<String, Item>();
+
+    private final AtomicBoolean pushScheduled = new AtomicBoolean();
 
     @Context
     private UriInfo uriInfo;
@@ -77,7 +94,7 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     private Collection<ItemFactory> itemFactories = new CopyOnWriteArrayList<ItemFactory>();
 
     public ReadResource() {
-        this.executorService = Executors.newSingleThreadExecutor();
+        this.executorService = Executors.newSingleThreadScheduledExecutor();
         this.stateEventListener = new StateEventListener();
         this.stateEventListener.setEventBroadcaster(this);
     }
@@ -114,55 +131,29 @@ public class ReadResource implements EventBroadcaster, RESTResource {
             @QueryParam("t") long time) throws IOException, InterruptedException {
         final EventOutput eventOutput = new EventOutput();
 
-        this.itemNames = itemNames;
+        ClientSubscription client = new ClientSubscription(eventOutput, itemNames);
+        removeClosedClients();
+        clients.add(client);
 
-        broadcaster.add(eventOutput);
+        // listen to state changes of the requested items
+        registerItems(client);
 
-        // get all requested items and send their states to the client
-        items = new HashMap<Item, Map<String, Class<? extends State>>>();
-        // send the current states of all items to the client
-        if (this.itemRegistry != null) {
-            List<StateBean> states = new ArrayList<StateBean>();
-            for (String cvItemName : itemNames) {
+        // send the current states of all items to the client, in order with the pushed state changes
+        executorService.execute(() -> {
+            if (this.itemRegistry == null) {
+                return;
+            }
+            List<Item> items = new ArrayList<Item>();
+            for (String itemName : client.getItemNames()) {
                 try {
-                    String[] parts = cvItemName.split(":");
-                    String ohItemName = cvItemName;
-                    Class<? extends State> stateClass = null;
-                    if (parts.length == 2) {
-                        String classPrefix = parts[0].toLowerCase();
-                        if (Config.itemTypeMapper.containsKey(classPrefix)) {
-                            stateClass = Config.itemTypeMapper.get(classPrefix);
-                            classPrefix += ":";
-                        } else {
-                            logger.debug("no type found for '{}'", classPrefix);
-                            classPrefix = "";
-                        }
-                        ohItemName = parts[1];
-                    }
-                    Item item = this.itemRegistry.getItem(ohItemName);
-                    if (!items.containsKey(item)) {
-                        items.put(item, new HashMap<String, Class<? extends State>>());
-                    }
-                    items.get(item).put(cvItemName, stateClass);
-                    StateBean itemState = new StateBean();
-                    itemState.name = cvItemName;
-
-                    if (stateClass != null) {
-                        itemState.state = item.getStateAs(stateClass).toString();
-                        logger.trace("get state of '{}' as '{}' == '{}'", item, stateClass, itemState.state);
-                    } else {
-                        itemState.state = item.getState().toString();
-                    }
-                    states.add(itemState);
+                    items.add(this.itemRegistry.getItem(itemName));
                 } catch (ItemNotFoundException e) {
                     logger.error("{}", e.getLocalizedMessage());
                 }
             }
-            logger.debug("initially broadcasting {}/{} item states", states.size(), itemNames.size());
-            broadcaster.broadcast(SseUtil.buildEvent(states));
-        }
-        // listen to state changes of the requested items
-        registerItems();
+            logger.debug("initially sending the states of {}/{} items", items.size(), client.getItemNames().size());
+            push(client, items, new HashMap<String, String>());
+        });
 
         return eventOutput;
     }
@@ -172,9 +163,23 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void registerItems() {
-        for (Item item : items.keySet()) {
-            if (item instanceof GenericItem) {
-                ((GenericItem) item).addStateChangeListener(stateEventListener);
+        for (ClientSubscription client : clients) {
+            registerItems(client);
+        }
+    }
+
+    private void registerItems(ClientSubscription client) {
+        if (this.itemRegistry == null) {
+            return;
+        }
+        for (String itemName : client.getItemNames()) {
+            try {
+                Item item = this.itemRegistry.getItem(itemName);
+                if (item instanceof GenericItem) {
+                    ((GenericItem) item).addStateChangeListener(stateEventListener);
+                }
+            } catch (ItemNotFoundException e) {
+                logger.debug("{}", e.getLocalizedMessage());
             }
         }
     }
@@ -188,7 +193,7 @@ public class ReadResource implements EventBroadcaster, RESTResource {
      */
     @Override
     public void registerItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
+        if (item == null || !isRequested(item)) {
             return;
         }
         if (item instanceof GenericItem) {
@@ -197,41 +202,118 @@ public class ReadResource implements EventBroadcaster, RESTResource {
     }
 
     /**
-     * listens to state changes of the given item, if it is part of the
-     * requested items
+     * stops listening to state changes of the given item
      *
      * @param item
-     *            - the new item, that should be listened to
+     *            - the item, that should not be listened to anymore
      */
     @Override
     public void unregisterItem(Item item) {
-        if (item == null || items.containsKey(item) || !itemNames.contains(item.getName())) {
-            return;
-        }
         if (item instanceof GenericItem) {
             ((GenericItem) item).removeStateChangeListener(stateEventListener);
-            items.remove(item);
         }
     }
 
+    private boolean isRequested(Item item) {
+        for (ClientSubscription client : clients) {
+            if (client.getAddresses(item.getName()) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
-     * Broadcasts an event described by the given parameters to all currently
-     * listening clients.
+     * Remembers the item as changed and schedules a push to the clients, if
+     * none is scheduled yet.
      *
      * @param item
      *            - the item which has changed
-     * @param eventObject
-     *            - bean that can be converted to a JSON object.
      */
     @Override
-    public void broadcastEvent(final Object eventObject) {
-        executorService.execute(() -> {
-            broadcaster.broadcast(SseUtil.buildEvent(eventObject));
-        });
+    public void broadcastStateChange(Item item) {
+        changedItems.put(item.getName(), item);
+        if (pushScheduled.compareAndSet(false, true)) {
+            executorService.schedule(() -> pushChanges(), PUSH_DELAY, TimeUnit.MILLISECONDS);
+        }
     }
 
-    @Override
-    public Map<String, Class<? extends State>> getClientItems(Item item) {
-        return items.get(item);
+    private void pushChanges() {
+        pushScheduled.set(false);
+        List<Item> items = new ArrayList<Item>();
+        for (Iterator<Item> iterator = changedItems.values().iterator(); iterator.hasNext();) {
+            items.add(iterator.next());
+            iterator.remove();
+        }
+        // the states are converted once for all clients
+        Map<String, String> convertedStates = new HashMap<String, String>();
+        for (ClientSubscription client : clients) {
+            push(client, items, convertedStates);
+        }
+    }
+
+    /**
+     * Sends the states of the given items, which have been requested by the
+     * client and have not been sent yet, as one event.
+     */
+    private void push(ClientSubscription client, Collection<Item> items, Map<String, String> convertedStates) {
+        if (client.isClosed()) {
+            clients.remove(client);
+            return;
+        }
+        List<StateBean> states = new ArrayList<StateBean>();
+        for (Item item : items) {
+            Map<String, Class<? extends State>> addresses = client.getAddresses(item.getName());
+            if (addresses == null) {
+                continue;
+            }
+            for (Entry<String, Class<? extends State>> address : addresses.entrySet()) {
+                String state = getState(item, address.getValue(), convertedStates);
+                if (client.updateState(address.getKey(), state)) {
+                    StateBean stateBean = new StateBean();
+                    stateBean.name = address.getKey();
+                    stateBean.state = state;
+                    states.add(stateBean);
+                }
+            }
+        }
+        if (states.isEmpty()) {
+            return;
+        }
+        try {
+            client.getEventOutput().write(SseUtil.buildEvent(states));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Removing client, which could not receive states: {}", e.getMessage());
+            clients.remove(client);
+            try {
+                client.getEventOutput().close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private String getState(Item item, Class<? extends State> stateClass, Map<String, String> convertedStates) {
+        String key = stateClass != null ? item.getName() + ":" + stateClass.getName() : item.getName();
+        String state = convertedStates.get(key);
+        if (state == null) {
+            if (stateClass != null) {
+                state = item.getStateAs(stateClass).toString();
+                logger.trace("get state of '{}' as '{}' == '{}'", item, stateClass, state);
+            } else {
+                state = item.getState().toString();
+            }
+            convertedStates.put(key, state);
+        }
+        return state;
+    }
+
+    private void removeClosedClients() {
+        List<ClientSubscription> closed = new ArrayList<ClientSubscription>();
+        for (ClientSubscription client : clients) {
+            if (client.isClosed()) {
+                closed.add(client);
+            }
+        }
+        clients.removeAll(closed);
     }
 }
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.backend;
+
+import java.io.IOException;
+
+/**
+ * Reduces a time series to at most two points per time bucket: the minimum and the maximum value within the bucket,
+ * in the order they occurred. Unlike averaging, this keeps the peaks of the series visible in the charts.
+ *
+ * The points have to be added in ascending order of time. The reduced points are passed on as soon as their bucket is
+ * complete, so the series never has to be kept in memory. The buckets are aligned to multiples of the bucket width,
+ * which makes the result of overlapping ranges consistent.
+ *
+ * @author agent
+ */
+public class SeriesDownsampler {
+
+    /**
+     * Receives the reduced points
+     */
+    public interface PointConsumer {
+        void accept(long time, double value) throws IOException;
+    }
+
+    private final long bucketWidth;
+    private final PointConsumer consumer;
+
+    private boolean empty = true;
+    private long bucket;
+    private long minTime;
+    private double min;
+    private long maxTime;
+    private double max;
+
+    /**
+     * @param bucketWidth
+     *            - width of a bucket in milliseconds
+     * @param consumer
+     *            - the consumer of the reduced points
+     */
+    public SeriesDownsampler(long bucketWidth, PointConsumer consumer) {
+        this.bucketWidth = Math.max(1, bucketWidth);
+        this.consumer = consumer;
+    }
+
+    /**
+     * Adds a point to the series
+     *
+     * @param time
+     *            - the time of the point in milliseconds, not before the time of the previous point
+     * @param value
+     *            - the value of the point
+     * @throws IOException
+     *             if the consumer fails to process a reduced point
+     */
+    public void add(long time, double value) throws IOException {
+        long pointBucket = Math.floorDiv(time, bucketWidth);
+        if (!empty && pointBucket != bucket) {
+            flush();
+        }
+        if (empty) {
+            empty = false;
+            bucket = pointBucket;
+            minTime = maxTime = time;
+            min = max = value;
+        } else if (value < min) {
+            minTime = time;
+            min = value;
+        } else if (value > max) {
+            maxTime = time;
+            max = value;
+        }
+    }
+
+    /**
+     * Passes on the points of the last bucket, to be called after the last point has been added.
+     *
+     * @throws IOException
+     *             if the consumer fails to process a reduced point
+     */
+    public void flush() throws IOException {
+        if (empty) {
+            return;
+        }
+        empty = true;
+        if (minTime < maxTime) {
+            consumer.accept(minTime, min);
+            consumer.accept(maxTime, max);
+        } else if (maxTime < minTime) {
+            consumer.accept(maxTime, max);
+            consumer.accept(minTime, min);
+        } else {
+            consumer.accept(minTime, min);
+        }
+    }
+}
@@ -9,6 +9,7 @@
 package org.openhab.ui.cometvisu.internal.servlet;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -20,9 +21,13 @@ import java.util.Set;
 import javax.servlet.ServletException;
 
 import org.eclipse.smarthome.core.events.EventPublisher;
+import org.eclipse.smarthome.core.items.Item;
 import org.eclipse.smarthome.core.items.ItemRegistry;
+import org.eclipse.smarthome.core.items.ItemRegistryChangeListener;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
+import org.eclipse.smarthome.model.core.EventType;
+import org.eclipse.smarthome.model.core.ModelRepositoryChangeListener;
 import org.eclipse.smarthome.model.sitemap.SitemapProvider;
 import org.eclipse.smarthome.ui.icon.IconProvider;
 import org.eclipse.smarthome.ui.items.ItemUIRegistry;
@@ -67,6 +72,40 @@ public class CometVisuApp {
 
     private Map<String, Object> properties = new HashMap<>();
 
+    private final ResourceCache resourceCache = new ResourceCache();
+
+    /**
+     * the configs generated from the sitemaps depend on the sitemaps and the items
+     */
+    private final ModelRepositoryChangeListener sitemapChangeListener = new ModelRepositoryChangeListener() {
+        @Override
+        public void modelChanged(String modelName, EventType type) {
+            resourceCache.invalidateGenerated();
+        }
+    };
+
+    private final ItemRegistryChangeListener itemRegistryChangeListener = new ItemRegistryChangeListener() {
+        @Override
+        public void added(Item element) {
+            resourceCache.invalidateGenerated();
+        }
+
+        @Override
+        public void removed(Item element) {
+            resourceCache.invalidateGenerated();
+        }
+
+        @Override
+        public void updated(Item oldElement, Item element) {
+            resourceCache.invalidateGenerated();
+        }
+
+        @Override
+        public void allItemsChanged(Collection<String> oldItemNames) {
+            resourceCache.invalidateGenerated();
+        }
+    };
+
     public Map<String, Object> getProperties() {
         return properties;
     }
@@ -79,6 +118,10 @@ public class CometVisuApp {
         return servlet;
     }
 
+    public ResourceCache getResourceCache() {
+        return resourceCache;
+    }
+
     protected void setEventPublisher(EventPublisher eventPublisher) {
         this.eventPublisher = eventPublisher;
     }
@@ -119,6 +162,8 @@ public class CometVisuApp {
 
     protected void setItemRegistry(ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
+        itemRegistry.addRegistryChangeListener(itemRegistryChangeListener);
+        resourceCache.invalidateGenerated();
     }
 
     public ItemRegistry getItemRegistry() {
@@ -126,6 +171,7 @@ public class CometVisuApp {
     }
 
     protected void unsetItemRegistry(ItemRegistry itemRegistry) {
+        itemRegistry.removeRegistryChangeListener(itemRegistryChangeListener);
         this.itemRegistry = null;
     }
 
@@ -139,10 +185,14 @@ public class CometVisuApp {
 
     public void addSitemapProvider(SitemapProvider provider) {
         sitemapProviders.add(provider);
+        provider.addModelChangeListener(sitemapChangeListener);
+        resourceCache.invalidateGenerated();
     }
 
     public void removeSitemapProvider(SitemapProvider provider) {
+        provider.removeModelChangeListener(sitemapChangeListener);
         sitemapProviders.remove(provider);
+        resourceCache.invalidateGenerated();
     }
 
     public ItemUIRegistry getItemUIRegistry() {
@@ -287,6 +337,8 @@ public class CometVisuApp {
             unregisterServlet();
         }
         readConfiguration(configProps);
+        // the served files and the generated configs depend on the configuration
+        resourceCache.clear();
         if (configProps.containsKey(Config.COMETVISU_WEBFOLDER_PROPERTY)
                 || configProps.containsKey(Config.COMETVISU_WEBAPP_ALIAS_PROPERTY)) {
             registerServlet();
@@ -18,6 +18,7 @@ import java.io.PrintWriter;
 import java.io.RandomAccessFile;
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
@@ -72,6 +73,7 @@ import org.openhab.ui.cometvisu.internal.config.VisuConfig;
 import org.openhab.ui.cometvisu.internal.editor.dataprovider.beans.DataBean;
 import org.openhab.ui.cometvisu.internal.editor.dataprovider.beans.ItemBean;
 import org.openhab.ui.cometvisu.internal.rss.beans.Feed;
+import org.openhab.ui.cometvisu.internal.servlet.ResourceCache.CachedResource;
 import org.openhab.ui.cometvisu.internal.util.ClientInstaller;
 import org.openhab.ui.cometvisu.php.PHProvider;
 import org.slf4j.Logger;
@@ -228,16 +230,31 @@ public class CometVisuServlet extends HttpServlet {
 
             // serve autogenerated config from openhab sitemap if no real config file exists
             if (!requestedFile.exists()) {
-                Sitemap sitemap = getSitemap(matcher.group(2));
-                if (sitemap != null) {
+                ResourceCache cache = cometVisuApp.getResourceCache();
+                // taken before the sitemap is read, so that a config generated from a changed sitemap is not cached
+                long generation = cache.getGeneration();
+                CachedResource generatedConfig = cache.getGenerated(path);
+                Sitemap sitemap = generatedConfig == null ? getSitemap(matcher.group(2)) : null;
+                if (generatedConfig == null && sitemap != null) {
                     logger.debug("reading sitemap '{}'", sitemap);
                     VisuConfig config = new VisuConfig(sitemap, cometVisuApp, rootFolder);
 
                     // logger.info("response: "+config.getConfigXml());
-                    resp.setContentType(MediaType.APPLICATION_XML);
-                    resp.getWriter().write(config.getConfigXml(req));
-                    resp.flushBuffer();
-
+                    byte[] configXml = config.getConfigXml(req).getBytes(StandardCharsets.UTF_8);
+                    if (configXml.length == 0) {
+                        // the config could not be generated, the error has been logged
+                        resp.setHeader("Cache-Control", "no-store");
+                        resp.setContentType(MediaType.APPLICATION_XML);
+                        resp.flushBuffer();
+                        return;
+                    }
+                    generatedConfig = cache.putGenerated(path, configXml, true, generation);
+                }
+                if (generatedConfig != null) {
+                    // the config changes with the sitemap, let the client revalidate it each time
+                    resp.setHeader("Cache-Control", "no-cache");
+                    processCachedRequest(generatedConfig, MediaType.APPLICATION_XML + ";charset=UTF-8", null, -1, req,
+                            resp, true);
                     return;
                 } else {
                     logger.debug("Config file not found. Neither as normal config ('{}') nor as sitemap ('{}.sitemap')",
@@ -570,6 +587,18 @@ public class CometVisuServlet extends HttpServlet {
             return;
         }
 
+        // Serve the file from memory, unless parts of it are requested
+        if (request.getHeader("Range") == null) {
+            String contentType = getContentType(file.getName());
+            CachedResource resource = cometVisuApp.getResourceCache().getFile(file, isCompressible(contentType));
+            if (resource != null) {
+                processCachedRequest(resource, contentType.startsWith("text") ? contentType + ";charset=UTF-8"
+                        : contentType, getDisposition(request, contentType) + ";filename=\"" + file.getName() + "\"",
+                        System.currentTimeMillis() + DEFAULT_EXPIRE_TIME, request, response, content);
+                return;
+            }
+        }
+
         // Prepare some variables. The ETag is an unique identifier of the file.
         String fileName = file.getName();
         long length = file.length();
@@ -699,17 +728,9 @@ public class CometVisuServlet extends HttpServlet {
 
         // Get content type by file name and set default GZIP support and
         // content disposition.
-        String contentType = getServletContext().getMimeType(fileName);
+        String contentType = getContentType(fileName);
         boolean acceptsGzip = false;
-        String disposition = "inline";
-
-        // If content type is unknown, then set the default value.
-        // For all content types, see:
-        // http://www.w3schools.com/media/media_mimeref.asp
-        // To add new content types, add new mime-mapping entry in web.xml.
-        if (contentType == null) {
-            contentType = "application/octet-stream";
-        }
+        String disposition = getDisposition(request, contentType);
 
         // If content type is text, then determine whether GZIP content encoding
         // is supported by
@@ -721,15 +742,6 @@ public class CometVisuServlet extends HttpServlet {
             contentType += ";charset=UTF-8";
         }
 
-        // Else, expect for images, determine content disposition. If content
-        // type is supported by
-        // the browser, then set to inline, else attachment which will pop a
-        // 'save as' dialogue.
-        else if (!contentType.startsWith("image")) {
-            String accept = request.getHeader("Accept");
-            disposition = accept != null && accepts(accept, contentType) ? "inline" : "attachment";
-        }
-
         response.setBufferSize(DEFAULT_BUFFER_SIZE);
         response.setHeader("Content-Disposition", disposition + ";filename=\"" + fileName + "\"");
         response.setHeader("Accept-Ranges", "bytes");
@@ -823,6 +835,123 @@ public class CometVisuServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Serves a resource from memory. Conditional requests are answered by the
+     * ETag of the resource, which differs for the gzip encoded variant.
+     *
+     * @param resource
+     *            - the resource to serve
+     * @param contentType
+     *            - the content type of the response
+     * @param disposition
+     *            - the content disposition of the response, or null for none
+     * @param expires
+     *            - the expiration time, or -1 for none
+     * @param request
+     *            - the request to be processed
+     * @param response
+     *            - the response to be created
+     * @param content
+     *            - whether the content should be written (GET) or not (HEAD)
+     * @throws IOException
+     *             If something fails at I/O level.
+     */
+    private void processCachedRequest(CachedResource resource, String contentType, String disposition, long expires,
+            HttpServletRequest request, HttpServletResponse response, boolean content) throws IOException {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        boolean gzip = resource.getGzipContent() != null && acceptEncoding != null && accepts(acceptEncoding, "gzip");
+        String eTag = resource.getETag(gzip);
+        response.setHeader("Vary", "Accept-Encoding");
+
+        // If-None-Match header should contain "*" or ETag. If-Modified-Since
+        // header should be greater than LastModified, it is ignored if any
+        // If-None-Match header is specified. If so, then return 304.
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        long ifModifiedSince = ifNoneMatch == null ? request.getDateHeader("If-Modified-Since") : -1;
+        if ((ifNoneMatch != null && matches(ifNoneMatch, eTag))
+                || (ifModifiedSince != -1 && ifModifiedSince + 1000 > resource.getLastModified())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader("ETag", eTag); // Required in 304.
+            if (expires != -1) {
+                response.setDateHeader("Expires", expires);
+            }
+            return;
+        }
+
+        // If-Match header should contain "*" or ETag. If not, then return 412.
+        String ifMatch = request.getHeader("If-Match");
+        if (ifMatch != null && !matches(ifMatch, eTag)) {
+            response.sendError(HttpServletResponse.SC_PRECONDITION_FAILED);
+            return;
+        }
+
+        byte[] body = gzip ? resource.getGzipContent() : resource.getContent();
+        response.setContentType(contentType);
+        if (disposition != null) {
+            response.setHeader("Content-Disposition", disposition);
+        }
+        response.setHeader("ETag", eTag);
+        response.setDateHeader("Last-Modified", resource.getLastModified());
+        if (expires != -1) {
+            response.setDateHeader("Expires", expires);
+        }
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+        response.setContentLength(body.length);
+        if (content) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    /**
+     * Returns the content type of the file with the given name
+     *
+     * @param fileName
+     *            The name of the file.
+     * @return the content type, application/octet-stream if unknown
+     */
+    private String getContentType(String fileName) {
+        String contentType = getServletContext().getMimeType(fileName);
+
+        // If content type is unknown, then set the default value.
+        // For all content types, see:
+        // http://www.w3schools.com/media/media_mimeref.asp
+        // To add new content types, add new mime-mapping entry in web.xml.
+        return contentType != null ? contentType : "application/octet-stream";
+    }
+
+    /**
+     * Determines the content disposition. Text and images are shown inline,
+     * other content types are shown inline if they are supported by the
+     * browser, else as attachment which will pop a 'save as' dialogue.
+     *
+     * @param request
+     *            The request to be processed.
+     * @param contentType
+     *            The content type of the response.
+     * @return inline or attachment
+     */
+    private static String getDisposition(HttpServletRequest request, String contentType) {
+        if (contentType.startsWith("text") || contentType.startsWith("image")) {
+            return "inline";
+        }
+        String accept = request.getHeader("Accept");
+        return accept != null && accepts(accept, contentType) ? "inline" : "attachment";
+    }
+
+    /**
+     * Returns true if content of the given type is worth to be gzip encoded.
+     *
+     * @param contentType
+     *            The content type.
+     * @return True for text, scripts, JSON and XML.
+     */
+    private static boolean isCompressible(String contentType) {
+        return contentType.startsWith("text") || contentType.endsWith("javascript") || contentType.endsWith("json")
+                || contentType.endsWith("xml");
+    }
+
     /**
      * Show hints for solving installation problems
      *
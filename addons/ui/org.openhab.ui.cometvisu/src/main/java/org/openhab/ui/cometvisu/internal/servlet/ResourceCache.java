@@ -0,0 +1,238 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.ui.cometvisu.internal.servlet;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Size bounded cache of the resources served by the {@link CometVisuServlet}: the static files of the CometVisu client
+ * and the configs generated from sitemaps.
+ *
+ * The content is kept in memory together with its strong ETag and, for compressible content, its gzip encoded
+ * variant. The least recently used resources are evicted first when the cache is full. Cached files are reloaded
+ * when their modification time or size changes, generated configs are removed by {@link #invalidateGenerated()}.
+ *
+ * Each invalidation starts a new generation. A config generated while an invalidation happened is not cached, as it
+ * may have been generated from the data before the change.
+ *
+ * @author agent
+ */
+public class ResourceCache {
+
+    /**
+     * maximum number of bytes kept in the cache, counting plain and gzip encoded content
+     */
+    public static final long MAX_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * files bigger than this are not cached
+     */
+    public static final long MAX_ENTRY_SIZE = 1024 * 1024;
+
+    private static final String GENERATED_PREFIX = "generated:";
+
+    /**
+     * A cached resource
+     */
+    public static class CachedResource {
+        private final byte[] content;
+        private final byte[] gzipContent;
+        private final String eTag;
+        private final long lastModified;
+        private final long fileLength;
+
+        private CachedResource(byte[] content, boolean compress, long lastModified, long fileLength)
+                throws IOException {
+            this.content = content;
+            this.gzipContent = compress ? gzip(content) : null;
+            this.eTag = computeETag(content);
+            this.lastModified = lastModified;
+            this.fileLength = fileLength;
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        /**
+         * @return the gzip encoded content, or null if the content is not worth compressing
+         */
+        public byte[] getGzipContent() {
+            return gzipContent;
+        }
+
+        /**
+         * @param gzip
+         *            - whether the ETag of the gzip encoded variant is requested
+         * @return the strong ETag of the content, quoted
+         */
+        public String getETag(boolean gzip) {
+            return gzip ? "\"" + eTag + "-gzip\"" : "\"" + eTag + "\"";
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        private int getSize() {
+            return content.length + (gzipContent != null ? gzipContent.length : 0);
+        }
+
+        private static byte[] gzip(byte[] content) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(content.length / 2 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(content);
+            }
+            return bytes.size() < content.length ? bytes.toByteArray() : null;
+        }
+
+        private static String computeETag(byte[] content) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-1").digest(content);
+                StringBuilder sb = new StringBuilder(digest.length * 2);
+                for (byte b : digest) {
+                    sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+                }
+                return sb.toString();
+            } catch (NoSuchAlgorithmException e) {
+                // SHA-1 is available on every Java platform
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private final Map<String, CachedResource> resources = new LinkedHashMap<String, CachedResource>(64, 0.75f, true);
+    private long size;
+    private long generation;
+
+    /**
+     * Returns the cached content of the file, reading the file if it is not cached or has changed since.
+     *
+     * @param file
+     *            - the file, which must exist
+     * @param compress
+     *            - whether the content should also be kept gzip encoded
+     * @return the cached file, or null if the file is too big to be cached
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public CachedResource getFile(File file, boolean compress) throws IOException {
+        long lastModified = file.lastModified();
+        long length = file.length();
+        if (length > MAX_ENTRY_SIZE) {
+            return null;
+        }
+        String key = file.getAbsolutePath();
+        CachedResource resource = get(key);
+        if (resource != null && resource.lastModified == lastModified && resource.fileLength == length) {
+            return resource;
+        }
+        resource = new CachedResource(Files.readAllBytes(file.toPath()), compress, lastModified, length);
+        put(key, resource);
+        return resource;
+    }
+
+    /**
+     * Returns a generated resource
+     *
+     * @param name
+     *            - the name of the resource, e.g. the requested path
+     * @return the resource, or null if it is not cached
+     */
+    public CachedResource getGenerated(String name) {
+        return get(GENERATED_PREFIX + name);
+    }
+
+    /**
+     * Returns the current generation of the generated resources, to be passed to
+     * {@link #putGenerated(String, byte[], boolean, long)}. Must be called before the resource is generated.
+     *
+     * @return the generation
+     */
+    public synchronized long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Caches a generated resource until {@link #invalidateGenerated()} is called. The resource is not cached if
+     * {@link #invalidateGenerated()} has been called since the given generation was returned, or if it is empty.
+     *
+     * @param name
+     *            - the name of the resource, e.g. the requested path
+     * @param content
+     *            - the generated content
+     * @param compress
+     *            - whether the content should also be kept gzip encoded
+     * @param generation
+     *            - the generation returned by {@link #getGeneration()} before the resource was generated
+     * @return the resource
+     * @throws IOException
+     *             if the content cannot be compressed
+     */
+    public CachedResource putGenerated(String name, byte[] content, boolean compress, long generation)
+            throws IOException {
+        CachedResource resource = new CachedResource(content, compress, System.currentTimeMillis(), content.length);
+        if (content.length > 0 && content.length <= MAX_ENTRY_SIZE) {
+            synchronized (this) {
+                if (this.generation == generation) {
+                    put(GENERATED_PREFIX + name, resource);
+                }
+            }
+        }
+        return resource;
+    }
+
+    /**
+     * Removes all generated resources, e.g. because a sitemap has changed
+     */
+    public synchronized void invalidateGenerated() {
+        generation++;
+        for (Iterator<Map.Entry<String, CachedResource>> it = resources.entrySet().iterator(); it.hasNext();) {
+            Map.Entry<String, CachedResource> entry = it.next();
+            if (entry.getKey().startsWith(GENERATED_PREFIX)) {
+                size -= entry.getValue().getSize();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes all resources
+     */
+    public synchronized void clear() {
+        generation++;
+        resources.clear();
+        size = 0;
+    }
+
+    private synchronized CachedResource get(String key) {
+        return resources.get(key);
+    }
+
+    private synchronized void put(String key, CachedResource resource) {
+        CachedResource previous = resources.put(key, resource);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+        size += resource.getSize();
+        for (Iterator<CachedResource> it = resources.values().iterator(); size > MAX_SIZE && it.hasNext();) {
+            size -= it.next().getSize();
+            it.remove();
+        }
+    }
+}